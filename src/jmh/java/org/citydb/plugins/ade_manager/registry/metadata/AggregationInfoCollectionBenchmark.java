@@ -0,0 +1,184 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.metadata;
+
+import org.citydb.core.database.schema.mapping.RelationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the relation type lookup of the indexed {@link AggregationInfoCollection} with the 
+ * former linear scan on a synthetic metadata set. The former implementation queried the 
+ * objectclass ids of both tables from the database on every lookup. The legacy baseline 
+ * resolves them from an in-memory copy of the objectclass table instead, so it does not 
+ * include any SQL round trips and is a lower bound of the former costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationInfoCollectionBenchmark {
+	private static final int LOOKUPS = 1000;
+
+	@Param({"5000"})
+	private int aggregationRows;
+
+	private AggregationInfoCollection collection;
+	private LegacyAggregationInfoCollection legacyCollection;
+	private String[][] lookups;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		int tables = Math.max(1, aggregationRows / 5);
+		
+		// every table is mapped to one or two objectclasses
+		Map<String, List<Integer>> objectclassIdsByTable = new HashMap<>();
+		List<Object[]> objectclassRows = new ArrayList<>();
+		int objectclassId = 10000;
+		for (int i = 0; i < tables; i++) {
+			String tableName = "test_table_" + i;
+			List<Integer> ids = new ArrayList<>();
+			for (int j = 0; j < 1 + random.nextInt(2); j++) {
+				ids.add(objectclassId);
+				objectclassRows.add(new Object[]{objectclassId++, tableName});
+			}
+			
+			objectclassIdsByTable.put(tableName, ids);
+		}
+
+		collection = new AggregationInfoCollection(null);
+		collection.setObjectClassIdsByTable(objectclassIdsByTable);
+		legacyCollection = new LegacyAggregationInfoCollection(objectclassRows);
+
+		List<String[]> hits = new ArrayList<>();
+		for (int i = 0; i < aggregationRows; i++) {
+			String childTable = "test_table_" + random.nextInt(tables);
+			String parentTable = "test_table_" + random.nextInt(tables);
+			List<Integer> childIds = objectclassIdsByTable.get(childTable);
+			List<Integer> parentIds = objectclassIdsByTable.get(parentTable);
+			String joinColumn = "join_column_" + i;
+
+			AggregationInfo aggrInfo = new AggregationInfo(childIds.get(random.nextInt(childIds.size())), 
+					parentIds.get(random.nextInt(parentIds.size())), 0, null, random.nextBoolean(), joinColumn);
+			collection.addAggregationInfo(aggrInfo);
+			legacyCollection.addAggregationInfo(aggrInfo);
+			hits.add(new String[]{childTable, parentTable, joinColumn});
+		}
+
+		// half of the lookups hit an aggregation, the others fall back to an association
+		lookups = new String[LOOKUPS][];
+		for (int i = 0; i < LOOKUPS; i++) {
+			if (i % 2 == 0)
+				lookups[i] = hits.get(random.nextInt(hits.size()));
+			else
+				lookups[i] = new String[]{"test_table_" + random.nextInt(tables), 
+						"test_table_" + random.nextInt(tables), "unknown_column_" + i};
+		}
+	}
+
+	@Benchmark
+	public void indexedLookup(Blackhole blackhole) {
+		for (String[] lookup : lookups)
+			blackhole.consume(collection.getTableRelationType(lookup[0], lookup[1], lookup[2]));
+	}
+
+	@Benchmark
+	public void legacyLookup(Blackhole blackhole) {
+		for (String[] lookup : lookups)
+			blackhole.consume(legacyCollection.getTableRelationType(lookup[0], lookup[1], lookup[2]));
+	}
+
+	private static final class LegacyAggregationInfoCollection {
+		private final List<AggregationInfo> aggrInfos = new ArrayList<>();
+		private final List<Object[]> objectclassRows;
+
+		private LegacyAggregationInfoCollection(List<Object[]> objectclassRows) {
+			this.objectclassRows = objectclassRows;
+		}
+
+		private void addAggregationInfo(AggregationInfo aggrInfo) {
+			aggrInfos.add(aggrInfo);
+		}
+
+		private RelationType getTableRelationType(String childTable, String parentTable, String joinTableOrColumn) {
+			List<Integer> childClassIds = getObjectClassIdsByTable(childTable);
+			List<Integer> parentClassIds = getObjectClassIdsByTable(parentTable);
+			for (int childClassId : childClassIds) {
+				for (int parentClassId : parentClassIds) {
+					AggregationInfo aggrInfo = get(childClassId, parentClassId, joinTableOrColumn);
+					if (aggrInfo != null)
+						return aggrInfo.isComposite() ? RelationType.COMPOSITION : RelationType.AGGREGATION;
+				}
+			}
+
+			return RelationType.ASSOCIATION;
+		}
+
+		private AggregationInfo get(int childClassId, int parentClassId, String joinTableOrColumn) {
+			for (AggregationInfo aggrInfo : aggrInfos) {
+				if (childClassId == aggrInfo.getChildClassId()
+						&& parentClassId == aggrInfo.getParentClassId()
+						&& joinTableOrColumn.equalsIgnoreCase(aggrInfo.getJoinTableOrColumnName()))
+					return aggrInfo;
+			}
+
+			return null;
+		}
+
+		// stands in for the former "select id from objectclass where tablename = ?" query
+		private List<Integer> getObjectClassIdsByTable(String tableName) {
+			List<Integer> objectclassIds = new ArrayList<>();
+			for (Object[] row : objectclassRows) {
+				if (tableName.equalsIgnoreCase((String) row[1]))
+					objectclassIds.add((Integer) row[0]);
+			}
+
+			return objectclassIds;
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.pkg.delete.postgis;
+
+import org.citydb.config.project.database.DatabaseConnection;
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.registry.metadata.ADEMetadataManager;
+import org.citydb.plugins.ade_manager.registry.pkg.delete.DeleteFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former cleanup_appearances function, which deletes the orphaned appearances
+ * one by one in a loop with RETURN NEXT, with the set-based DELETE ... RETURNING function
+ * emitted by {@link PostgisDeleteGeneratorGenerator}. The generated function is created in a
+ * scratch schema with a synthetic appearance dataset, whereas the former function is kept as
+ * a fixed string.
+ * <p>
+ * The generator reads the ADE metadata and the 3DCityDB version from the database, so the 
+ * benchmark has to be connected to a PostgreSQL 3DCityDB instance, which is given by the system 
+ * properties {@code benchmark.db.server}, {@code benchmark.db.port}, {@code benchmark.db.name}, 
+ * {@code benchmark.db.user} and {@code benchmark.db.password}, e.g. 
+ * {@code ./gradlew jmh --args="CleanupAppearances -jvmArgs -Dbenchmark.db.server=localhost -jvmArgs -Dbenchmark.db.name=citydb"}.
+ * <p>
+ * Note that this benchmark has only been compiled so far and has not been run against a 
+ * database yet, so no measurements are available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CleanupAppearancesBenchmark {
+	private static final String SCHEMA = "ade_manager_benchmark";
+	private static final String SET_BASED_FUNCTION = "cleanup_appearances";
+	private static final String LOOP_FUNCTION = "cleanup_appearances_loop";
+
+	@Param({"100000"})
+	private int appearances;
+
+	private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
+	private Connection connection;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		String server = System.getProperty("benchmark.db.server");
+		String database = System.getProperty("benchmark.db.name");
+		if (server == null || database == null)
+			throw new IllegalStateException("The system properties benchmark.db.server and benchmark.db.name must point to a 3DCityDB instance.");
+
+		DatabaseConnection databaseConnection = new DatabaseConnection();
+		databaseConnection.setDatabaseType(DatabaseType.POSTGIS);
+		databaseConnection.setServer(server);
+		databaseConnection.setPort(Integer.getInteger("benchmark.db.port", 5432));
+		databaseConnection.setSid(database);
+		databaseConnection.setUser(System.getProperty("benchmark.db.user"));
+		databaseConnection.setInternalPassword(System.getProperty("benchmark.db.password"));
+		dbPool.connect(databaseConnection);
+
+		connection = dbPool.getConnection();
+		connection.setAutoCommit(true);
+
+		ConfigImpl config = new ConfigImpl();
+		PostgisDeleteGeneratorGenerator generator = new PostgisDeleteGeneratorGenerator(connection, config,
+				new ADEMetadataManager(connection, config));
+		DeleteFunction cleanupFunction = new DeleteFunction(SET_BASED_FUNCTION, SCHEMA);
+		generator.constructAppearanceCleanupFunction(cleanupFunction);
+
+		// use the id type of the generated function for the scratch tables as well
+		String idType = cleanupFunction.getDeclareField().endsWith("integer") ? "INTEGER" : "BIGINT";
+
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+			stmt.execute("CREATE SCHEMA " + SCHEMA);
+			stmt.execute("CREATE TABLE " + SCHEMA + ".appearance (id " + idType + " PRIMARY KEY, cityobject_id " + idType + ")");
+			stmt.execute("CREATE TABLE " + SCHEMA + ".appear_to_surface_data (surface_data_id " + idType + ", appearance_id " + idType + ", " +
+					"PRIMARY KEY (surface_data_id, appearance_id))");
+			stmt.execute("CREATE INDEX app_to_surfdata_fkx ON " + SCHEMA + ".appear_to_surface_data (appearance_id)");
+			stmt.execute("CREATE INDEX appearance_cityobject_fkx ON " + SCHEMA + ".appearance (cityobject_id)");
+
+			// both functions start with the same cleanup of surface data, which stays empty here
+			stmt.execute("CREATE TABLE " + SCHEMA + ".surface_data (id " + idType + " PRIMARY KEY)");
+			stmt.execute("CREATE TABLE " + SCHEMA + ".textureparam (surface_data_id " + idType + ")");
+			stmt.execute("CREATE OR REPLACE FUNCTION " + SCHEMA + ".del_surface_data(" + idType + "[]) " +
+					"RETURNS SETOF " + idType + " AS\n" +
+					"$body$\n" +
+					"  DELETE FROM " + SCHEMA + ".surface_data WHERE id = ANY($1) RETURNING id\n" +
+					"$body$\n" +
+					"LANGUAGE sql");
+
+			String definition = cleanupFunction.getDefinition();
+			stmt.execute(definition.endsWith(";") ? definition.substring(0, definition.length() - 1) : definition);
+
+			stmt.execute("CREATE OR REPLACE FUNCTION " + SCHEMA + "." + LOOP_FUNCTION + "(only_global INTEGER DEFAULT 1) " +
+					"RETURNS SETOF " + idType + " AS\n" +
+					"$body$\n" +
+					"DECLARE\n" +
+					"  deleted_id " + idType + ";\n" +
+					"  app_id " + idType + ";\n" +
+					"BEGIN\n" +
+					"  PERFORM " + SCHEMA + ".del_surface_data(array_agg(s.id))\n" +
+					"    FROM " + SCHEMA + ".surface_data s\n" +
+					"    LEFT OUTER JOIN " + SCHEMA + ".textureparam t ON s.id = t.surface_data_id\n" +
+					"    WHERE t.surface_data_id IS NULL;\n" +
+					"\n" +
+					"  IF only_global=1 THEN\n" +
+					"    FOR app_id IN\n" +
+					"      SELECT a.id FROM " + SCHEMA + ".appearance a\n" +
+					"        LEFT OUTER JOIN " + SCHEMA + ".appear_to_surface_data asd ON a.id=asd.appearance_id\n" +
+					"          WHERE a.cityobject_id IS NULL AND asd.appearance_id IS NULL\n" +
+					"    LOOP\n" +
+					"      DELETE FROM " + SCHEMA + ".appearance WHERE id = app_id RETURNING id INTO deleted_id;\n" +
+					"      RETURN NEXT deleted_id;\n" +
+					"    END LOOP;\n" +
+					"  ELSE\n" +
+					"    FOR app_id IN\n" +
+					"      SELECT a.id FROM " + SCHEMA + ".appearance a\n" +
+					"        LEFT OUTER JOIN " + SCHEMA + ".appear_to_surface_data asd ON a.id=asd.appearance_id\n" +
+					"          WHERE asd.appearance_id IS NULL\n" +
+					"    LOOP\n" +
+					"      DELETE FROM " + SCHEMA + ".appearance WHERE id = app_id RETURNING id INTO deleted_id;\n" +
+					"      RETURN NEXT deleted_id;\n" +
+					"    END LOOP;\n" +
+					"  END IF;\n" +
+					"\n" +
+					"  RETURN;\n" +
+					"END;\n" +
+					"$body$\n" +
+					"LANGUAGE plpgsql STRICT");
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void populate() throws SQLException {
+		// a quarter of the appearances is referenced by surface data, another quarter belongs 
+		// to a city object and the remaining half are orphaned global appearances
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("TRUNCATE " + SCHEMA + ".appear_to_surface_data, " + SCHEMA + ".appearance");
+			stmt.execute("INSERT INTO " + SCHEMA + ".appearance (id, cityobject_id) " +
+					"SELECT i, CASE WHEN i % 4 = 1 THEN i ELSE NULL END FROM generate_series(1, " + appearances + ") i");
+			stmt.execute("INSERT INTO " + SCHEMA + ".appear_to_surface_data (surface_data_id, appearance_id) " +
+					"SELECT i, i FROM generate_series(1, " + appearances + ") i WHERE i % 4 = 0");
+			stmt.execute("ANALYZE " + SCHEMA + ".appearance");
+			stmt.execute("ANALYZE " + SCHEMA + ".appear_to_surface_data");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		try {
+			if (connection != null) {
+				try (Statement stmt = connection.createStatement()) {
+					stmt.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+				} finally {
+					connection.close();
+				}
+			}
+		} finally {
+			dbPool.disconnect();
+		}
+	}
+
+	@Benchmark
+	public long loopCleanup() throws SQLException {
+		return cleanupAppearances(LOOP_FUNCTION);
+	}
+
+	@Benchmark
+	public long setBasedCleanup() throws SQLException {
+		return cleanupAppearances(SET_BASED_FUNCTION);
+	}
+
+	private long cleanupAppearances(String function) throws SQLException {
+		try (Statement stmt = connection.createStatement();
+			 ResultSet rs = stmt.executeQuery("SELECT count(*) FROM " + SCHEMA + "." + function + "(1)")) {
+			return rs.next() ? rs.getLong(1) : 0;
+		}
+	}
+}
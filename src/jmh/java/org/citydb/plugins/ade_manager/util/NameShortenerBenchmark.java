@@ -0,0 +1,122 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link NameShortener} with the former implementation in {@link LegacyNameShortener} 
+ * on thousands of long table names. Like the DBObjectNameShortener, every shortened name is 
+ * prefixed and made unique by shortening it again with an increasing suffix, so that the 
+ * many collisions of names sharing the same leading words are part of the measurement. The 
+ * used names are kept in a hash set for the current and in a list for the former implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameShortenerBenchmark {
+	private static final String PREFIX = "test";
+	private static final String[] WORDS = {"building", "installation", "thematic", "surface", "opening", 
+			"boundary", "construction", "element", "furniture", "interior", "storey", "property", 
+			"energy", "performance", "thermal", "zone", "usage", "occupancy", "schedule", "material"};
+
+	@Param({"5000"})
+	private int names;
+
+	private List<String> inputNames;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		inputNames = new ArrayList<>(names);
+		for (int i = 0; i < names; i++) {
+			StringBuilder name = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+			int words = 4 + random.nextInt(5);
+			for (int j = 1; j < words; j++)
+				name.append('_').append(WORDS[random.nextInt(WORDS.length)]);
+
+			inputNames.add(name.toString());
+		}
+	}
+
+	@Benchmark
+	public void shortenNames(Blackhole blackhole) {
+		int maxLength = GlobalConstants.MAX_TABLE_NAME_LENGTH - PREFIX.length() - 1;
+		Set<String> usedNames = new HashSet<>();
+		for (String inputName : inputNames) {
+			String name = PREFIX + "_" + NameShortener.shortenDbObjectName(inputName, maxLength);
+			for (int k = 1; !usedNames.add(name); k++)
+				name = NameShortener.shortenDbObjectName(name, GlobalConstants.MAX_TABLE_NAME_LENGTH, k);
+
+			blackhole.consume(name);
+		}
+	}
+
+	@Benchmark
+	public void legacyShortenNames(Blackhole blackhole) {
+		int maxLength = GlobalConstants.MAX_TABLE_NAME_LENGTH - PREFIX.length() - 1;
+		List<String> usedNames = new ArrayList<>();
+		for (String inputName : inputNames) {
+			String name = PREFIX + "_" + LegacyNameShortener.shortenDbObjectName(inputName, maxLength, 0);
+			blackhole.consume(processDuplicatedDbName(usedNames, name, GlobalConstants.MAX_TABLE_NAME_LENGTH, 0));
+		}
+	}
+
+	// former duplicate resolution of the DBObjectNameShortener
+	private String processDuplicatedDbName(List<String> dbNameList, String inputString, int maxLength, int k) {
+		if (!dbNameList.contains(inputString)) {
+			dbNameList.add(inputString);
+			return inputString;
+		} else {
+			k++;
+			inputString = LegacyNameShortener.shortenDbObjectName(inputString, maxLength, k);
+			return processDuplicatedDbName(dbNameList, inputString, maxLength, k);
+		}
+	}
+}
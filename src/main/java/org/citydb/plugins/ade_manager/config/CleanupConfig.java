@@ -0,0 +1,100 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.plugins.ade_manager.config;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "CleanupConfigType", propOrder = {
+		"fetchSize",
+		"numberOfWorkers",
+		"queueSize",
+		"bulkPurge",
+		"chunkSize",
+		"parallelChunks"
+})
+public class CleanupConfig {
+	private int fetchSize = 1000;
+	private int numberOfWorkers = 1;
+	private int queueSize = 1000;
+	private boolean bulkPurge;
+	private int chunkSize = 1000;
+	private int parallelChunks = 1;
+
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	public int getNumberOfWorkers() {
+		return numberOfWorkers;
+	}
+
+	/**
+	 * Sets the number of delete workers. More than one worker deletes ADE objects concurrently
+	 * on several database connections.
+	 */
+	public void setNumberOfWorkers(int numberOfWorkers) {
+		this.numberOfWorkers = numberOfWorkers;
+	}
+
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	public void setQueueSize(int queueSize) {
+		this.queueSize = queueSize;
+	}
+
+	public boolean isBulkPurge() {
+		return bulkPurge;
+	}
+
+	public void setBulkPurge(boolean bulkPurge) {
+		this.bulkPurge = bulkPurge;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public int getParallelChunks() {
+		return parallelChunks;
+	}
+
+	public void setParallelChunks(int parallelChunks) {
+		this.parallelChunks = parallelChunks;
+	}
+}
@@ -44,6 +44,13 @@ import java.io.File;
 		"adeDbPrefix",	
 		"initialObjectclassId",
 		"adeRegistryInputPath",
+		"parallelSchemaCreation",
+		"concurrentIndexCreation",
+		"schemaCreationThreads",
+		"cleanupConfig",
+		"bulkDeleteFunctions",
+		"scriptGenerationThreads",
+		"graphDump",
 		"guiConfig"
 })
 
@@ -56,6 +63,13 @@ public class ConfigImpl extends PluginConfig {
 	private String adeDbPrefix;
 	private int initialObjectclassId;
 	private String adeRegistryInputPath;
+	private boolean parallelSchemaCreation;
+	private boolean concurrentIndexCreation;
+	private int schemaCreationThreads;
+	private CleanupConfig cleanupConfig;
+	private boolean bulkDeleteFunctions;
+	private int scriptGenerationThreads;
+	private boolean graphDump;
 	private GuiConfig guiConfig;
 	@XmlTransient
 	private String tmpGraphDirPath;
@@ -68,6 +82,7 @@ public class ConfigImpl extends PluginConfig {
 		tmpGraphDirPath = tmp.getAbsolutePath();		
 		
 		initialObjectclassId = GlobalConstants.MIN_ADE_OBJECTCLASSID;
+		cleanupConfig = new CleanupConfig();
 		guiConfig = new GuiConfig();
 	}
 
@@ -139,6 +154,76 @@ public class ConfigImpl extends PluginConfig {
 		this.adeRegistryInputPath = adeRegistryInputPath;
 	}
 
+	public boolean isParallelSchemaCreation() {
+		return parallelSchemaCreation;
+	}
+
+	public void setParallelSchemaCreation(boolean parallelSchemaCreation) {
+		this.parallelSchemaCreation = parallelSchemaCreation;
+	}
+
+	public boolean isConcurrentIndexCreation() {
+		return concurrentIndexCreation;
+	}
+
+	public void setConcurrentIndexCreation(boolean concurrentIndexCreation) {
+		this.concurrentIndexCreation = concurrentIndexCreation;
+	}
+
+	public int getSchemaCreationThreads() {
+		return schemaCreationThreads;
+	}
+
+	/**
+	 * Sets the number of database connections used for creating the foreign keys and indexes
+	 * of a parallel schema creation. A value of 0 or less uses up to four connections depending
+	 * on the available processors.
+	 */
+	public void setSchemaCreationThreads(int schemaCreationThreads) {
+		this.schemaCreationThreads = schemaCreationThreads;
+	}
+
+	public CleanupConfig getCleanupConfig() {
+		return cleanupConfig;
+	}
+
+	public void setCleanupConfig(CleanupConfig cleanupConfig) {
+		if (cleanupConfig != null) {
+			this.cleanupConfig = cleanupConfig;
+		}
+	}
+
+	public boolean isBulkDeleteFunctions() {
+		return bulkDeleteFunctions;
+	}
+
+	public void setBulkDeleteFunctions(boolean bulkDeleteFunctions) {
+		this.bulkDeleteFunctions = bulkDeleteFunctions;
+	}
+
+	public int getScriptGenerationThreads() {
+		return scriptGenerationThreads;
+	}
+
+	/**
+	 * Sets the number of threads used for generating the delete and envelope functions. 
+	 * A value of 0 or less uses up to four threads depending on the available processors.
+	 */
+	public void setScriptGenerationThreads(int scriptGenerationThreads) {
+		this.scriptGenerationThreads = scriptGenerationThreads;
+	}
+
+	public boolean isGraphDump() {
+		return graphDump;
+	}
+
+	/**
+	 * Writes the transformed graph to the temporary graph folder for debugging purposes.
+	 */
+	public void setGraphDump(boolean graphDump) {
+		this.graphDump = graphDump;
+	}
+
 	public GuiConfig getGuiConfig() {
 		return guiConfig;
 	}
@@ -40,6 +40,7 @@ import org.citydb.plugins.ade_manager.registry.metadata.ADEMetadataManager;
 import org.citydb.plugins.ade_manager.registry.model.DBSQLScript;
 import org.citydb.plugins.ade_manager.registry.pkg.DBScriptGenerator;
 import org.citydb.plugins.ade_manager.registry.pkg.DBScriptGeneratorFactory;
+import org.citydb.plugins.ade_manager.registry.pkg.delete.DeleteScriptGenerator;
 import org.citydb.plugins.ade_manager.registry.schema.ADEDBSchemaManager;
 import org.citydb.plugins.ade_manager.registry.schema.ADEDBSchemaManagerFactory;
 import org.citydb.util.event.EventDispatcher;
@@ -49,6 +50,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class ADERegistrationController {
 	private final Logger log = Logger.getInstance();
@@ -56,6 +58,7 @@ public class ADERegistrationController {
 	private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
 	private final ADEManagerPlugin plugin;
 	private Connection connection;
+	private ADERegistrationSession session;
 	
 	public ADERegistrationController(ADEManagerPlugin plugin) {
 		this.plugin = plugin;
@@ -64,6 +67,7 @@ public class ADERegistrationController {
 	public void initDBConneciton() throws ADERegistrationException {
 		try {
 			connection = dbPool.getConnection();
+			session = new ADERegistrationSession(connection, plugin.getConfig());
 			// disable database auto-commit in order to enable rolling back database transactions
 			connection.setAutoCommit(false);
 
@@ -82,34 +86,31 @@ public class ADERegistrationController {
 
 		// import ADE metadata from schema mapping file into database	
 		log.info("Importing ADE metadata into database...");
-		ADEMetadataManager adeMetadataManager = null;
-		try {
-			adeMetadataManager = new ADEMetadataManager(connection, plugin.getConfig());
-		} catch (SQLException e) {
-			throw new ADERegistrationException("Failed to initialize ADE metadata manager.", e);
-		}
+		ADEMetadataManager adeMetadataManager = getMetadataManager();
 
 		SchemaMapping schemaMapping;
 		try {						
 			schemaMapping = adeMetadataManager.importADEMetadata();
 		} catch (SQLException e) {				
 			throw new ADERegistrationException("Failed to import ADE metadata into database.", e);
-		}		
+		} finally {
+			session.invalidateMetadata();
+		}
 		
 		// create database tables, FKs, indexes, and sequences etc. 
 		log.info("Creating ADE database schema...");
 		ADEDBSchemaManager adeDatabasSchemaManager = ADEDBSchemaManagerFactory.getInstance()
-				.createADEDatabaseSchemaManager(connection, plugin.getConfig());
+				.createADEDatabaseSchemaManager(session);
 		try {	
 			adeDatabasSchemaManager.createADEDatabaseSchema(schemaMapping);
 		} catch (SQLException e) {
 			throw new ADERegistrationException("Failed to create ADE database schema.", e);
 		} 	
 		
-		// create and install delete-functions.
+		// create and install the delete-functions affected by the new ADE.
 		log.info("Creating and installing delete functions...");
 		try {	
-			DBSQLScript deleteScript = createDeleteScripts();
+			DBSQLScript deleteScript = createDeleteScripts(schemaMapping.getMetadata().getDBPrefix(), null);
 			installDBScript(deleteScript);			
 			eventDispatcher.triggerEvent(new ScriptCreationEvent(deleteScript, true));
 		} catch (ADERegistrationException e) {
@@ -126,6 +127,7 @@ public class ADERegistrationController {
 			log.error("Failed to create and install envelope functions into database (skipped).", e);
 		} 	
 
+		session.logStatistics();
 		return true;
 	}
 	
@@ -138,7 +140,7 @@ public class ADERegistrationController {
 		 * 4) Delete ADE metadata from the respective 3DCityDB's Metadata tables
 		 */
 		ADEDBSchemaManager adeDatabasSchemaManager = ADEDBSchemaManagerFactory.getInstance()
-				.createADEDatabaseSchemaManager(connection, plugin.getConfig());
+				.createADEDatabaseSchemaManager(session);
 		// Step 1: Cleanup ADE data content by calling the corresponding delete-functions
 		log.info("Deleting ADE data content...");
 		try {
@@ -147,8 +149,20 @@ public class ADERegistrationController {
 			throw new ADERegistrationException("Failed to clean up ADE data.", e);
 		}
 		
+		// determine the delete-functions referring to the ADE tables as long as they still exist
+		String dbPrefix = null;
+		Set<String> affectedTables = null;
+		try {
+			dbPrefix = getMetadataManager().getDBPrefix(adeId);
+			DeleteScriptGenerator deleteScriptGenerator = createDeleteScriptGenerator();
+			if (deleteScriptGenerator.isIncrementalInstallSupported())
+				affectedTables = deleteScriptGenerator.getAffectedTables(dbPrefix);
+		} catch (SQLException e) {
+			log.warn("Failed to determine the delete functions affected by the ADE. All delete functions will be re-created.");
+		}
+		
 		// Step 2: Dropping ADE database schema and delete-functions	
-		log.info("Dropping ADE database schema and all delete functions...");
+		log.info("Dropping ADE database schema and its delete functions...");
 		try {	
 			adeDatabasSchemaManager.dropADEDatabaseSchema(adeId);
 		} catch (SQLException e) {
@@ -157,22 +171,21 @@ public class ADERegistrationController {
 		
 		// Step 3: Removing ADE metadata
 		log.info("Removing ADE metadata");
-		ADEMetadataManager adeMetadataManager = null;
-		try {
-			adeMetadataManager = new ADEMetadataManager(connection, plugin.getConfig());
-		} catch (SQLException e) {
-			throw new ADERegistrationException("Failed to initialize ADE metadata manager.", e);
-		}	
+		ADEMetadataManager adeMetadataManager = getMetadataManager();
 		try {
 			adeMetadataManager.deleteADEMetadata(adeId);
 		} catch (SQLException e) {	
 			throw new ADERegistrationException("Failed to delete ADE metadata from database.", e);
-		} 		
+		} finally {
+			session.invalidateMetadata();
+		}
 
 		// Step 4: re-create and install delete-functions
 		log.info("Re-creating and installing delete functions...");
 		try {	
-			DBSQLScript deleteScript = createDeleteScripts();
+			DBSQLScript deleteScript = affectedTables != null ? 
+					createDeleteScripts(dbPrefix, affectedTables) : 
+					createDeleteScripts();
 			installDBScript(deleteScript);			
 			eventDispatcher.triggerEvent(new ScriptCreationEvent(deleteScript, true));
 		} catch (ADERegistrationException e) {
@@ -189,17 +202,13 @@ public class ADERegistrationController {
 			log.info("Failed to create and install envelope functions in database (skipped).");
 		} 
 		
+		session.logStatistics();
 		return true;
 	}
 	
 	public List<ADEMetadataInfo> queryRegisteredADEs() throws ADERegistrationException {	
 		List<ADEMetadataInfo> adeList = new ArrayList<ADEMetadataInfo>();				
-		ADEMetadataManager adeMetadataManager = null;
-		try {
-			adeMetadataManager = new ADEMetadataManager(connection, plugin.getConfig());
-		} catch (SQLException e) {
-			throw new ADERegistrationException("Failed to initialize ADE metadata manager.", e);
-		}
+		ADEMetadataManager adeMetadataManager = getMetadataManager();
 		try {
 			adeList = adeMetadataManager.getADEMetadata();
 		} catch (SQLException e) {		
@@ -210,12 +219,7 @@ public class ADERegistrationController {
 	}
 	
 	public DBSQLScript createDeleteScripts() throws ADERegistrationException {
-		ADEMetadataManager adeMetadataManager = null;
-		try {
-			adeMetadataManager = new ADEMetadataManager(connection, plugin.getConfig());
-		} catch (SQLException e) {
-			throw new ADERegistrationException("Failed to initialize ADE metadata manager.", e);
-		}
+		ADEMetadataManager adeMetadataManager = getMetadataManager();
 		
 		log.info("Creating delete functions for the current 3DCityDB instance (this process may take a while for Oracle)...");
 		DBSQLScript deleteScript = null;
@@ -233,14 +237,35 @@ public class ADERegistrationController {
 		return deleteScript;
 	}
 
-	public DBSQLScript createEnvelopeScripts() throws ADERegistrationException {
-		ADEMetadataManager adeMetadataManager = null;
+	private DBSQLScript createDeleteScripts(String dbPrefix, Set<String> affectedTables) throws ADERegistrationException {
+		DeleteScriptGenerator deleteScriptGenerator = createDeleteScriptGenerator();
+		if (!deleteScriptGenerator.isIncrementalInstallSupported())
+			return createDeleteScripts();
+		
+		log.info("Creating delete functions affected by the ADE '" + dbPrefix + "'...");
+		DBSQLScript deleteScript = null;
 		try {
-			adeMetadataManager = new ADEMetadataManager(connection, plugin.getConfig());
+			if (affectedTables == null)
+				affectedTables = deleteScriptGenerator.getAffectedTables(dbPrefix);
+			
+			deleteScript = deleteScriptGenerator.generateDBScript(affectedTables);
 		} catch (SQLException e) {
-			throw new ADERegistrationException("Failed to initialize ADE metadata manager.", e);
+			throw new ADERegistrationException("Failed to create delete functions for the current 3DCityDB instance", e);
 		}
 		
+		log.info("Delete functions successfully created for " + affectedTables.size() + " affected table(s).");
+		
+		return deleteScript;
+	}
+	
+	private DeleteScriptGenerator createDeleteScriptGenerator() throws ADERegistrationException {
+		return DBScriptGeneratorFactory.getInstance()
+				.createDeleteScriptGenerator(connection, plugin.getConfig(), getMetadataManager());
+	}
+
+	public DBSQLScript createEnvelopeScripts() throws ADERegistrationException {
+		ADEMetadataManager adeMetadataManager = getMetadataManager();
+		
 		log.info("Creating envelope functions for the current 3DCityDB instance...");
 		DBSQLScript envelopeScript = null;
 		DBScriptGenerator envelopeScriptGenerator = DBScriptGeneratorFactory.getInstance()
@@ -264,11 +289,25 @@ public class ADERegistrationController {
 		}				
 	}
 
+	private ADEMetadataManager getMetadataManager() throws ADERegistrationException {
+		try {
+			return session.getMetadataManager();
+		} catch (SQLException e) {
+			throw new ADERegistrationException("Failed to initialize ADE metadata manager.", e);
+		}
+	}
+
 	public void closeDBConnection() {
 		try {
 			if (connection != null) {
+				// the registration has neither been committed nor rolled back
+				if (session != null && session.isSchemaCompensationPending())
+					rollbackTransactions();
+
 				connection.close();	
 			}
+			
+			session = null;
 						
 		} catch (SQLException e) {
 			log.error("Failed to close database connection.");
@@ -278,7 +317,7 @@ public class ADERegistrationController {
 	public void commitTransactions() throws ADERegistrationException {
 		try {
 			if (connection != null) {
-				connection.commit();
+				session.commit();
 			}  		
     	} catch (SQLException e) {
 			throw new ADERegistrationException("Failed to execute database transaction.", e);
@@ -288,9 +327,9 @@ public class ADERegistrationController {
 	public void rollbackTransactions() {
 		if (connection != null) {
 			try {
-				connection.rollback();
+				session.rollback();
 			} catch (SQLException e) {
-				log.error("Failed to rollback database transactions.");
+				log.error("Failed to rollback database transactions.", e);
 			}	
 		}
 	}
@@ -0,0 +1,147 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry;
+
+import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.registry.metadata.ADEMetadataManager;
+import org.citydb.plugins.ade_manager.registry.metadata.ADESchemaMappingCache;
+import org.citydb.util.log.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Holds the state shared by all steps of one registration run on a single database connection.
+ * The ADE metadata manager is created lazily and reused until the ADE metadata is changed.
+ * <p>
+ * Database objects which are committed independently of the registration transaction, such as
+ * the ADE tables created in phases on pooled connections, are registered as schema compensation.
+ * It removes these objects if the registration transaction is rolled back.
+ */
+public class ADERegistrationSession {
+	private final Logger log = Logger.getInstance();
+	private final Connection connection;
+	private final ConfigImpl config;
+	private final ADESchemaMappingCache schemaMappingCache;
+	private ADEMetadataManager metadataManager;
+	private SchemaCompensation schemaCompensation;
+	private int loadCount;
+	private int reuseCount;
+	private long loadTime;
+
+	public ADERegistrationSession(Connection connection, ConfigImpl config) {
+		this.connection = connection;
+		this.config = config;
+		this.schemaMappingCache = new ADESchemaMappingCache();
+	}
+
+	public Connection getConnection() {
+		return connection;
+	}
+
+	public ConfigImpl getConfig() {
+		return config;
+	}
+
+	public ADEMetadataManager getMetadataManager() throws SQLException {
+		if (metadataManager == null) {
+			long start = System.currentTimeMillis();
+			metadataManager = new ADEMetadataManager(connection, config, schemaMappingCache);
+			long elapsed = System.currentTimeMillis() - start;
+			loadTime += elapsed;
+			loadCount++;
+			log.debug("ADE metadata loaded in " + elapsed + " ms.");
+		} else
+			reuseCount++;
+
+		return metadataManager;
+	}
+
+	public void invalidateMetadata() {
+		metadataManager = null;
+	}
+
+	public void setSchemaCompensation(SchemaCompensation schemaCompensation) {
+		this.schemaCompensation = schemaCompensation;
+	}
+
+	public boolean isSchemaCompensationPending() {
+		return schemaCompensation != null;
+	}
+
+	/**
+	 * Commits the registration transaction. The registered schema compensation is discarded afterwards.
+	 */
+	public void commit() throws SQLException {
+		connection.commit();
+		schemaCompensation = null;
+	}
+
+	/**
+	 * Rolls back the registration transaction and runs the registered schema compensation.
+	 */
+	public void rollback() throws SQLException {
+		SQLException failure = null;
+		try {
+			connection.rollback();
+		} catch (SQLException e) {
+			failure = e;
+		}
+
+		if (schemaCompensation != null) {
+			log.warn("Removing the ADE database schema created by the failed registration...");
+			try {
+				schemaCompensation.run();
+			} catch (SQLException e) {
+				if (failure == null)
+					failure = e;
+				else
+					failure.addSuppressed(e);
+			} finally {
+				schemaCompensation = null;
+			}
+		}
+
+		if (failure != null)
+			throw failure;
+	}
+
+	public void logStatistics() {
+		if (loadCount == 0)
+			return;
+
+		long savedTime = reuseCount * (loadTime / loadCount);
+		log.info("ADE metadata loaded " + loadCount + " time(s) in " + loadTime + " ms and reused "
+				+ reuseCount + " time(s), saving approx. " + savedTime + " ms.");
+	}
+
+	@FunctionalInterface
+	public interface SchemaCompensation {
+		void run() throws SQLException;
+	}
+}
@@ -49,20 +49,28 @@ import java.sql.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.*;
-import java.util.Map.Entry;
 
 public class ADEMetadataManager {	
 	private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
 	private final Connection connection;
 	private final ConfigImpl config;
 	private final String schema;
+	private final ADESchemaMappingCache schemaMappingCache;
 	private SchemaMapping mergedSchemaMapping;
+	private ObjectclassHierarchy objectclassHierarchy;
+	private Map<String, List<String>> aggregationJoinColumns;
+	private Set<String> existingTables;
 	private final AggregationInfoCollection aggregationInfoCollection;
 	
 	public ADEMetadataManager(Connection connection, ConfigImpl config) throws SQLException {
+		this(connection, config, new ADESchemaMappingCache());
+	}
+	
+	public ADEMetadataManager(Connection connection, ConfigImpl config, ADESchemaMappingCache schemaMappingCache) throws SQLException {
 		this.connection = connection;
 		this.config = config;
 		this.schema = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();
+		this.schemaMappingCache = schemaMappingCache;
 		this.mergedSchemaMapping = queryMergedADESchemaMapping();
 		this.aggregationInfoCollection = queryAggregationInfoCollection();
 	}
@@ -164,11 +172,16 @@ public class ADEMetadataManager {
 		try {
 			insertAggregationInfo(inputADESchemaMapping, psInsertAggregationInfo);			
 		} catch (SQLException e) {
-			throw new SQLException("Failed to import metadata into 'SCHEMA_TO_OBJECTCLASS' table.", e);
+			throw new SQLException("Failed to import metadata into 'AGGREGATION_INFO' table.", e);
 		} finally {
-			psInsertSchemaToObjectclass.close();
+			psInsertAggregationInfo.close();
 		}
 
+		schemaMappingCache.invalidate();
+		objectclassHierarchy = null;
+		aggregationJoinColumns = null;
+		existingTables = null;
+
 		return inputADESchemaMapping;
 	}
 
@@ -209,65 +222,42 @@ public class ADEMetadataManager {
 		return ades;
 	}
 	
-	public Map<Integer, String> getSubObjectclassesFromSuperTable(String superTable) throws SQLException {
-		Statement stmt = null;
-		ResultSet rs = null;
-		Map<Integer, String> result = new TreeMap<Integer, String>();
-	
-		try {					
-			stmt = connection.createStatement();
-			rs = stmt.executeQuery("SELECT o1.id, o1.tablename "
-					+ "FROM " + schema + ".objectclass o1 "
-					+ "JOIN " + schema + ".objectclass o2 "
-					+ "ON o1.superclass_id = o2.id "
-					+ "WHERE o2.tablename = '" + superTable + "'");
-			
-			while (rs.next()) {
-				int objectclassId = rs.getInt(1);
-				String tableName = rs.getString(2).toLowerCase();	
-				if (!tableName.equalsIgnoreCase(superTable)) {
-					Map<Integer, String> nestedSub = getSubObjectclassesFromSuperTable(tableName);
-					for (Entry<Integer, String> entry: nestedSub.entrySet()) {
-						result.put(entry.getKey(), entry.getValue());
-					}					
-				}
-				result.put(objectclassId, tableName);
-			}
-		} finally {
-			if (rs != null) 
-				rs.close();
+	/**
+	 * Loads the metadata which is otherwise read lazily from the database connection. All lazy 
+	 * loads are serialized on the connection, since it must not be used by several threads at once.
+	 */
+	public void loadMetadata() throws SQLException {
+		getObjectclassHierarchy();
+		getADEHookTables("cityobject");
+		checkTableExists("objectclass");
+		getAggregationJoinColumns("objectclass");
+		aggregationInfoCollection.loadObjectClassIds();
+	}
 	
-			if (stmt != null) 
-				stmt.close();
+	public Map<Integer, String> getSubObjectclassesFromSuperTable(String superTable) throws SQLException {
+		return getObjectclassHierarchy().getSubObjectclasses(superTable);
+	}
+
+	public ObjectclassHierarchy getObjectclassHierarchy() throws SQLException {
+		synchronized (connection) {
+			if (objectclassHierarchy == null)
+				objectclassHierarchy = ObjectclassHierarchy.load(connection, schema);
+
+			return objectclassHierarchy;
 		}
-	
-		return result;
 	}
 
 	public List<String> getADEHookTables(String baseTableName) throws SQLException {
-		List<String> result = new ArrayList<String>();
-		List<ADEMetadataInfo> ades = getADEMetadata();
-		for (ADEMetadataInfo ade: ades) {
-			String dbPrefix = ade.getDbPrefix();
-			String schemaMappingStr = this.getSchemaMappingbyDbPrefix(dbPrefix);
-			if (schemaMappingStr != null) {
-				InputStream stream = new ByteArrayInputStream(schemaMappingStr.getBytes());
-				try {			
-					SchemaMapping citydbSchemaMapping = SchemaMappingUtil.getInstance().unmarshal(CoreConstants.CITYDB_SCHEMA_MAPPING_FILE);
-					SchemaMapping targetADESchemaMapping = SchemaMappingUtil.getInstance().unmarshal(citydbSchemaMapping, stream);	
-					for (PropertyInjection injection: targetADESchemaMapping.getPropertyInjections()) {
-						String targetBaseTable = injection.getDefaultBase().getTable();	
-						if (targetBaseTable.equalsIgnoreCase(baseTableName))
-							result.add(injection.getTable());
-					}
-				} catch (JAXBException e) {
-					throw new SQLException(e);
-				} catch (SchemaMappingException | SchemaMappingValidationException e) {
-					throw new SQLException("The 3DCityDB schema mapping is invalid", e);
-				} 
-			}
+		synchronized (connection) {
+			if (schemaMappingCache.isEmpty())
+				mergedSchemaMapping = queryMergedADESchemaMapping();
+
+			return schemaMappingCache.getHookTables(baseTableName);
 		}
-		return result;
+	}
+	
+	public ADESchemaMappingCache getSchemaMappingCache() {
+		return schemaMappingCache;
 	}
 	
 	public void deleteADEMetadata(String adeId) throws SQLException {
@@ -279,6 +269,11 @@ public class ADEMetadataManager {
 			if (stmt != null)
 				stmt.close();
 		}
+		
+		schemaMappingCache.invalidate();
+		objectclassHierarchy = null;
+		aggregationJoinColumns = null;
+		existingTables = null;
 	}
 	
 	public String getDropDBScript(String adeId) throws SQLException {
@@ -304,6 +299,29 @@ public class ADEMetadataManager {
 		return dropDBScript;
 	}
 	
+	public String getDBPrefix(String adeId) throws SQLException {
+		Statement stmt = null;
+		ResultSet rs = null;
+		String dbPrefix = null;		
+		try {					
+			stmt = connection.createStatement();
+			rs = stmt.executeQuery("select db_prefix from " + schema + ".ade where adeid = '" + adeId + "'");		
+			if (rs.next()) 
+				dbPrefix = rs.getString(1);	
+		} finally {
+			if (rs != null) 
+				rs.close();
+	
+			if (stmt != null) 
+				stmt.close();
+		}
+		
+		if (dbPrefix == null) 
+			throw new SQLException("The database prefix of the ADE '" + adeId + "' is not available.");
+		
+		return dbPrefix;
+	}
+	
 	public List<Integer> getObjectClassIdsByTable(String tableName) throws SQLException {
 		Statement stmt = null;
 		ResultSet rs = null;
@@ -330,64 +348,107 @@ public class ADEMetadataManager {
 		return objectclassIds;
 	}
 
-	public boolean checkTableExists(String tableName) throws SQLException {
-		StringBuilder query = new StringBuilder();
-		DatabaseType dbType = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getDatabaseType();
-						
-		if (dbType == DatabaseType.ORACLE) {
-			query.append("select * from all_tables where table_name = upper('")
-			.append(tableName.toLowerCase()).append("') and owner = upper('").append(schema).append("')");
-		}
-		else if (dbType == DatabaseType.POSTGIS){
-			query.append("select * from information_schema.tables where table_name = '")
-			.append(tableName.toLowerCase()).append("' and table_schema  = '").append(schema).append("'");
+	public Map<String, List<Integer>> getObjectClassIdsByTables() throws SQLException {
+		synchronized (connection) {
+			Statement stmt = null;
+			ResultSet rs = null;
+			Map<String, List<Integer>> objectclassIds = new HashMap<String, List<Integer>>();
+			try {
+				stmt = connection.createStatement();
+				rs = stmt.executeQuery("select id, tablename from " + schema + ".objectclass where tablename is not null");
+				while (rs.next())
+					addObjectClassId(objectclassIds, rs.getString(2), rs.getInt(1));
+			} finally {
+				if (rs != null)
+					rs.close();
+
+				if (stmt != null)
+					stmt.close();
+			}
+
+			for (PropertyInjection injection: mergedSchemaMapping.getPropertyInjections())
+				addObjectClassId(objectclassIds, injection.getTable(), injection.getDefaultBase().getObjectClassId());
+
+			return objectclassIds;
 		}
+	}
+
+	public boolean checkTableExists(String tableName) throws SQLException {
+		synchronized (connection) {
+			DatabaseType dbType = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getDatabaseType();
+			if (existingTables == null) {
+				// read the names of all tables of the schema at once
+				StringBuilder query = new StringBuilder();
+				if (dbType == DatabaseType.ORACLE) {
+					query.append("select table_name from all_tables where owner = upper('").append(schema).append("')");
+				}
+				else if (dbType == DatabaseType.POSTGIS){
+					query.append("select table_name from information_schema.tables where table_schema  = '").append(schema).append("'");
+				}
+			
+				Set<String> tables = new HashSet<String>();
+				Statement stmt = null;
+				ResultSet rs = null;
 		
-		Statement stmt = null;
-		ResultSet rs = null;
-		boolean tableExists = false;
-	
-		try {						
-			stmt = connection.createStatement();
-			rs = stmt.executeQuery(query.toString());		
-			if (rs.next())
-				tableExists = true;
-		} finally {
-			if (rs != null) 
-				rs.close();
+				try {						
+					stmt = connection.createStatement();
+					rs = stmt.executeQuery(query.toString());		
+					while (rs.next())
+						tables.add(rs.getString(1));
+				} finally {
+					if (rs != null) 
+						rs.close();
+				
+					if (stmt != null) 
+						stmt.close();
+				}
 			
-			if (stmt != null) 
-				stmt.close();
-		}
+				existingTables = tables;
+			}
 		
-		return tableExists;
+			return existingTables.contains(dbType == DatabaseType.ORACLE ? tableName.toUpperCase() : tableName.toLowerCase());
+		}
 	}
 		
 	public List<String> getAggregationJoinColumns(String tableName) throws SQLException {
-		StringBuilder query = new StringBuilder();
-		List<String> columnList = new ArrayList<String>();
-		
-		query.append("select join_table_or_column_name from ").append(schema).append(".aggregation_info left join ")
-		.append(schema).append(".objectclass on id = child_id where upper(tablename) = upper('").append(tableName).append("')")
-		.append(" and upper(join_table_or_column_name) like '%_ID' and max_occurs is null");
-		
-		Statement stmt = null;
-		ResultSet rs = null;
-		
-		try {						
-			stmt = connection.createStatement();
-			rs = stmt.executeQuery(query.toString());		
-			while (rs.next()) 
-				columnList.add(rs.getString(1));
-		} finally {
-			if (rs != null) 
-				rs.close();
+		synchronized (connection) {
+			if (aggregationJoinColumns == null) {
+				// read the join columns of all tables at once
+				StringBuilder query = new StringBuilder();
+				query.append("select tablename, join_table_or_column_name from ").append(schema).append(".aggregation_info left join ")
+				.append(schema).append(".objectclass on id = child_id where tablename is not null")
+				.append(" and upper(join_table_or_column_name) like '%_ID' and max_occurs is null");
 			
-			if (stmt != null) 
-				stmt.close();
-		}
+				Map<String, List<String>> joinColumns = new HashMap<String, List<String>>();
+				Statement stmt = null;
+				ResultSet rs = null;
+			
+				try {						
+					stmt = connection.createStatement();
+					rs = stmt.executeQuery(query.toString());		
+					while (rs.next()) {
+						String table = rs.getString(1).toUpperCase();
+						List<String> columnList = joinColumns.get(table);
+						if (columnList == null) {
+							columnList = new ArrayList<String>();
+							joinColumns.put(table, columnList);
+						}
+						columnList.add(rs.getString(2));
+					}
+				} finally {
+					if (rs != null) 
+						rs.close();
+				
+					if (stmt != null) 
+						stmt.close();
+				}
+			
+				aggregationJoinColumns = joinColumns;
+			}
 		
-		return columnList;
+			List<String> columnList = aggregationJoinColumns.get(tableName.toUpperCase());
+			return columnList != null ? new ArrayList<String>(columnList) : new ArrayList<String>();
+		}
 	}
 
 	private AggregationInfoCollection queryAggregationInfoCollection() throws SQLException {
@@ -445,6 +506,15 @@ public class ADEMetadataManager {
 	}
 
 	private SchemaMapping queryMergedADESchemaMapping() throws SQLException {
+		List<ADEMetadataInfo> ades = getADEMetadata();
+		List<String> fingerprints = new ArrayList<String>();
+		for (ADEMetadataInfo ade: ades)
+			fingerprints.add(ade.getAdeid());
+		
+		// the parsed schema mappings can be reused as long as the same ADEs are registered
+		if (schemaMappingCache.isValid(fingerprints))
+			return schemaMappingCache.getMergedSchemaMapping();
+		
 		SchemaMapping schemaMapping = null;
 		try {
 			schemaMapping = SchemaMappingUtil.getInstance().unmarshal(CoreConstants.CITYDB_SCHEMA_MAPPING_FILE);
@@ -452,7 +522,7 @@ public class ADEMetadataManager {
 			throw new SQLException("Failed to read the default 3DCityDB schema mapping file.", e);
 		};
 		
-		List<ADEMetadataInfo> ades = getADEMetadata();
+		Map<String, SchemaMapping> adeSchemaMappings = new LinkedHashMap<String, SchemaMapping>();
 		for (ADEMetadataInfo ade: ades) {
 			String dbPrefix = ade.getDbPrefix();
 			String schemaMappingStr = this.getSchemaMappingbyDbPrefix(dbPrefix);
@@ -461,12 +531,15 @@ public class ADEMetadataManager {
 				try {			
 					SchemaMapping adeSchemaMapping = SchemaMappingUtil.getInstance().unmarshal(schemaMapping, stream);	
 					schemaMapping.merge(adeSchemaMapping);
+					adeSchemaMappings.put(ade.getAdeid(), adeSchemaMapping);
 				} catch (SchemaMappingException | SchemaMappingValidationException | JAXBException e) {
 					throw new SQLException("Failed to read the schema mapping file of the ADE "+ ade.getName() + " from 3DCityDB.", e);
 				}
 			}
 		}
 		
+		schemaMappingCache.update(fingerprints, schemaMapping, adeSchemaMappings);
+		
 		return schemaMapping;
 	}
 
@@ -509,6 +582,14 @@ public class ADEMetadataManager {
 	private Map<String, List<Long>> insertSchemas(SchemaMapping inputADESchemaMapping, long adeRowId, List<String> adeSchemaIds, PreparedStatement ps) throws SQLException {				
 		Map<String, List<Long>> insertedSchemas = new HashMap<String, List<Long>>();
 
+		// fetch the sequence values for all schema namespaces at once
+		int numberOfNamespaces = 0;
+		for (AppSchema adeSchema : inputADESchemaMapping.getSchemas()) {
+			if (adeSchemaIds.contains(adeSchema.getId()))
+				numberOfNamespaces += adeSchema.getNamespaces().size();
+		}
+		Iterator<Long> seqIds = getSequenceIDs(ADEMetadataSequence.schema_seq, numberOfNamespaces).iterator();
+		
 		Iterator<AppSchema> schemaIter = inputADESchemaMapping.getSchemas().iterator();		
 		while (schemaIter.hasNext()) {
 			AppSchema adeSchema = schemaIter.next();			
@@ -521,7 +602,7 @@ public class ADEMetadataManager {
 			while (namespaceIter.hasNext()) {
 				Namespace adeNamespace = namespaceIter.next();
 	
-				long seqId = getSequenceID(ADEMetadataSequence.schema_seq);
+				long seqId = seqIds.next();
 				insertedIds.add(seqId);
 
 				int index = 1;
@@ -535,11 +616,13 @@ public class ADEMetadataManager {
 				ps.setNull(index++, Types.VARCHAR);
 				ps.setLong(index++, adeRowId);
 				
-				ps.executeUpdate();
+				ps.addBatch();
 			}					
 			insertedSchemas.put(adeSchema.getId(), insertedIds);			
 		}	
 		
+		ps.executeBatch();
+		
 		return insertedSchemas;
 	}
 	
@@ -555,10 +638,12 @@ public class ADEMetadataManager {
 		        	long referencedId = insertedSchemas.get(schemaId).get(i);			        	
 		        	ps.setLong(1, referencedId);	
 		        	ps.setLong(2, referencingId);		        	
-		        	ps.executeUpdate();
+		        	ps.addBatch();
 		        }		        
 		    }
 		}
+		
+		ps.executeBatch();
 	}
 
 	private void insertSchemaToObjectclass(Map<Long, String> objectObjectclassIds, Map<String, List<Long>> insertedSchemas, PreparedStatement ps) throws SQLException {
@@ -573,9 +658,11 @@ public class ADEMetadataManager {
 	        	long insertedSchemaId = schemaIter.next();		
 	        	ps.setLong(1, insertedSchemaId);
 	        	ps.setLong(2, objectclassId);	
-	            ps.executeUpdate();
+	            ps.addBatch();
 	        }
 	    }
+	    
+	    ps.executeBatch();
 	}
 	
 	private Map<Long, String> insertObjectclasses(SchemaMapping inputADESchemaMapping, long insertedADERowId, PreparedStatement ps) throws SQLException {		
@@ -587,6 +674,9 @@ public class ADEMetadataManager {
 			if (!insertedObjectclasses.containsKey((long)objectClass.getObjectClassId()))
 				insertSingleObjectclass(objectClass, insertedObjectclasses, insertedADERowId, ps);										
 		}
+		
+		// superclasses are added to the batch before their subclasses
+		ps.executeBatch();
 
 		return insertedObjectclasses;
 	}
@@ -637,7 +727,7 @@ public class ADEMetadataManager {
 		}	
 				
 		ps.setLong(index++, insertedADERowId);
-		ps.executeUpdate();			
+		ps.addBatch();			
 
 		insertedObjectclasses.put(objectclassId, objectClass.getSchema().getId());	
 	}
@@ -654,6 +744,8 @@ public class ADEMetadataManager {
 			for (InjectedProperty property: injection.getProperties())
 				insertSingleAggregationInfo(parentClassId, (AbstractProperty)property, insertedAggregationinfo, ps);
 		}		
+		
+		ps.executeBatch();
 	}
 	
 	private void insertSingleAggregationInfo(int parentClassId, AbstractProperty property, 
@@ -754,7 +846,7 @@ public class ADEMetadataManager {
 			ps.setInt(index++, 0);		
 		ps.setString(index++, join_table_or_column);
 		
-		ps.executeUpdate();	
+		ps.addBatch();	
 		
 		insertedAggregationinfo.addAggregationInfo(
 			new AggregationInfo(
@@ -769,26 +861,35 @@ public class ADEMetadataManager {
 	}
 
 	private long getSequenceID(ADEMetadataSequence seqType) throws SQLException {
+		List<Long> ids = getSequenceIDs(seqType, 1);
+		return !ids.isEmpty() ? ids.get(0) : 0;
+	}
+	
+	private List<Long> getSequenceIDs(ADEMetadataSequence seqType, int count) throws SQLException {
+		List<Long> ids = new ArrayList<Long>(count);
+		if (count <= 0)
+			return ids;
+		
 		StringBuilder query = new StringBuilder();
 		DatabaseType dbType = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getDatabaseType();
 						
 		if (dbType == DatabaseType.ORACLE) {
-			query.append("select ").append(schema).append(".").append(seqType).append(".nextval from dual");
+			query.append("select ").append(schema).append(".").append(seqType).append(".nextval from dual connect by level <= ?");
 		}
 		else if (dbType == DatabaseType.POSTGIS){
-			query.append("select nextval('").append(schema).append(".").append(seqType).append("')");
+			query.append("select nextval('").append(schema).append(".").append(seqType).append("') from generate_series(1, ?)");
 		}
 		
-		long id = 0;
 		PreparedStatement pstsmt = null;
 		ResultSet rs = null;
 
 		try {
 			pstsmt = connection.prepareStatement(query.toString());
+			pstsmt.setInt(1, count);
 			rs = pstsmt.executeQuery();
 			
-			if (rs.next())
-				id = rs.getLong(1);						
+			while (rs.next())
+				ids.add(rs.getLong(1));						
 		} finally {			
 			if (rs != null) 
 				rs.close();
@@ -796,8 +897,13 @@ public class ADEMetadataManager {
 			if (pstsmt != null) 
 				pstsmt.close(); 
 		}
-	
-		return id;
+		
+		if (ids.size() != count)
+			throw new SQLException("Failed to fetch " + count + " values from the sequence '" + seqType + "'.");
+		
+		// assign the sequence values in ascending order
+		Collections.sort(ids);
+		return ids;
 	}
 	
 	private int getBaseclassId(AbstractType<?> objectType) {
@@ -814,6 +920,16 @@ public class ADEMetadataManager {
 		}		
 	}
 	
+	private void addObjectClassId(Map<String, List<Integer>> objectclassIds, String tableName, int objectclassId) {
+		String key = tableName.toLowerCase();
+		List<Integer> ids = objectclassIds.get(key);
+		if (ids == null) {
+			ids = new ArrayList<Integer>();
+			objectclassIds.put(key, ids);
+		}
+		ids.add(objectclassId);
+	}
+
 	private String getStringFromFile(Path schemaMappingFile) {
 		try {
 			return new String(Files.readAllBytes(schemaMappingFile));
@@ -0,0 +1,107 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.metadata;
+
+import org.citydb.core.database.schema.mapping.PropertyInjection;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Session-scoped cache of the schema mappings of all registered ADEs. The parsed mappings are keyed
+ * by the ADE id, which is the MD5 fingerprint of the schema mapping file. The cache stays valid as long
+ * as the same set of ADEs is registered, so each mapping is unmarshalled only once per session.
+ */
+public class ADESchemaMappingCache {
+	private List<String> fingerprints;
+	private SchemaMapping mergedSchemaMapping;
+	private Map<String, SchemaMapping> adeSchemaMappings = new LinkedHashMap<String, SchemaMapping>();
+	private Map<String, List<String>> hookTables = new HashMap<String, List<String>>();
+	private int unmarshalCount;
+
+	public synchronized boolean isValid(List<String> fingerprints) {
+		return this.fingerprints != null && this.fingerprints.equals(fingerprints);
+	}
+
+	public synchronized void update(List<String> fingerprints, SchemaMapping mergedSchemaMapping, Map<String, SchemaMapping> adeSchemaMappings) {
+		this.fingerprints = new ArrayList<String>(fingerprints);
+		this.mergedSchemaMapping = mergedSchemaMapping;
+		this.adeSchemaMappings = new LinkedHashMap<String, SchemaMapping>(adeSchemaMappings);
+		this.unmarshalCount += adeSchemaMappings.size();
+
+		hookTables = new HashMap<String, List<String>>();
+		for (SchemaMapping adeSchemaMapping : adeSchemaMappings.values()) {
+			for (PropertyInjection injection : adeSchemaMapping.getPropertyInjections()) {
+				String baseTable = injection.getDefaultBase().getTable().toLowerCase();
+				List<String> tables = hookTables.get(baseTable);
+				if (tables == null) {
+					tables = new ArrayList<String>();
+					hookTables.put(baseTable, tables);
+				}
+				tables.add(injection.getTable());
+			}
+		}
+	}
+
+	public synchronized void invalidate() {
+		fingerprints = null;
+		mergedSchemaMapping = null;
+		adeSchemaMappings.clear();
+		hookTables.clear();
+	}
+
+	public synchronized boolean isEmpty() {
+		return fingerprints == null;
+	}
+
+	public synchronized SchemaMapping getMergedSchemaMapping() {
+		return mergedSchemaMapping;
+	}
+
+	public synchronized SchemaMapping getADESchemaMapping(String fingerprint) {
+		return adeSchemaMappings.get(fingerprint);
+	}
+
+	public synchronized List<String> getHookTables(String baseTable) {
+		List<String> tables = hookTables.get(baseTable.toLowerCase());
+		return tables != null ? new ArrayList<String>(tables) : new ArrayList<String>();
+	}
+
+	public synchronized int getUnmarshalCount() {
+		return unmarshalCount;
+	}
+
+	public synchronized List<String> getFingerprints() {
+		return fingerprints != null ? Collections.unmodifiableList(fingerprints) : Collections.<String>emptyList();
+	}
+}
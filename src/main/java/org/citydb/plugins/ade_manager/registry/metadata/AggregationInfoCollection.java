@@ -31,30 +31,30 @@ import org.citydb.core.database.schema.mapping.RelationType;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AggregationInfoCollection {
-	private List<AggregationInfo> aggrInfos; 
+	private final Map<AggregationInfoKey, AggregationInfo> aggrInfos;
 	private final ADEMetadataManager metadataManager;
+	private Map<String, List<Integer>> objectclassIdsByTable;
 	
 	public AggregationInfoCollection(ADEMetadataManager metadataManager) {
-		this.aggrInfos = new ArrayList<AggregationInfo>();;
+		this.aggrInfos = new HashMap<AggregationInfoKey, AggregationInfo>();
 		this.metadataManager = metadataManager;
 	}
 
 	public void addAggregationInfo(AggregationInfo aggrInfo) {
-		aggrInfos.add(aggrInfo);
+		AggregationInfoKey key = new AggregationInfoKey(aggrInfo.getChildClassId(), 
+				aggrInfo.getParentClassId(), aggrInfo.getJoinTableOrColumnName());
+		if (!aggrInfos.containsKey(key))
+			aggrInfos.put(key, aggrInfo);
 	}
 	
 	public RelationType getTableRelationType(String childTable, String parentTable, String joinTableOrColumn) {
-		List<Integer> childClassIds = new ArrayList<Integer>();
-		List<Integer> parentClassIds = new ArrayList<Integer>();
-		try {
-			childClassIds = metadataManager.getObjectClassIdsByTable(childTable);
-			parentClassIds = metadataManager.getObjectClassIdsByTable(parentTable);
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
+		List<Integer> childClassIds = getObjectClassIdsByTable(childTable);
+		List<Integer> parentClassIds = getObjectClassIdsByTable(parentTable);
 		for (int childClassId: childClassIds) {
 			for (int parentClassId: parentClassIds) {
 				AggregationInfo aggrInfo = get(childClassId, parentClassId, joinTableOrColumn);
@@ -69,15 +69,72 @@ public class AggregationInfoCollection {
 		return RelationType.ASSOCIATION;
 	}
 
-	
 	public AggregationInfo get(int childClassId, int parentClassId, String joinTableOrColumn) {
-		for (AggregationInfo aggrInfo: aggrInfos) {
-			if (childClassId == aggrInfo.getChildClassId() && 
-					parentClassId == aggrInfo.getParentClassId() &&
-					joinTableOrColumn.equalsIgnoreCase(aggrInfo.getJoinTableOrColumnName())) {
-				return aggrInfo;
+		return aggrInfos.get(new AggregationInfoKey(childClassId, parentClassId, joinTableOrColumn));
+	}
+	
+	public int size() {
+		return aggrInfos.size();
+	}
+	
+	public synchronized void setObjectClassIdsByTable(Map<String, List<Integer>> objectclassIdsByTable) {
+		this.objectclassIdsByTable = objectclassIdsByTable;
+	}
+	
+	public synchronized void loadObjectClassIds() throws SQLException {
+		if (objectclassIdsByTable == null)
+			objectclassIdsByTable = metadataManager.getObjectClassIdsByTables();
+	}
+	
+	private List<Integer> getObjectClassIdsByTable(String tableName) {
+		Map<String, List<Integer>> objectclassIdsByTable = getObjectClassIdsByTables();
+		if (objectclassIdsByTable == null)
+			return new ArrayList<Integer>();
+		
+		List<Integer> objectclassIds = tableName != null ? objectclassIdsByTable.get(tableName.toLowerCase()) : null;
+		return objectclassIds != null ? objectclassIds : new ArrayList<Integer>();
+	}
+	
+	private synchronized Map<String, List<Integer>> getObjectClassIdsByTables() {
+		if (objectclassIdsByTable == null) {
+			try {
+				objectclassIdsByTable = metadataManager.getObjectClassIdsByTables();
+			} catch (SQLException e) {
+				e.printStackTrace();
 			}
-		}	
-		return null;		
+		}
+		
+		return objectclassIdsByTable;
+	}
+	
+	private static final class AggregationInfoKey {
+		private final int childClassId;
+		private final int parentClassId;
+		private final String joinTableOrColumn;
+		
+		private AggregationInfoKey(int childClassId, int parentClassId, String joinTableOrColumn) {
+			this.childClassId = childClassId;
+			this.parentClassId = parentClassId;
+			this.joinTableOrColumn = joinTableOrColumn != null ? joinTableOrColumn.toLowerCase() : null;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = 31 * childClassId + parentClassId;
+			return 31 * result + (joinTableOrColumn != null ? joinTableOrColumn.hashCode() : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof AggregationInfoKey))
+				return false;
+			
+			AggregationInfoKey other = (AggregationInfoKey) obj;
+			return childClassId == other.childClassId 
+					&& parentClassId == other.parentClassId
+					&& (joinTableOrColumn != null ? joinTableOrColumn.equals(other.joinTableOrColumn) : other.joinTableOrColumn == null);
+		}
 	}
 }
@@ -0,0 +1,144 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.metadata;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory snapshot of the superclass tree of the OBJECTCLASS table. The tree is loaded with a
+ * single query, and the transitive subclasses of a table are computed only once and then memoized.
+ */
+public class ObjectclassHierarchy {
+	private final Map<String, List<Integer>> objectclassIdsByTable = new HashMap<String, List<Integer>>();
+	private final Map<Integer, List<Node>> subclassesBySuperclassId = new HashMap<Integer, List<Node>>();
+	private final Map<String, Map<Integer, String>> subObjectclasses = new HashMap<String, Map<Integer, String>>();
+
+	private ObjectclassHierarchy() {
+	}
+
+	public static ObjectclassHierarchy load(Connection connection, String schema) throws SQLException {
+		ObjectclassHierarchy hierarchy = new ObjectclassHierarchy();
+		Statement stmt = null;
+		ResultSet rs = null;
+
+		try {
+			stmt = connection.createStatement();
+			rs = stmt.executeQuery("SELECT id, tablename, superclass_id FROM " + schema + ".objectclass");
+
+			while (rs.next()) {
+				int objectclassId = rs.getInt(1);
+				String tableName = rs.getString(2);
+				int superclassId = rs.getInt(3);
+				boolean hasSuperclass = !rs.wasNull();
+
+				if (tableName == null)
+					continue;
+
+				tableName = tableName.toLowerCase();
+				List<Integer> objectclassIds = hierarchy.objectclassIdsByTable.get(tableName);
+				if (objectclassIds == null) {
+					objectclassIds = new ArrayList<Integer>();
+					hierarchy.objectclassIdsByTable.put(tableName, objectclassIds);
+				}
+				objectclassIds.add(objectclassId);
+
+				if (hasSuperclass) {
+					List<Node> subclasses = hierarchy.subclassesBySuperclassId.get(superclassId);
+					if (subclasses == null) {
+						subclasses = new ArrayList<Node>();
+						hierarchy.subclassesBySuperclassId.put(superclassId, subclasses);
+					}
+					subclasses.add(new Node(objectclassId, tableName));
+				}
+			}
+		} finally {
+			if (rs != null)
+				rs.close();
+
+			if (stmt != null)
+				stmt.close();
+		}
+
+		return hierarchy;
+	}
+
+	public synchronized Map<Integer, String> getSubObjectclasses(String superTable) {
+		return new TreeMap<Integer, String>(collectSubObjectclasses(superTable.toLowerCase(), new HashSet<String>()));
+	}
+
+	private Map<Integer, String> collectSubObjectclasses(String superTable, Set<String> visited) {
+		Map<Integer, String> result = subObjectclasses.get(superTable);
+		if (result != null)
+			return result;
+
+		result = new TreeMap<Integer, String>();
+		if (!visited.add(superTable))
+			return result;
+
+		List<Integer> superclassIds = objectclassIdsByTable.get(superTable);
+		if (superclassIds != null) {
+			for (Integer superclassId : superclassIds) {
+				List<Node> subclasses = subclassesBySuperclassId.get(superclassId);
+				if (subclasses == null)
+					continue;
+
+				for (Node subclass : subclasses) {
+					if (!subclass.tableName.equals(superTable))
+						result.putAll(collectSubObjectclasses(subclass.tableName, visited));
+
+					result.put(subclass.objectclassId, subclass.tableName);
+				}
+			}
+		}
+
+		result = Collections.unmodifiableMap(result);
+		subObjectclasses.put(superTable, result);
+		return result;
+	}
+
+	private static final class Node {
+		private final int objectclassId;
+		private final String tableName;
+
+		private Node(int objectclassId, String tableName) {
+			this.objectclassId = objectclassId;
+			this.tableName = tableName;
+		}
+	}
+}
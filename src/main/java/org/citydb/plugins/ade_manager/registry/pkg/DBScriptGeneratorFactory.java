@@ -31,6 +31,7 @@ import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.plugins.ade_manager.config.ConfigImpl;
 import org.citydb.plugins.ade_manager.registry.metadata.ADEMetadataManager;
+import org.citydb.plugins.ade_manager.registry.pkg.delete.DeleteScriptGenerator;
 import org.citydb.plugins.ade_manager.registry.pkg.delete.oracle.OracleDeleteScriptGenerator;
 import org.citydb.plugins.ade_manager.registry.pkg.delete.postgis.PostgisDeleteGeneratorGenerator;
 import org.citydb.plugins.ade_manager.registry.pkg.envelope.oracle.OracleEnvelopeScriptGenerator;
@@ -51,7 +52,7 @@ public class DBScriptGeneratorFactory {
 		return instance;
 	}
 	
-	public DBScriptGenerator createDeleteScriptGenerator(Connection connection, ConfigImpl config, ADEMetadataManager adeMetadataManager) {
+	public DeleteScriptGenerator createDeleteScriptGenerator(Connection connection, ConfigImpl config, ADEMetadataManager adeMetadataManager) {
 		DatabaseType databaseType = dbPool.getActiveDatabaseAdapter().getDatabaseType();
 		switch (databaseType) {
 		case ORACLE:
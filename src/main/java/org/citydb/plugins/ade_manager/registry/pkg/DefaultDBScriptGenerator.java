@@ -42,6 +42,14 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public abstract class DefaultDBScriptGenerator implements DBScriptGenerator {
 	protected final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
@@ -66,6 +74,10 @@ public abstract class DefaultDBScriptGenerator implements DBScriptGenerator {
 	protected final String defaultSchema = dbPool.getActiveDatabaseAdapter().getSchemaManager().getDefaultSchema();
 	protected ADEMetadataManager adeMetadataManager;
 	protected Querier querier;
+	private final Map<String, Boolean> existingTables = new HashMap<String, Boolean>();
+	private final Queue<Future<?>> pendingTasks = new ConcurrentLinkedQueue<Future<?>>();
+	private int parallelism;
+	private volatile ExecutorService executor;
 
 	public DefaultDBScriptGenerator(Connection connection, ConfigImpl config, ADEMetadataManager adeMetadataManager) {
 		this.connection = connection;
@@ -74,13 +86,87 @@ public abstract class DefaultDBScriptGenerator implements DBScriptGenerator {
 		this.querier = new Querier(connection);
 		this.adeMetadataManager = adeMetadataManager;
 		this.aggregationInfoCollection = adeMetadataManager.getAggregationInfoCollection();	
+		this.parallelism = config.getScriptGenerationThreads() > 0 ? 
+				config.getScriptGenerationThreads() : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
 	}
 	
 	public DBSQLScript generateDBScript() throws SQLException {
 		functionCollection.clear();
 		String schemaName = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();		
 		DBSQLScript script = generateScript(schemaName);	
+		addHeaderText(script);
 		
+		return script;
+	}
+	
+	protected abstract DBSQLScript generateScript(String schemaName) throws SQLException;
+	
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * Sets the number of threads used for constructing the stored functions. A value of 1 constructs
+	 * the functions sequentially. The generated script does not depend on this setting.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+	
+	/**
+	 * Runs the given task and waits for all tasks that are submitted by it. The functions are 
+	 * collected by their declare field or name, so the result does not depend on the execution order.
+	 */
+	protected void executeTasks(GeneratorTask rootTask) throws SQLException {
+		if (parallelism == 1) {
+			rootTask.run();
+			return;
+		}
+		
+		// the worker threads share the database connection, so the metadata is 
+		// read up front and all remaining lazy loads are serialized on the connection
+		adeMetadataManager.loadMetadata();
+		
+		executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			rootTask.run();
+			
+			// tasks submit further tasks before they complete, so all tasks 
+			// have been finished once the queue of pending tasks is empty
+			Future<?> task;
+			while ((task = pendingTasks.poll()) != null) {
+				try {
+					task.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof SQLException)
+						throw (SQLException) cause;
+					
+					throw new SQLException("Failed to construct database function.", cause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while constructing database functions.", e);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			executor = null;
+			pendingTasks.clear();
+		}
+	}
+	
+	protected void submitTask(GeneratorTask task) throws SQLException {
+		ExecutorService executor = this.executor;
+		if (executor != null) {
+			pendingTasks.add(executor.submit(() -> {
+				task.run();
+				return null;
+			}));
+		} else
+			task.run();
+	}
+	
+	protected void addHeaderText(DBSQLScript script) {
 		// create script header text
 		StringBuilder builder = new StringBuilder();
 		builder.append(commentPrefix).append("Automatically generated database script ")
@@ -90,35 +176,44 @@ public abstract class DefaultDBScriptGenerator implements DBScriptGenerator {
 		builder.append(functionCollection.printFunctionNameList(commentPrefix));
 		
 		script.setHeaderText(builder.toString());
-		
-		return script;
 	}
 	
-	protected abstract DBSQLScript generateScript(String schemaName) throws SQLException;
-	
 	protected String wrapSchemaName(String entryName, String schemaName) {
 		return schemaName + "." + entryName;
 	}
 
 	protected boolean tableExists(String tableName, String schemaName) throws SQLException {
-		boolean exist = false;
-		Statement stmt = null;
-		ResultSet rs = null;
-		try {					
-			stmt = connection.createStatement();
-			rs = stmt.executeQuery("select 1 from ALL_TABLES "
-					 + "where TABLE_NAME = upper('" + tableName + "') "
-					 + "and OWNER = upper('" + schemaName + "')");		
-			if (rs.next()) 
-				exist = true;	
-		} finally {
-			if (rs != null) 
-				rs.close();
+		synchronized (connection) {
+			String key = schemaName + "." + tableName;
+			Boolean cached = existingTables.get(key);
+			if (cached != null)
+				return cached;
+		
+			boolean exist = false;
+			Statement stmt = null;
+			ResultSet rs = null;
+			try {					
+				stmt = connection.createStatement();
+				rs = stmt.executeQuery("select 1 from ALL_TABLES "
+						 + "where TABLE_NAME = upper('" + tableName + "') "
+						 + "and OWNER = upper('" + schemaName + "')");		
+				if (rs.next()) 
+					exist = true;	
+			} finally {
+				if (rs != null) 
+					rs.close();
 	
-			if (stmt != null) 
-				stmt.close();
-		}
+				if (stmt != null) 
+					stmt.close();
+			}
 
-		return exist;
+			existingTables.put(key, exist);
+			return exist;
+		}
+	}
+	
+	@FunctionalInterface
+	protected interface GeneratorTask {
+		void run() throws SQLException;
 	}
 }
@@ -29,8 +29,13 @@ package org.citydb.plugins.ade_manager.registry.pkg.delete;
 
 import org.citydb.plugins.ade_manager.registry.model.DBStoredFunction;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 public class DeleteFunction extends DBStoredFunction {
 	private String targetTable;
+	private final Set<String> referencedTables = new HashSet<String>();
 
 	public DeleteFunction(String name, String schema) {
 		super(name, schema);
@@ -54,4 +59,12 @@ public class DeleteFunction extends DBStoredFunction {
 		this.targetTable = targetTable;
 	}
 
+	public Set<String> getReferencedTables() {
+		return Collections.unmodifiableSet(referencedTables);
+	}
+
+	public void addReferencedTable(String tableName) {
+		referencedTables.add(tableName.toLowerCase());
+	}
+
 }
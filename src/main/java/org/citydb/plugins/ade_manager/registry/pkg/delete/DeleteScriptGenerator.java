@@ -30,16 +30,25 @@ package org.citydb.plugins.ade_manager.registry.pkg.delete;
 import org.citydb.plugins.ade_manager.config.ConfigImpl;
 import org.citydb.plugins.ade_manager.registry.metadata.ADEMetadataManager;
 import org.citydb.plugins.ade_manager.registry.model.DBSQLScript;
+import org.citydb.plugins.ade_manager.registry.model.DBStoredFunction;
 import org.citydb.plugins.ade_manager.registry.pkg.DefaultDBScriptGenerator;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
 
 public abstract class DeleteScriptGenerator extends DefaultDBScriptGenerator {
 	protected final String lineage_delete_funcname = "del_cityobjects_by_lineage";
+	protected final String lineage_delete_procname = "del_cityobjects_by_lineage_chunked";
 	protected final String appearance_cleanup_funcname = "cleanup_appearances";
 	protected final String schema_cleanup_funcname = "cleanup_schema";
 	protected final String table_cleanup_funcname = "cleanup_table";
+	private final ThreadLocal<Deque<DeleteFunction>> constructionStack = ThreadLocal.withInitial(ArrayDeque::new);
 	
 	public DeleteScriptGenerator(Connection connection, ConfigImpl config, ADEMetadataManager adeMetadataManager) {
 		super(connection, config, adeMetadataManager);
@@ -47,12 +56,92 @@ public abstract class DeleteScriptGenerator extends DefaultDBScriptGenerator {
 	
 	@Override
 	protected DBSQLScript generateScript(String schemaName) throws SQLException {
-		registerDeleteFunction("cityobject", schemaName);	
-		registerExtraFunctions(schemaName);
+		// read the FK and PK metadata of the schema once instead of querying the catalog per table
+		querier.loadCatalogSnapshot(schemaName);
+		long start = System.currentTimeMillis();
+		try {
+			// the catalog metadata is read from the snapshot and the ADE metadata is held in memory, 
+			// so the delete functions can be constructed in parallel without further database queries
+			executeTasks(() -> registerDeleteFunction("cityobject", schemaName));
+			registerExtraFunctions(schemaName);
+		} finally {
+			querier.clearCatalogSnapshot();
+		}
+		
+		log.debug(functionCollection.size() + " delete functions generated in " + (System.currentTimeMillis() - start) 
+				+ " ms using " + getParallelism() + " thread(s).");
 		
 		return buildDeleteScript();		
 	}
 	
+	/**
+	 * Returns whether single delete functions can be installed independently of each other. If not, 
+	 * the whole set of delete functions has to be installed at once (e.g. as a package).
+	 */
+	public boolean isIncrementalInstallSupported() {
+		return true;
+	}
+	
+	/**
+	 * Determines the tables whose delete functions are affected by adding or removing the ADE with the 
+	 * given database prefix. These are the ADE tables themselves and all tables whose delete functions refer 
+	 * to an ADE table, either through a foreign key or through the objectclass dispatch to the delete functions 
+	 * of their sub-classes. Since this dispatch covers all transitive sub-classes, the delete functions of all 
+	 * ancestor tables of an ADE class are affected. Functions that only call an affected function are not, 
+	 * since the delete functions are resolved by their name at call time. The delete functions are generated 
+	 * in memory if this has not been done yet.
+	 */
+	public Set<String> getAffectedTables(String dbPrefix) throws SQLException {
+		if (functionCollection.isEmpty())
+			generateDBScript();
+		
+		String tablePrefix = dbPrefix.toLowerCase() + "_";
+		Set<String> adeTables = new HashSet<String>();
+		for (DBStoredFunction function : functionCollection.values()) {
+			String targetTable = ((DeleteFunction) function).getTargetTable();
+			if (targetTable != null && targetTable.toLowerCase().startsWith(tablePrefix))
+				adeTables.add(targetTable.toLowerCase());
+		}
+		
+		Set<String> affectedTables = new TreeSet<String>(adeTables);
+		for (DBStoredFunction function : functionCollection.values()) {
+			DeleteFunction deleteFunction = (DeleteFunction) function;
+			if (deleteFunction.getTargetTable() == null)
+				continue;
+			
+			for (String referencedTable : deleteFunction.getReferencedTables()) {
+				if (adeTables.contains(referencedTable)) {
+					affectedTables.add(deleteFunction.getTargetTable().toLowerCase());
+					break;
+				}
+			}
+		}
+		
+		return affectedTables;
+	}
+	
+	/**
+	 * Creates a database script that only contains the delete functions of the given tables together with the
+	 * generic lineage and cleanup functions. The delete functions are generated in memory if this has not been 
+	 * done yet. Note that the functions of all other tables are discarded from this generator.
+	 */
+	public DBSQLScript generateDBScript(Set<String> affectedTables) throws SQLException {
+		if (functionCollection.isEmpty())
+			generateDBScript();
+		
+		Iterator<DBStoredFunction> iter = functionCollection.values().iterator();
+		while (iter.hasNext()) {
+			String targetTable = ((DeleteFunction) iter.next()).getTargetTable();
+			if (targetTable != null && !affectedTables.contains(targetTable.toLowerCase()))
+				iter.remove();
+		}
+		
+		DBSQLScript script = buildDeleteScript();
+		addHeaderText(script);
+		
+		return script;
+	}
+	
 	protected String getArrayDeleteFunctionName(String tableName) {
 		return convertSingleToArrayDeleteFunctionName(getSingleDeleteFunctionName(tableName));
 	}
@@ -75,34 +164,81 @@ public abstract class DeleteScriptGenerator extends DefaultDBScriptGenerator {
 	protected abstract void constructSchemaCleanupFunction(DeleteFunction cleanupFunction);
 	protected abstract void constructTableCleanupFunction(DeleteFunction cleanupFunction);
 
+	/**
+	 * Creates a lineage delete procedure which commits after each chunk of deleted city objects.
+	 * Returns {@code null} if the database does not support such a procedure.
+	 */
+	protected DeleteFunction constructLineageDeleteProcedure(String procedureName, String schemaName) throws SQLException {
+		return null;
+	}
+
 	protected void registerDeleteFunction(String tableName, String schemaName) throws SQLException {
+		addTableReference(tableName);
+		
 		// create array-delete function
 		String arrayDeleteFuncName = getArrayDeleteFunctionName(tableName);
 		String arrayDeleteDeclareField = getArrayDeleteFunctionDeclareField(arrayDeleteFuncName, schemaName);
-		if (!functionCollection.containsKey(arrayDeleteDeclareField)) {	
-			DeleteFunction deleteFunction = new DeleteFunction(tableName, arrayDeleteFuncName, arrayDeleteDeclareField, schemaName);
-			functionCollection.put(arrayDeleteDeclareField, deleteFunction); 
-			constructArrayDeleteFunction(deleteFunction);
-			log.info("Delete function '" + arrayDeleteFuncName + "' created." );
+		DeleteFunction deleteFunction = null;
+		synchronized (functionCollection) {
+			if (!functionCollection.containsKey(arrayDeleteDeclareField)) {	
+				deleteFunction = new DeleteFunction(tableName, arrayDeleteFuncName, arrayDeleteDeclareField, schemaName);
+				functionCollection.put(arrayDeleteDeclareField, deleteFunction); 
+			}
+		}
+		
+		if (deleteFunction != null) {
+			final DeleteFunction arrayDeleteFunction = deleteFunction;
+			submitTask(() -> buildArrayDeleteFunction(arrayDeleteFunction));
 		}	
 		
 		// create single-delete function
 		String singleDeleteFuncName = getSingleDeleteFunctionName(tableName);
 		String singleDeleteDeclareField = getSingleDeleteFunctionDeclareField(singleDeleteFuncName, schemaName);
-		if (!functionCollection.containsKey(singleDeleteDeclareField)) {	
-			DeleteFunction singleDeleteFunction = new DeleteFunction(tableName, singleDeleteFuncName, singleDeleteDeclareField, schemaName);
-			functionCollection.put(singleDeleteDeclareField, singleDeleteFunction); 
+		DeleteFunction singleDeleteFunction = null;
+		synchronized (functionCollection) {
+			if (!functionCollection.containsKey(singleDeleteDeclareField)) {	
+				singleDeleteFunction = new DeleteFunction(tableName, singleDeleteFuncName, singleDeleteDeclareField, schemaName);
+				functionCollection.put(singleDeleteDeclareField, singleDeleteFunction); 
+			}
+		}
+		
+		if (singleDeleteFunction != null) {
 			constructSingleDeleteFunction(singleDeleteFunction, arrayDeleteFuncName);
 			log.info("Delete function '" + singleDeleteFuncName + "' created." );
 		}	
 	}
 	
-	private void registerExtraFunctions(String schemaName) {
+	protected void addTableReference(String tableName) {
+		// remember the tables the delete function under construction refers to
+		DeleteFunction deleteFunction = constructionStack.get().peek();
+		if (deleteFunction != null)
+			deleteFunction.addReferencedTable(tableName);
+	}
+	
+	private void buildArrayDeleteFunction(DeleteFunction deleteFunction) throws SQLException {
+		Deque<DeleteFunction> stack = constructionStack.get();
+		stack.push(deleteFunction);
+		try {
+			constructArrayDeleteFunction(deleteFunction);
+		} finally {
+			stack.pop();
+		}
+		log.info("Delete function '" + deleteFunction.getName() + "' created." );
+	}
+	
+	private void registerExtraFunctions(String schemaName) throws SQLException {
 		// Lineage delete function
 		DeleteFunction lineageDeleteFunction = new DeleteFunction(lineage_delete_funcname, schemaName);
 		constructLineageDeleteFunction(lineageDeleteFunction);
 		functionCollection.put(lineageDeleteFunction.getDeclareField(), lineageDeleteFunction);
 		log.info("Delete function '" + lineage_delete_funcname + "' created." );
+		
+		// Chunked lineage delete procedure
+		DeleteFunction lineageDeleteProcedure = constructLineageDeleteProcedure(lineage_delete_procname, schemaName);
+		if (lineageDeleteProcedure != null) {
+			functionCollection.put(lineageDeleteProcedure.getDeclareField(), lineageDeleteProcedure);
+			log.info("Delete procedure '" + lineage_delete_procname + "' created." );
+		}
 
 		// Appearance cleanup function
 		DeleteFunction cleanupAppearancesFunction = new DeleteFunction(appearance_cleanup_funcname, schemaName);
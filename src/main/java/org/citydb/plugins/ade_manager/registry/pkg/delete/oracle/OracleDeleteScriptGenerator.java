@@ -46,11 +46,21 @@ import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
+	private final int BULK_COLLECT_LIMIT = 1000;
+	private final boolean bulkProcessing;
 
 	public OracleDeleteScriptGenerator(Connection connection, ConfigImpl config, ADEMetadataManager adeMetadataManager) {
 		super(connection, config, adeMetadataManager);
+		// process the ids by BULK COLLECT and FORALL instead of row-by-row cursor loops
+		bulkProcessing = config.isBulkDeleteFunctions();
 	}
 	
+	@Override
+	public boolean isIncrementalInstallSupported() {
+		// all delete functions are part of the citydb_delete package
+		return false;
+	}
+
 	@Override
 	protected DBSQLScript buildDeleteScript() throws SQLException {
 		DBSQLScript dbScript = new DBSQLScript();
@@ -97,6 +107,9 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 					brDent2 + "dummy_ids ID_ARRAY := ID_ARRAY();" +
 					brDent2 + "cur sys_refcursor;";
 		
+		if (bulkProcessing)
+			declare_block += brDent2 + "objectclass_ids ID_ARRAY := ID_ARRAY();";
+		
 		String pre_block = "";
 		String post_block = "";
 		String delete_block = "";	
@@ -308,16 +321,20 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 					brDent2 + "dummy_str strarray;" +
 					brDent2 + "seq_value number;" +		
 					brDent2 + "schema_name VARCHAR2(30);" +	
+					brDent2 + "TYPE name_tab IS TABLE OF VARCHAR2(128);" +	
+					brDent2 + "fk_names name_tab;" +	
+					brDent2 + "fk_tables name_tab;" +	
 				brDent1 + "BEGIN" + 
 					br +
 					brDent2 + "schema_name := sys_context('userenv', 'current_schema');" +
 					brDent2 + "dummy_str := citydb_idx.drop_spatial_indexes(schema_name);" + 
 					br +
-					brDent2 + "for uc in (" + 
-						brDent3 + "select constraint_name, table_name from user_constraints where constraint_type = 'R'" + 
-					brDent2 + ")" + 
-					brDent2 + "LOOP" + 
-						brDent3 + "execute immediate 'alter table '||uc.table_name||' disable constraint '||uc.constraint_name||'';" + 						
+					brDent2 + "-- disable the enabled foreign keys only, so that the tables can be truncated in any order" + 
+					brDent2 + "select constraint_name, table_name bulk collect into fk_names, fk_tables" + 
+						brDent3 + "from user_constraints where constraint_type = 'R' and status = 'ENABLED';" + 
+					br +
+					brDent2 + "FOR i IN 1..fk_names.COUNT LOOP" + 
+						brDent3 + "execute immediate 'alter table \"'||fk_tables(i)||'\" disable constraint \"'||fk_names(i)||'\"';" + 						
 					brDent2 + "END loop;" + 
 					br +
 					brDent2 + "for ut in (" +
@@ -341,11 +358,8 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 						brDent3 + "execute immediate 'truncate table '||ut.table_name||'';" + 
 					brDent2 + "END loop;" +
 					br +
-					brDent2 + "for uc in (" + 						
-						brDent3 + "select constraint_name, table_name from user_constraints where constraint_type = 'R'" + 
-					brDent2 + ")" +
-					brDent2 + "LOOP" + 			
-						brDent3 + "execute immediate 'alter table '||uc.table_name||' enable constraint '||uc.constraint_name||'';" +
+					brDent2 + "FOR i IN 1..fk_names.COUNT LOOP" + 			
+						brDent3 + "execute immediate 'alter table \"'||fk_tables(i)||'\" enable constraint \"'||fk_names(i)||'\"';" +
 					brDent2 + "END loop;" + 
 					br +
 					brDent2 + "for us in (" +
@@ -465,6 +479,17 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 
 	private String create_local_delete(String tableName, String schemaName) {
 		String code_blcok = "";		
+		if (bulkProcessing) {
+			code_blcok += brDent2 + "FORALL i IN INDICES OF pids"
+							+ brDent3 + "DELETE FROM"
+								+ brDent4 + tableName
+							+ brDent3 + "WHERE"
+								+ brDent4 + "id = pids(i)"
+						+ brDent2 + "RETURNING"
+							+ brDent3 + "id";
+			return code_blcok;
+		}
+		
 		code_blcok += brDent2 + "DELETE FROM"
 						+ brDent3 + tableName + " t"
 					+ brDent2 + "WHERE EXISTS ("
@@ -514,6 +539,7 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 		
 		Map<Integer, String> subObjectclasses = adeMetadataManager.getSubObjectclassesFromSuperTable(tableName);
 		List<String> directChildTables = new ArrayList<String>();
+		List<Integer> childObjectclassIds = new ArrayList<Integer>();
 		List<MnRefEntry> refEntries = querier.query_ref_fk(tableName, schemaName);		
 		for (MnRefEntry ref : refEntries) {
 			String rootTableName = ref.getRootTableName();			
@@ -523,6 +549,7 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 			String m_fk_column_name = ref.getmFkColumnName();
 			
 			RelationType nRootRelation = aggregationInfoCollection.getTableRelationType(n_table_name, rootTableName, n_fk_column_name);
+			addTableReference(n_table_name);
 
 			if (m_table_name == null) {
 				registerDeleteFunction(n_table_name, schemaName);
@@ -589,17 +616,69 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 						|| !tableExists(childTableName, schemaName))
 					continue;
 				
+				// the objectclass dispatch refers to all sub-class tables, including indirect ones
+				addTableReference(childTableName);
+				
 				int caller = 0;
 				if (directChildTables.contains(childTableName))
 					caller = 1;
 				
+				if (bulkProcessing) {
+					childObjectclassIds.add(childObjectclassId);
+					ref_child_block += brDent6 + commentPrefix + "delete " + childTableName						 	
+					 		 		 + brDent6 + "WHEN objectclass_ids(i) = " + childObjectclassId + " THEN"	
+					 		 		 	 + brDent7 + "dummy_ids := " + getArrayDeleteFunctionName(childTableName) + "(object_ids, " + caller + ");";
+					continue;
+				}
+				
 				ref_child_block += brDent5 + commentPrefix + "delete " + childTableName						 	
 						 		 + brDent5 + "WHEN objectclass_id = " + childObjectclassId + " THEN"	
 						 			 + brDent6 + "dummy_ids := " + getArrayDeleteFunctionName(childTableName) + "(ID_ARRAY(object_id), " + caller + ");";
 			}			
 		}
 		
-		if (ref_child_block.length() > 0) {
+		if (ref_child_block.length() > 0 && bulkProcessing) {
+			// the objects of each sub-class are passed to the delete function of the sub-class in chunks
+			String objectclassList = childObjectclassIds.toString().replace("[", "(").replace("]", ")");
+			ref_child_block  = brDent2 + "IF caller <> 2 THEN"	
+								 + brDent3 + "SELECT DISTINCT"
+								 	+ brDent4 + "co.objectclass_id"
+								 + brDent3 + "BULK COLLECT INTO"
+								 	+ brDent4 + "objectclass_ids"
+								 + brDent3 + "FROM" 
+								 	+ brDent4 + "cityobject co, TABLE(pids) a" 
+								 + brDent3 + "WHERE"
+								 	+ brDent4 + "a.COLUMN_VALUE = co.id"
+								 	+ brDent4 + "AND co.objectclass_id IN " + objectclassList + ";"
+								 + br
+								 + brDent3 + "FOR i IN 1..objectclass_ids.COUNT LOOP"
+								 	+ brDent4 + "OPEN cur FOR" 
+								 		+ brDent5 + "SELECT"
+								 			+ brDent6 + "co.id"
+								 		+ brDent5 + "FROM" 
+								 			+ brDent6 + "cityobject co, TABLE(pids) a" 
+								 		+ brDent5 + "WHERE"
+								 			+ brDent6 + "a.COLUMN_VALUE = co.id"
+								 			+ brDent6 + "AND co.objectclass_id = objectclass_ids(i);"
+								 	+ brDent4 + "LOOP"
+								 		+ brDent5 + "FETCH cur BULK COLLECT INTO object_ids LIMIT " + BULK_COLLECT_LIMIT + ";"
+								 		+ brDent5 + "EXIT WHEN object_ids.COUNT = 0;" 
+								 		+ brDent5 + "CASE"
+								 			+ ref_child_block 
+								 			+ brDent6 + "ELSE"
+								 				+ brDent7 + "dummy_ids := NULL;"
+								 		+ brDent5 + "END CASE;"
+								 		+ br		
+								 		+ brDent5 + "IF dummy_ids IS NOT EMPTY THEN"
+								 			+ brDent6 + "deleted_child_ids := deleted_child_ids MULTISET UNION ALL dummy_ids;"
+								 		+ brDent5 + "END IF;"											
+								 	+ brDent4 + "END LOOP;"
+								 	+ brDent4 + "CLOSE cur;"
+								 + brDent3 + "END LOOP;"
+							 + brDent2 + "END IF;"
+						 + brDent1;
+		}
+		else if (ref_child_block.length() > 0) {
 			ref_child_block  = brDent2 + "IF caller <> 2 THEN"	
 								 + brDent3 + "OPEN cur FOR" 
 								 	+ brDent4 + "SELECT"
@@ -666,7 +745,20 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 						+ brDent2 + "WHERE"
 							+ brDent3 + "t." + fk_column_name + " = a.COLUMN_VALUE;"
 						+ br;
-			if (joinColumns.size() > 1) {
+			if (joinColumns.size() > 1 && bulkProcessing) {
+				code_block += brDent2 + "--update " + tableName + "s"
+						    + brDent2 + "IF " + varName + " IS NOT EMPTY THEN"
+						    	+ brDent3 + "FORALL i IN INDICES OF pids"
+						    		+ brDent4 + "UPDATE"
+						    			+ brDent5 + tableName
+						    		+ brDent4 + "SET"
+						    			+ brDent5 + fk_column_name + " = NULL"
+						    		+ brDent4 + "WHERE"
+						    			+ brDent5 + fk_column_name + " = pids(i);" 
+						    + brDent2 + "END IF;"
+						    + br;				
+			}
+			else if (joinColumns.size() > 1) {
 				code_block += brDent2 + "--update " + tableName + "s"
 						    + brDent2 + "IF " + varName + " IS NOT EMPTY THEN"
 								+ brDent3 + "UPDATE"
@@ -687,6 +779,21 @@ public class OracleDeleteScriptGenerator extends DeleteScriptGenerator {
 	private String create_n_m_ref_delete(String n_m_table_name, String n_fk_column_name, String m_table_name, 
 			String m_fk_column_name, String schemaName, RelationType tableRelation, String varName) throws SQLException {
 		String code_block = "";
+		if (bulkProcessing) {
+			code_block += brDent2 + "-- delete references to " + m_table_name + "s"
+						+ brDent2 + "FORALL i IN INDICES OF pids"
+							+ brDent3 + "DELETE FROM"
+								+ brDent4 + n_m_table_name
+							+ brDent3 + "WHERE"
+								+ brDent4 + n_fk_column_name + " = pids(i)"
+						+ brDent2 + "RETURNING"
+							+ brDent3 + m_fk_column_name
+						+ brDent2 + "BULK COLLECT INTO"
+							+ brDent3 + varName + ";" + br
+					+ create_m_ref_delete(m_table_name, schemaName, tableRelation, varName);
+			return code_block;
+		}
+		
 		code_block += brDent2 + "-- delete references to " + m_table_name + "s"
 					+ brDent2 + "DELETE FROM"
 						+ brDent3 + n_m_table_name + " t"
@@ -215,6 +215,53 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 		deleteFunction.setDefinition(delete_func_ddl);
 	}
 
+	@Override
+	protected DeleteFunction constructLineageDeleteProcedure(String procedureName, String schemaName) throws SQLException {
+		// procedures with transaction control are available since PostgreSQL 11
+		if (connection.getMetaData().getDatabaseMajorVersion() < 11)
+			return null;
+
+		DeleteFunction deleteProcedure = new DeleteFunction(procedureName, schemaName);
+		String declareField = "PROCEDURE " + wrapSchemaName(deleteProcedure.getName(), schemaName) + 
+				"(lineage_value TEXT, objectclass_id INTEGER DEFAULT 0, batch_size INTEGER DEFAULT 1000, INOUT deleted_count BIGINT DEFAULT 0)";
+		deleteProcedure.setDeclareField(declareField);
+		
+		String delete_proc_ddl = 
+				"CREATE OR REPLACE " + declareField + " AS" + br + 
+				"$body$" + br +
+				commentPrefix + "Procedure for deleting cityobjects by lineage value in batches with a commit after each batch." + br + 
+				commentPrefix + "It must be called outside of a transaction block, e.g. CALL " + wrapSchemaName(deleteProcedure.getName(), schemaName) + "('lineage');" + br + 
+				"DECLARE" + 
+				brDent1 + "object_ids " + idType + "[];" + 
+				brDent1 + "last_id " + idType + " := 0;" + 
+				brDent1 + "batch_count " + idType + ";" + br +
+				"BEGIN" + 
+				brDent1 + "deleted_count := 0;" +
+				brDent1 + "LOOP" + 
+					brDent2 + "SELECT array_agg(t.id ORDER BY t.id) FROM (" + 
+						brDent3 + "SELECT c.id FROM " + wrapSchemaName("cityobject", schemaName) + " c" + 
+						brDent3 + "WHERE c.lineage = $1 AND ($2 = 0 OR c.objectclass_id = $2) AND c.id > last_id" + 
+						brDent3 + "ORDER BY c.id LIMIT $3" + 
+					brDent2 + ") t" + 
+					brDent2 + "INTO" + 
+						brDent3 + "object_ids;" + 
+					br +
+					brDent2 + "EXIT WHEN object_ids IS NULL;" + 
+					br +
+					brDent2 + "last_id := object_ids[array_length(object_ids, 1)];" + 
+					brDent2 + "SELECT count(*) FROM " + wrapSchemaName(getArrayDeleteFunctionName("cityobject"), schemaName) + "(object_ids) INTO batch_count;" + 
+					brDent2 + "deleted_count := deleted_count + batch_count;" + 
+					brDent2 + "RAISE NOTICE 'Deleted % cityobjects with lineage %', deleted_count, $1;" + 
+					brDent2 + "COMMIT;" + 
+				brDent1 + "END LOOP;" + br + 
+ 				"END;" + br + 
+				"$body$" + br + 
+				"LANGUAGE plpgsql;";		
+		
+		deleteProcedure.setDefinition(delete_proc_ddl);
+		return deleteProcedure;
+	}
+
 	@Override
 	protected void constructAppearanceCleanupFunction(DeleteFunction cleanupFunction) {
 		String schemaName = cleanupFunction.getOwnerSchema();
@@ -225,9 +272,6 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 		String cleanup_func_ddl = 
 				"CREATE OR REPLACE " + declareField + " AS" + br + 
 				"$body$" + br +
-				"DECLARE" + 
-				brDent1 + "deleted_id " + idType + ";" +
-				brDent1 + "app_id " + idType + ";" + br +
 				"BEGIN" + 
 				brDent1 + "PERFORM " + wrapSchemaName(getArrayDeleteFunctionName("surface_data"), schemaName) + "(array_agg(s.id))" +	
 					brDent2 + "FROM " + wrapSchemaName("surface_data", schemaName) + " s " + 
@@ -235,23 +279,19 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 					brDent2 + "WHERE t.surface_data_id IS NULL;" + 
 					br +
 					brDent2 + "IF only_global=1 THEN" + 
-						brDent3 + "FOR app_id IN" + 						
-							brDent4 + "SELECT a.id FROM " + wrapSchemaName("appearance", schemaName) + " a" +
-								brDent5 + "LEFT OUTER JOIN " + wrapSchemaName("appear_to_surface_data", schemaName) + " asd ON a.id=asd.appearance_id" +
-									brDent6 + "WHERE a.cityobject_id IS NULL AND asd.appearance_id IS NULL" + 
-						brDent3 + "LOOP" + 
-							brDent4 +  "DELETE FROM " + wrapSchemaName("appearance", schemaName) + " WHERE id = app_id RETURNING id INTO deleted_id;" +
-							brDent4 +  "RETURN NEXT deleted_id;" + 
-						brDent3 + "END LOOP;" + 
+						brDent3 + "RETURN QUERY" + 						
+							brDent4 + "DELETE FROM " + wrapSchemaName("appearance", schemaName) + " a" +
+								brDent5 + "WHERE a.cityobject_id IS NULL AND NOT EXISTS (" +
+									brDent6 + "SELECT 1 FROM " + wrapSchemaName("appear_to_surface_data", schemaName) + " asd WHERE asd.appearance_id = a.id" +
+								brDent5 + ")" + 
+							brDent4 + "RETURNING a.id;" + 
 					brDent2 + "ELSE" + 
-						brDent3 + "FOR app_id IN" + 						
-							brDent4 + "SELECT a.id FROM " + wrapSchemaName("appearance", schemaName) + " a" +
-								brDent5 + "LEFT OUTER JOIN " + wrapSchemaName("appear_to_surface_data", schemaName) + " asd ON a.id=asd.appearance_id" +
-									brDent6 + "WHERE asd.appearance_id IS NULL" + 
-						brDent3 + "LOOP" + 
-							brDent4 +  "DELETE FROM " + wrapSchemaName("appearance", schemaName) + " WHERE id = app_id RETURNING id INTO deleted_id;" +
-							brDent4 +  "RETURN NEXT deleted_id;" + 
-						brDent3 + "END LOOP;" + 
+						brDent3 + "RETURN QUERY" + 						
+							brDent4 + "DELETE FROM " + wrapSchemaName("appearance", schemaName) + " a" +
+								brDent5 + "WHERE NOT EXISTS (" +
+									brDent6 + "SELECT 1 FROM " + wrapSchemaName("appear_to_surface_data", schemaName) + " asd WHERE asd.appearance_id = a.id" +
+								brDent5 + ")" + 
+							brDent4 + "RETURNING a.id;" + 
 					brDent2 + "END IF;" + 	
 					br +
 				brDent1 + "RETURN;" + br +
@@ -275,10 +315,13 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 				commentPrefix + "Function for cleaning up data schema" + br + 
 				"DECLARE" + 
 				brDent1 + "rec RECORD;" + 
+				brDent1 + "table_list TEXT;" + 
 				br +
 				"BEGIN" + 
-				brDent1 + "FOR rec IN"+	
-					brDent2 + "SELECT table_name FROM information_schema.tables where table_schema = '" + schemaName + "'" + 
+				brDent1 + commentPrefix + "truncate all data tables with a single statement" + 
+				brDent1 + "SELECT string_agg(format('%I.%I', table_schema, table_name), ', ') INTO table_list" + 
+					brDent2 + "FROM information_schema.tables where table_schema = '" + schemaName + "'" + 
+					brDent2 + "AND table_type = 'BASE TABLE'" + 
 					brDent2 + "AND table_name <> 'database_srs'" + 
 					brDent2 + "AND table_name <> 'objectclass'" + 
 					brDent2 + "AND table_name <> 'index_table'" + 
@@ -287,10 +330,11 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 					brDent2 + "AND table_name <> 'schema_to_objectclass'" + 
 					brDent2 + "AND table_name <> 'schema_referencing'" + 
 					brDent2 + "AND table_name <> 'aggregation_info'" + 
-					brDent2 + "AND table_name NOT LIKE 'tmp_%'" + 
-				brDent1 + "LOOP" + 						
-					brDent2 + "EXECUTE format('TRUNCATE TABLE " + schemaName + ".%I CASCADE', rec.table_name);" + 
-				brDent1 + "END LOOP;" + 
+					brDent2 + "AND table_name NOT LIKE 'tmp_%';" + 
+				br +
+				brDent1 + "IF table_list IS NOT NULL THEN" + 
+					brDent2 + "EXECUTE 'TRUNCATE TABLE ' || table_list || ' RESTART IDENTITY CASCADE';" + 
+				brDent1 + "END IF;" + 
 				br +				
 				brDent1 + "FOR rec IN " +
 					brDent2 + "SELECT sequence_name FROM information_schema.sequences where sequence_schema = '" + schemaName + "'" +  
@@ -455,6 +499,7 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 			String m_fk_column_name = ref.getmFkColumnName();
 			
 			RelationType nRootRelation = aggregationInfoCollection.getTableRelationType(n_table_name, rootTableName, n_fk_column_name);
+			addTableReference(n_table_name);
 
 			if (m_table_name == null)
 				registerDeleteFunction(n_table_name, schemaName);
@@ -524,6 +569,9 @@ public class PostgisDeleteGeneratorGenerator extends DeleteScriptGenerator {
 				if (childTableName.equalsIgnoreCase(tableName) || querier.getAssociativeTables(schemaName).contains(childTableName))
 					continue;
 				
+				// the objectclass dispatch refers to all sub-class tables, including indirect ones
+				addTableReference(childTableName);
+				
 				int caller = 0;
 				if (directChildTables.contains(childTableName))
 					caller = 1;
@@ -37,11 +37,14 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public abstract class EnvelopeScriptGenerator extends DefaultDBScriptGenerator {
 	protected SchemaMapping schemaMapping;
+	private Map<String, CitydbSpatialTable> spatialTables;
 	
 	protected final String update_bounds_funcname = "update_bounds";	
 	protected final String box2envelope_funcname = "box2envelope";
@@ -54,8 +57,20 @@ public abstract class EnvelopeScriptGenerator extends DefaultDBScriptGenerator {
 	}
 
 	protected DBSQLScript generateScript(String schemaName) throws SQLException {
-		registerEnvelopeFunction("cityobject", schemaName);	
-		registerExtraFunctions(schemaName);
+		long start = System.currentTimeMillis();
+		
+		// the spatial tables are derived from the schema mapping up front, so the envelope 
+		// functions can be constructed in parallel without further database queries
+		spatialTables = indexCitydbSpatialTables();
+		try {
+			executeTasks(() -> registerEnvelopeFunction("cityobject", schemaName));
+			registerExtraFunctions(schemaName);
+		} finally {
+			spatialTables = null;
+		}
+		
+		log.debug(functionCollection.size() + " envelope functions generated in " + (System.currentTimeMillis() - start) 
+				+ " ms using " + getParallelism() + " thread(s).");
 		
 		return buildEnvelopeScript();	
 	}
@@ -64,8 +79,13 @@ public abstract class EnvelopeScriptGenerator extends DefaultDBScriptGenerator {
 		return "env_" + tableName;
 	}
 	
+	protected String getBatchFunctionName(String tableName) {
+		return getFunctionName(tableName) + "_batch";
+	}
+	
 	protected abstract DBSQLScript buildEnvelopeScript() throws SQLException;
 	protected abstract void constructEnvelopeFunction(EnvelopeFunction envelopeFunction) throws SQLException;
+	protected abstract void constructBatchEnvelopeFunction(EnvelopeFunction batchEnvelopeFunction) throws SQLException;
 	protected abstract void constructUpdateBoundsFunction(EnvelopeFunction updateBoundsFunction);
 	protected abstract void constructBox2EnvelopeFunction(EnvelopeFunction box2envelopeFunction);
 	protected abstract void constructImplicitGeomEnvelopeFunction(EnvelopeFunction implicitGeomEnvelopeFunction);
@@ -73,27 +93,90 @@ public abstract class EnvelopeScriptGenerator extends DefaultDBScriptGenerator {
 	
 	protected void registerEnvelopeFunction(String tableName, String schemaName) throws SQLException {
 		String funcName = getFunctionName(tableName);
-		if (!functionCollection.containsKey(funcName) && adeMetadataManager.checkTableExists(tableName)) {	
-			EnvelopeFunction envelopeFunction = new EnvelopeFunction(tableName, funcName, schemaName);
-			functionCollection.put(funcName, envelopeFunction); 
-			constructEnvelopeFunction(envelopeFunction);
-			log.info("Envelope function '" + funcName + "' created.");
+		String batchFuncName = getBatchFunctionName(tableName);
+		EnvelopeFunction envelopeFunction = null;
+		EnvelopeFunction batchEnvelopeFunction = null;
+		synchronized (functionCollection) {
+			if (!functionCollection.containsKey(funcName) && adeMetadataManager.checkTableExists(tableName)) {	
+				envelopeFunction = new EnvelopeFunction(tableName, funcName, schemaName);
+				functionCollection.put(funcName, envelopeFunction); 
+				
+				// set-based variant computing the envelopes of an array of objects 
+				batchEnvelopeFunction = new EnvelopeFunction(tableName, batchFuncName, schemaName);
+				functionCollection.put(batchFuncName, batchEnvelopeFunction); 
+			}
+		}
+		
+		if (envelopeFunction != null) {
+			final EnvelopeFunction function = envelopeFunction;
+			final EnvelopeFunction batchFunction = batchEnvelopeFunction;
+			submitTask(() -> {
+				constructEnvelopeFunction(function);
+				log.info("Envelope function '" + funcName + "' created.");
+				
+				constructBatchEnvelopeFunction(batchFunction);
+				log.info("Envelope function '" + batchFuncName + "' created.");
+			});
 		}			
 	}
 	
 	protected CitydbSpatialTable getCitydbSpatialTable(String tableName) throws SQLException {	
-		CitydbSpatialTable citydbSpatialTable = new CitydbSpatialTable(tableName);
+		Map<String, CitydbSpatialTable> spatialTables = this.spatialTables;
+		CitydbSpatialTable citydbSpatialTable = spatialTables != null ? spatialTables.get(tableName.toLowerCase()) : null;
+		return citydbSpatialTable != null ? citydbSpatialTable : new CitydbSpatialTable(tableName);
+	}
+	
+	private Map<String, CitydbSpatialTable> indexCitydbSpatialTables() throws SQLException {
+		// collect the injections, types and sub-tables per table in a single pass over the schema mapping
+		Map<String, List<PropertyInjection>> injectionsByHookTable = new HashMap<String, List<PropertyInjection>>();
+		Map<String, List<String>> hookTablesByBaseTable = new HashMap<String, List<String>>();
 		for (PropertyInjection injection: schemaMapping.getPropertyInjections()) {
-			String hookTable = injection.getTable();	
-			if (hookTable.equalsIgnoreCase(tableName)) {
-				citydbSpatialTable.setHookTable(true);
+			addToIndex(injectionsByHookTable, injection.getTable(), injection);
+			addToIndex(hookTablesByBaseTable, injection.getDefaultBase().getTable(), injection.getTable());
+		}
+		
+		Map<String, List<AbstractType<?>>> typesByTable = new HashMap<String, List<AbstractType<?>>>();
+		Map<String, Set<String>> subTablesBySuperTable = new HashMap<String, Set<String>>();
+		for (AbstractType<?> obj: schemaMapping.getAbstractTypes()) {
+			if (obj.getTable() != null)
+				addToIndex(typesByTable, obj.getTable(), obj);
+			
+			AbstractExtension<?> extension = obj.getExtension();
+			if (extension != null) {
+				AbstractType<?> base = extension.getBase();
+				if (base != null) {
+					String superTable = base.getTable().toLowerCase();
+					Set<String> subTables = subTablesBySuperTable.get(superTable);
+					if (subTables == null) {
+						subTables = new LinkedHashSet<String>();
+						subTablesBySuperTable.put(superTable, subTables);
+					}
+					subTables.add(obj.getTable());
+				}
+			}
+		}
+		
+		Map<String, CitydbSpatialTable> spatialTables = new HashMap<String, CitydbSpatialTable>();
+		for (List<PropertyInjection> injections : injectionsByHookTable.values()) {
+			CitydbSpatialTable citydbSpatialTable = new CitydbSpatialTable(injections.get(0).getTable());
+			citydbSpatialTable.setHookTable(true);
+			for (PropertyInjection injection : injections)
 				fillCitydbSpatialTable(injection.getProperties(), citydbSpatialTable);
-			}				
+			
+			spatialTables.put(citydbSpatialTable.getTable().toLowerCase(), citydbSpatialTable);
 		}
 		
-		if (!citydbSpatialTable.isHookTable) {
-			for (AbstractType<?> obj: schemaMapping.getAbstractTypes()) {
-				if (tableName.equalsIgnoreCase(obj.getTable())) {				
+		Set<String> tables = new LinkedHashSet<String>(typesByTable.keySet());
+		tables.addAll(hookTablesByBaseTable.keySet());
+		for (String table : tables) {
+			if (spatialTables.containsKey(table))
+				continue;
+			
+			List<AbstractType<?>> types = typesByTable.get(table);
+			String tableName = types != null ? types.get(0).getTable() : table;
+			CitydbSpatialTable citydbSpatialTable = new CitydbSpatialTable(tableName);
+			if (types != null) {
+				for (AbstractType<?> obj : types) {
 					// get super table
 					if (obj.getExtension() != null) {
 						String superTable = obj.getExtension().getBase().getTable();
@@ -101,23 +184,37 @@ public abstract class EnvelopeScriptGenerator extends DefaultDBScriptGenerator {
 							citydbSpatialTable.setSuperTable(superTable);					
 					}	
 					
-					// get sub-tables
-					citydbSpatialTable.setSubObjectclasses(adeMetadataManager.getSubObjectclassesFromSuperTable(tableName));
-					citydbSpatialTable.setDirectSubTables(getSubTables(tableName));		
-					
 					// get spatial properties
-					List<?> properties = obj.getProperties();
-					fillCitydbSpatialTable(properties, citydbSpatialTable);				
-				}				
-			}			
-			for (PropertyInjection injection: schemaMapping.getPropertyInjections()) {
-				String targetBaseTable = injection.getDefaultBase().getTable();	
-				if (targetBaseTable.equalsIgnoreCase(tableName))
-					citydbSpatialTable.addHookTable(injection.getTable());
+					fillCitydbSpatialTable(obj.getProperties(), citydbSpatialTable);
+				}
+				
+				// get sub-tables
+				Set<String> subTables = subTablesBySuperTable.get(table);
+				citydbSpatialTable.setSubObjectclasses(adeMetadataManager.getSubObjectclassesFromSuperTable(tableName));
+				citydbSpatialTable.setDirectSubTables(subTables != null ? new ArrayList<String>(subTables) : new ArrayList<String>());
 			}
+			
+			// get hook tables
+			List<String> hookTables = hookTablesByBaseTable.get(table);
+			if (hookTables != null) {
+				for (String hookTable : hookTables)
+					citydbSpatialTable.addHookTable(hookTable);
+			}
+			
+			spatialTables.put(table, citydbSpatialTable);
 		}
-
-		return citydbSpatialTable;
+		
+		return spatialTables;
+	}
+	
+	private <T> void addToIndex(Map<String, List<T>> index, String key, T value) {
+		key = key.toLowerCase();
+		List<T> values = index.get(key);
+		if (values == null) {
+			values = new ArrayList<T>();
+			index.put(key, values);
+		}
+		values.add(value);
 	}
 	
 	protected void registerExtraFunctions(String schemaName) {
@@ -189,24 +286,6 @@ public abstract class EnvelopeScriptGenerator extends DefaultDBScriptGenerator {
 		}
 	}
 	
-	private List<String> getSubTables(String superTable) {
-		List<String> subTables = new ArrayList<String>();
-		for (AbstractType<?> obj: schemaMapping.getAbstractTypes()) {
-			AbstractExtension<?> extension = obj.getExtension();
-			if (extension != null) {
-				AbstractType<?> base = extension.getBase();
-				if (base != null) {
-					if (base.getTable().equalsIgnoreCase(superTable)) {
-						String objTable = obj.getTable();
-						if (!subTables.contains(objTable))
-							subTables.add(objTable);					
-					}
-				}
-			}
-		}		
-		return subTables;
-	}
-	
 	protected class CitydbSpatialTable {
 		private boolean isHookTable = false;
 		private String table;	
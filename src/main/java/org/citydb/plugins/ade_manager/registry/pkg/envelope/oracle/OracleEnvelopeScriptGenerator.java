@@ -136,7 +136,7 @@ public class OracleEnvelopeScriptGenerator extends EnvelopeScriptGenerator {
 			for (Entry<Integer, String> entry: subObjectclasses.entrySet()) {
 				int subObjectclassId = entry.getKey();
 				String subTableName = entry.getValue();
-				if (tableName.equalsIgnoreCase(subTableName) || !tableExists(subTableName, schemaName))
+				if (tableName.equalsIgnoreCase(subTableName) || !adeMetadataManager.checkTableExists(subTableName))
 					continue;
 				
 				// register envelop function
@@ -215,6 +215,256 @@ public class OracleEnvelopeScriptGenerator extends EnvelopeScriptGenerator {
 		envelopeFunction.setDefinition(envelope_func_ddl);				
 	}
 	
+	@Override
+	protected void constructBatchEnvelopeFunction(EnvelopeFunction batchEnvelopeFunction) throws SQLException {
+		String tableName = batchEnvelopeFunction.getTargetTable();
+		String funcName = batchEnvelopeFunction.getName();
+		
+		// the returned bboxes are aligned with the given object ids
+		String declareField = "FUNCTION " + funcName + "(co_ids ID_ARRAY, set_envelope int := 0, caller int := 0) RETURN MDSYS.SDO_GEOMETRY_ARRAY";
+		batchEnvelopeFunction.setDeclareField(declareField);
+		
+		String envelope_func_ddl =
+				dent + declareField + 
+				brDent1 + "IS";
+		
+		String declare_block = 
+				brDent2 + "TYPE position_map IS TABLE OF PLS_INTEGER INDEX BY VARCHAR2(40);" +
+				brDent2 + "positions position_map;" +
+				brDent2 + "bboxes MDSYS.SDO_GEOMETRY_ARRAY := MDSYS.SDO_GEOMETRY_ARRAY();" +
+				brDent2 + "dummy_boxes MDSYS.SDO_GEOMETRY_ARRAY;" +
+				brDent2 + "obj_ids ID_ARRAY;" +
+				brDent2 + "nested_ids ID_ARRAY;" + 
+				br +
+				brDent2 + "PROCEDURE add_bboxes(ids ID_ARRAY, boxes MDSYS.SDO_GEOMETRY_ARRAY)" +
+				brDent2 + "IS" +
+					brDent3 + "pos PLS_INTEGER;" +
+				brDent2 + "BEGIN" +
+					brDent3 + "FOR i IN 1..ids.COUNT LOOP" +
+						brDent4 + "pos := positions(TO_CHAR(ids(i)));" +
+						brDent4 + "bboxes(pos) := update_bounds(bboxes(pos), boxes(i));" +
+					brDent3 + "END LOOP;" +
+				brDent2 + "END;" + br;
+		
+		String init_block = 
+				brDent2 + "IF co_ids IS NULL OR co_ids IS EMPTY THEN" +
+					brDent3 + "RETURN bboxes;" +
+				brDent2 + "END IF;" +
+				br +
+				brDent2 + "bboxes.EXTEND(co_ids.COUNT);" +
+				brDent2 + "FOR i IN 1..co_ids.COUNT LOOP" +
+					brDent3 + "positions(TO_CHAR(co_ids(i))) := i;" +
+				brDent2 + "END LOOP;" + br;
+		
+		CitydbSpatialTable citydbSpatialTable = getCitydbSpatialTable(tableName);
+		
+		// spatial properties from super table
+		String super_geom_block = "";
+		String superTableName = citydbSpatialTable.getSuperTable();
+		if (superTableName != null) {
+			super_geom_block += brDent2 + commentPrefix + "bbox from parent table";
+			super_geom_block += brDent2 + "IF caller <> 1 THEN" + 
+									brDent3 + "add_bboxes(co_ids, " + getBatchFunctionName(superTableName) + "(co_ids, set_envelope, 2));" + 
+								brDent2 + "END IF;" + br;
+		}
+		
+		// local geometry properties
+		String local_geom_block = "";
+		List<AbstractProperty> spatialProperties = citydbSpatialTable.getSpatialProperties();
+		if (spatialProperties.size() > 0) {
+			local_geom_block += brDent2 + commentPrefix + "bbox from inline and referencing spatial columns";
+			local_geom_block += brDent2 + "WITH collect_geom AS (" +
+									union_spatialProperties_batch_envelope(tableName, spatialProperties) +
+								brDent2 + ")" +
+								brDent2 + "SELECT" + 
+									brDent3 + "obj_id, box2envelope(SDO_AGGR_MBR(geom))" + 
+								brDent2 + "BULK COLLECT INTO" + 
+									brDent3 + "obj_ids, dummy_boxes" + 
+								brDent2 + "FROM" + 
+									brDent3 + "collect_geom" + 
+								brDent2 + "GROUP BY" + 
+									brDent3 + "obj_id;" + 
+								br +
+								brDent2 + "add_bboxes(obj_ids, dummy_boxes);" + br;
+		}
+		
+		// aggregating spatial objects
+		String aggr_geom_block = "";
+		List<AbstractTypeProperty<?>> spatialObjectProperties = citydbSpatialTable.getSpatialRefTypeProperties();
+		if (spatialObjectProperties.size() > 0) {
+			aggr_geom_block += brDent2 + commentPrefix + "bbox from aggregating objects";
+			aggr_geom_block += 
+					union_spatialRefTypeProperties_batch_envelope(tableName, spatialObjectProperties);					
+		}
+		
+		// get bbox from sub-tables	
+		String subtables_geom_block = "";
+		List<String> directSubTables = citydbSpatialTable.getDirectSubTables();
+		for (Entry<Integer, String> entry: citydbSpatialTable.getSubObjectclasses().entrySet()) {
+			int subObjectclassId = entry.getKey();
+			String subTableName = entry.getValue();
+			if (tableName.equalsIgnoreCase(subTableName) || !adeMetadataManager.checkTableExists(subTableName))
+				continue;
+			
+			int caller = 0;
+			if (directSubTables.contains(subTableName))
+				caller = 1;
+			
+			subtables_geom_block +=
+					  brDent3 + commentPrefix + subTableName +	
+					  brDent3 + "SELECT t.id BULK COLLECT INTO obj_ids FROM " + tableName + " t, TABLE(co_ids) a" + 
+					  		" WHERE t.id = a.COLUMN_VALUE AND t.objectclass_id = " + subObjectclassId + ";" + 
+					  brDent3 + "IF obj_ids IS NOT EMPTY THEN" + 
+					  	brDent4 + "add_bboxes(obj_ids, " + getBatchFunctionName(subTableName) + "(obj_ids, set_envelope, " + caller + "));" + 
+					  brDent3 + "END IF;" + br;
+		}
+		
+		if (subtables_geom_block.length() > 0) {
+			subtables_geom_block = brDent2 + "IF caller <> 2 THEN" + 
+										subtables_geom_block +
+								   brDent2 + "END IF;" + br;
+		}
+		
+		// get bbox from hook table
+		String hook_geom_block = "";
+		for (String hookTableName : citydbSpatialTable.getHookTables()) {
+			hook_geom_block += brDent2 + commentPrefix + "bbox from hook table '" + hookTableName + "'";
+			hook_geom_block += brDent2 + "add_bboxes(co_ids, " + getBatchFunctionName(hookTableName) + "(co_ids, set_envelope));" + br;
+		}
+		
+		// duplicate object ids share the bbox computed for their last position
+		String align_block = 
+				brDent2 + "FOR i IN 1..co_ids.COUNT LOOP" +
+					brDent3 + "bboxes(i) := bboxes(positions(TO_CHAR(co_ids(i))));" +
+				brDent2 + "END LOOP;" + br;
+		
+		// update envelope column of CITYOBJECT table
+		String update_block = "";
+		boolean updateEnvelope = !citydbSpatialTable.isHookTable()
+				&& (citydbSpatialTable.getSuperTable() != null
+				&& citydbSpatialTable.getSuperTable().equalsIgnoreCase("cityobject")
+				|| tableName.equalsIgnoreCase("cityobject"));
+		if (updateEnvelope) {
+			update_block += brDent2 + "IF set_envelope <> 0 AND caller = 0 THEN" +
+								brDent3 + "FORALL i IN 1..co_ids.COUNT" +
+									brDent4 + "UPDATE cityobject SET envelope = bboxes(i) WHERE id = co_ids(i);" +
+							brDent2 + "END IF;" + br;	
+		}
+		
+		envelope_func_ddl += 
+					declare_block + 
+					brDent1 + "BEGIN" + 
+					init_block + 
+					super_geom_block + 
+					local_geom_block +
+					aggr_geom_block +
+					subtables_geom_block +
+					hook_geom_block +
+					align_block + 
+					update_block + 
+					brDent2 + "RETURN bboxes;" + br +
+					brDent1 + "END;";	
+
+		batchEnvelopeFunction.setDefinition(envelope_func_ddl);
+	}
+	
+	private String union_spatialProperties_batch_envelope(String tableName, List<AbstractProperty> spatialProperties) throws SQLException {
+		List<String> geom_blocks = new ArrayList<>();
+		for (AbstractProperty spatialProperty : spatialProperties) {
+			if (spatialProperty instanceof GeometryProperty) {
+				String refColumn = ((GeometryProperty) spatialProperty).getRefColumn();
+				String inlineColumn = ((GeometryProperty) spatialProperty).getInlineColumn();
+				if (refColumn != null) {
+					geom_blocks.add(brDent3 + commentPrefix + spatialProperty.getPath() +
+							brDent3 + "SELECT t.id AS obj_id, sg.geometry AS geom" + 
+									 " FROM surface_geometry sg, " + tableName + " t, TABLE(co_ids) a" + 
+									 " WHERE sg.root_id = t." + refColumn + 
+									 " AND t.id = a.COLUMN_VALUE" + 
+									 " AND sg.geometry IS NOT NULL");
+				}
+				if (inlineColumn != null) {
+					geom_blocks.add(brDent3 + commentPrefix + spatialProperty.getPath() +
+							brDent3 + "SELECT t.id AS obj_id, t." + inlineColumn + " AS geom" + 
+									 " FROM " + tableName + " t, TABLE(co_ids) a" + 
+									 " WHERE t.id = a.COLUMN_VALUE" + 
+									 " AND t." + inlineColumn + " IS NOT NULL");
+				}
+			}
+			else if (spatialProperty instanceof ImplicitGeometryProperty) {
+				int lod = ((ImplicitGeometryProperty) spatialProperty).getLod();
+				String rep_id_column = "lod" + lod + "_implicit_rep_id";
+				geom_blocks.add(brDent3 + commentPrefix + spatialProperty.getPath() +
+						brDent3 + "SELECT t.id AS obj_id, " + implicitGeomEnvelope_funcname + "(" + 
+								   "t." + rep_id_column + ", " + 
+								   "t.lod" + lod + "_implicit_ref_point, " + 
+								   "t.lod" + lod + "_implicit_transformation) AS geom" + 
+								   " FROM " + tableName + " t, TABLE(co_ids) a" + 
+								   " WHERE t.id = a.COLUMN_VALUE" +
+								   " AND t." + rep_id_column + " IS NOT NULL");
+			}
+		}
+		
+		return String.join(brDent4 + "UNION ALL", geom_blocks);
+	}
+	
+	private String union_spatialRefTypeProperties_batch_envelope(String tableName, 
+			List<AbstractTypeProperty<?>> spatialRefTypeProperties) throws SQLException {
+		Map<String, Set<AbstractType<?>>> blocks = new LinkedHashMap<>();
+		for (AbstractTypeProperty<?> spatialRefTypeProperty : spatialRefTypeProperties) {
+			AbstractType<?> spatialRefType = spatialRefTypeProperty.getType();
+			AbstractJoin propertyJoin = spatialRefTypeProperty.getJoin();
+			String refTable = spatialRefType.getTable();
+			
+			// collect the pairs of parent and nested object ids
+			String block = null;
+			if (propertyJoin instanceof Join) {
+				Join join = ((Join) propertyJoin);
+				TableRole toRole = join.getToRole();
+				if (toRole == TableRole.PARENT) {
+					String fk_column = join.getFromColumn();
+					block =
+							brDent2 + "SELECT p.id, c.id BULK COLLECT INTO obj_ids, nested_ids " +
+									  "FROM " + tableName + " p, " + refTable + " c, TABLE(co_ids) a " +
+									  "WHERE p.id = a.COLUMN_VALUE " +
+									  "AND p." + fk_column + " = " + "c.id;";
+				}
+				else if (toRole == TableRole.CHILD) {
+					String fk_column = join.getToColumn();
+					block =
+							brDent2 + "SELECT c." + fk_column + ", c.id BULK COLLECT INTO obj_ids, nested_ids " +
+									  "FROM " + refTable + " c, TABLE(co_ids) a " +
+									  "WHERE c." + fk_column + " = a.COLUMN_VALUE;";
+				}
+				else {/**/}
+			}
+			else if (propertyJoin instanceof JoinTable) {
+				String joinTable = ((JoinTable) propertyJoin).getTable();
+				String p_fk_column = ((JoinTable) propertyJoin).getJoin().getFromColumn();
+				String c_fk_column = ((JoinTable) propertyJoin).getInverseJoin().getFromColumn();
+				block =
+						brDent2 + "SELECT p2c." + p_fk_column + ", c.id BULK COLLECT INTO obj_ids, nested_ids " +
+								  "FROM " + refTable + " c, " + joinTable + " p2c, TABLE(co_ids) a " +
+								  "WHERE c.id = p2c." + c_fk_column + 
+								  " AND p2c." + p_fk_column + " = a.COLUMN_VALUE;";
+			} 
+			else {/**/}
+			
+			if (block != null) {
+				block += brDent2 + "IF nested_ids IS NOT EMPTY THEN" +
+							brDent3 + "add_bboxes(obj_ids, " + getBatchFunctionName(refTable) + "(nested_ids, set_envelope));" +
+						 brDent2 + "END IF;";
+
+				blocks.computeIfAbsent(block, v -> new LinkedHashSet<>()).add(spatialRefType);
+			}
+		}
+
+		return blocks.entrySet().stream()
+				.map(e -> brDent2 + commentPrefix + e.getValue().stream()
+						.map(AbstractPathElement::getPath)
+						.collect(Collectors.joining(", ")) + e.getKey())
+				.collect(Collectors.joining(br)) + br;
+	}
+	
 	private String union_spatialProperties_envelope(String tableName, String schemaName,
 			List<AbstractProperty> spatialProperties) throws SQLException {
 		String geom_block = "";
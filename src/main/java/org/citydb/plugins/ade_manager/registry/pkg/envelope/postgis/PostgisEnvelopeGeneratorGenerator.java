@@ -197,6 +197,211 @@ public class PostgisEnvelopeGeneratorGenerator extends EnvelopeScriptGenerator {
 		envelopeFunction.setDefinition(func_ddl);
 	}
 	
+	@Override
+	protected void constructBatchEnvelopeFunction(EnvelopeFunction batchEnvelopeFunction) throws SQLException {
+		String tableName = batchEnvelopeFunction.getTargetTable();
+		String schemaName = batchEnvelopeFunction.getOwnerSchema();
+		String declareField = "FUNCTION " + wrapSchemaName(batchEnvelopeFunction.getName(), schemaName) + 
+				"(co_ids " + idType + "[], set_envelope INTEGER DEFAULT 0, caller INTEGER DEFAULT 0) RETURNS TABLE(object_id " + idType + ", bbox GEOMETRY)";
+		batchEnvelopeFunction.setDeclareField(declareField);
+		
+		CitydbSpatialTable citydbSpatialTable = getCitydbSpatialTable(tableName);
+		List<String> geom_blocks = new ArrayList<>();
+		
+		// spatial properties from super table
+		String superTableName = citydbSpatialTable.getSuperTable();
+		if (superTableName != null) {
+			geom_blocks.add(brDent3 + commentPrefix + "bbox from parent table" + 
+					brDent3 + "SELECT e.object_id AS obj_id, e.bbox AS geom" + 
+							" FROM " + wrapSchemaName(getBatchFunctionName(superTableName), schemaName) + "(co_ids, set_envelope, 2) e" + 
+							" WHERE caller <> 1");
+		}
+		
+		// local geometry properties
+		List<AbstractProperty> spatialProperties = citydbSpatialTable.getSpatialProperties();
+		if (spatialProperties.size() > 0)
+			geom_blocks.add(union_spatialProperties_batch_envelope(tableName, schemaName, spatialProperties));
+		
+		// aggregating spatial objects
+		List<AbstractTypeProperty<?>> spatialObjectProperties = citydbSpatialTable.getSpatialRefTypeProperties();
+		if (spatialObjectProperties.size() > 0)
+			geom_blocks.add(union_spatialRefTypeProperties_batch_envelope(tableName, schemaName, spatialObjectProperties));
+		
+		// get bbox from sub-tables	
+		List<String> directSubTables = citydbSpatialTable.getDirectSubTables();
+		for (Entry<Integer, String> entry: citydbSpatialTable.getSubObjectclasses().entrySet()) {
+			int subObjectclassId = entry.getKey();
+			String subTableName = entry.getValue();
+			if (tableName.equalsIgnoreCase(subTableName))
+				continue;
+			
+			int caller = 0;
+			if (directSubTables.contains(subTableName))
+				caller = 1;
+			
+			geom_blocks.add(brDent3 + commentPrefix + subTableName + 
+					brDent3 + "SELECT e.object_id, e.bbox" + 
+							" FROM " + wrapSchemaName(getBatchFunctionName(subTableName), schemaName) + "(ARRAY(" + 
+								"SELECT t.id FROM " + wrapSchemaName(tableName, schemaName) + " t" + 
+								" WHERE t.id = ANY(co_ids) AND t.objectclass_id = " + subObjectclassId + "), set_envelope, " + caller + ") e" + 
+							" WHERE caller <> 2");
+		}
+		
+		// get bbox from hook table
+		for (String hookTableName : citydbSpatialTable.getHookTables()) {
+			geom_blocks.add(brDent3 + commentPrefix + "bbox from hook table '" + hookTableName + "'" + 
+					brDent3 + "SELECT e.object_id, e.bbox" + 
+							" FROM " + wrapSchemaName(getBatchFunctionName(hookTableName), schemaName) + "(co_ids, set_envelope) e");
+		}
+		
+		if (geom_blocks.isEmpty())
+			geom_blocks.add(brDent3 + "SELECT NULL::" + idType + " AS obj_id, NULL::GEOMETRY AS geom WHERE false");
+		
+		// update envelope column of CITYOBJECT table
+		String update_block = "";
+		boolean updateEnvelope = !citydbSpatialTable.isHookTable()
+				&& (citydbSpatialTable.getSuperTable() != null
+				&& citydbSpatialTable.getSuperTable().equalsIgnoreCase("cityobject")
+				|| tableName.equalsIgnoreCase("cityobject"));
+		if (updateEnvelope) {
+			update_block += brDent1 + "IF set_envelope <> 0 AND caller = 0 THEN" +
+								brDent2 + "UPDATE " + wrapSchemaName("cityobject", schemaName) + " c SET envelope = u.bbox" + 
+									brDent3 + "FROM unnest(obj_ids, bboxes) u(id, bbox)" + 
+									brDent3 + "WHERE c.id = u.id;" +
+							brDent1 + "END IF;" + br;	
+		}
+		
+		String func_ddl =
+				"CREATE OR REPLACE " + declareField + " AS" + br + 
+				"$body$" + br +
+				"DECLARE" + 
+				brDent1 + "obj_ids " + idType + "[];" + 
+				brDent1 + "bboxes GEOMETRY[];" + br +
+				"BEGIN" + 
+				brDent1 + "IF cardinality(co_ids) = 0 THEN" + 
+					brDent2 + "RETURN;" + 
+				brDent1 + "END IF;" + br +
+				brDent1 + commentPrefix + "aggregate the bboxes of all spatial properties and hierarchy levels per object" + 
+				brDent1 + "WITH collect_geom(obj_id, geom) AS (" + 
+					String.join(brDent3 + "UNION ALL", geom_blocks) + 
+				brDent1 + ")" + 
+				brDent1 + "SELECT array_agg(u.id), array_agg(u.bbox) INTO obj_ids, bboxes FROM (" + 
+					brDent2 + "SELECT a.id, " + wrapSchemaName(box2envelope_funcname, schemaName) + "(ST_3DExtent(g.geom)) AS bbox" + 
+						brDent3 + "FROM unnest(co_ids) a(id)" + 
+						brDent3 + "LEFT JOIN collect_geom g ON g.obj_id = a.id" + 
+						brDent3 + "GROUP BY a.id" + 
+				brDent1 + ") u;" + br +
+				update_block + 
+				brDent1 + "RETURN QUERY SELECT u.id, u.bbox FROM unnest(obj_ids, bboxes) u(id, bbox);" + br +
+				"END;" + br + 
+				"$body$" + br + 
+				"LANGUAGE plpgsql STRICT;";	
+		
+		batchEnvelopeFunction.setDefinition(func_ddl);
+	}
+	
+	private String union_spatialProperties_batch_envelope(String tableName, String schemaName,
+			List<AbstractProperty> spatialProperties) throws SQLException {
+		List<String> geom_blocks = new ArrayList<>();
+		for (AbstractProperty spatialProperty : spatialProperties) {
+			if (spatialProperty instanceof GeometryProperty) {
+				String refColumn = ((GeometryProperty) spatialProperty).getRefColumn();
+				String inlineColumn = ((GeometryProperty) spatialProperty).getInlineColumn();
+				if (refColumn != null) {
+					geom_blocks.add(brDent3 + commentPrefix + spatialProperty.getPath() +
+							brDent3 + "SELECT t.id AS obj_id, sg.geometry AS geom" + 
+									 " FROM " + wrapSchemaName("surface_geometry", schemaName) + " sg, " + wrapSchemaName(tableName, schemaName) + " t" + 
+									 " WHERE sg.root_id = t." + refColumn + 
+									 " AND t.id = ANY(co_ids)" + 
+									 " AND sg.geometry IS NOT NULL");
+				}
+				if (inlineColumn != null) {
+					geom_blocks.add(brDent3 + commentPrefix + spatialProperty.getPath() +
+							brDent3 + "SELECT t.id, t." + inlineColumn + 
+									 " FROM " + wrapSchemaName(tableName, schemaName) + " t" + 
+									 " WHERE t.id = ANY(co_ids)" + 
+									 " AND t." + inlineColumn + " IS NOT NULL");
+				}
+			}
+			else if (spatialProperty instanceof ImplicitGeometryProperty) {
+				int lod = ((ImplicitGeometryProperty) spatialProperty).getLod();
+				String rep_id_column = "lod" + lod + "_implicit_rep_id";
+				geom_blocks.add(brDent3 + commentPrefix + spatialProperty.getPath() +
+						brDent3 + "SELECT t.id, " + wrapSchemaName(implicitGeomEnvelope_funcname, schemaName) + "(" + 
+								   "t." + rep_id_column + ", " + 
+								   "t.lod" + lod + "_implicit_ref_point, " + 
+								   "t.lod" + lod + "_implicit_transformation)" + 
+								   " FROM " + wrapSchemaName(tableName, schemaName) + " t" + 
+								   " WHERE t.id = ANY(co_ids)" +
+								   " AND t." + rep_id_column + " IS NOT NULL");
+			}
+		}
+		
+		return String.join(brDent3 + "UNION ALL", geom_blocks);
+	}
+	
+	private String union_spatialRefTypeProperties_batch_envelope(String tableName, String schemaName,
+			List<AbstractTypeProperty<?>> spatialRefTypeProperties) throws SQLException {
+		Map<String, Set<AbstractType<?>>> blocks = new LinkedHashMap<>();
+		for (AbstractTypeProperty<?> spatialRefTypeProperty : spatialRefTypeProperties) {
+			AbstractType<?> spatialRefType = spatialRefTypeProperty.getType();
+			AbstractJoin propertyJoin = spatialRefTypeProperty.getJoin();
+			String refFunction = wrapSchemaName(getBatchFunctionName(spatialRefType.getTable()), schemaName);
+			String refTable = wrapSchemaName(spatialRefType.getTable(), schemaName);
+			
+			// the envelopes of all nested objects are computed with a single call
+			String block = null;
+			if (propertyJoin instanceof Join) {
+				Join join = ((Join) propertyJoin);
+				TableRole toRole = join.getToRole();
+				if (toRole == TableRole.PARENT) {
+					String fk_column = join.getFromColumn();
+					block =
+							"SELECT p.id, e.bbox " +
+									  "FROM " + wrapSchemaName(tableName, schemaName) + " p, " + 
+									  refFunction + "(ARRAY(SELECT DISTINCT p2." + fk_column + " FROM " + wrapSchemaName(tableName, schemaName) + " p2 " + 
+									  "WHERE p2.id = ANY(co_ids) AND p2." + fk_column + " IS NOT NULL), set_envelope) e " +
+									  "WHERE p.id = ANY(co_ids) " +
+									  "AND p." + fk_column + " = e.object_id";
+				}
+				else if (toRole == TableRole.CHILD) {
+					String fk_column = join.getToColumn();
+					block =
+							"SELECT c." + fk_column + ", e.bbox " +
+									  "FROM " + refTable + " c, " + 
+									  refFunction + "(ARRAY(SELECT c2.id FROM " + refTable + " c2 " + 
+									  "WHERE c2." + fk_column + " = ANY(co_ids)), set_envelope) e " +
+									  "WHERE c." + fk_column + " = ANY(co_ids) " + 
+									  "AND c.id = e.object_id";
+				}
+				else {/**/}
+			}
+			else if (propertyJoin instanceof JoinTable) {
+				String joinTable = wrapSchemaName(((JoinTable) propertyJoin).getTable(), schemaName);
+				String p_fk_column = ((JoinTable) propertyJoin).getJoin().getFromColumn();
+				String c_fk_column = ((JoinTable) propertyJoin).getInverseJoin().getFromColumn();
+				block =
+						"SELECT p2c." + p_fk_column + ", e.bbox " +
+								  "FROM " + joinTable + " p2c, " + 
+								  refFunction + "(ARRAY(SELECT DISTINCT j." + c_fk_column + " FROM " + joinTable + " j " + 
+								  "WHERE j." + p_fk_column + " = ANY(co_ids)), set_envelope) e " +
+								  "WHERE p2c." + p_fk_column + " = ANY(co_ids) " + 
+								  "AND p2c." + c_fk_column + " = e.object_id";
+			} 
+			else {/**/}
+
+			if (block != null) {
+				blocks.computeIfAbsent(block, v -> new LinkedHashSet<>()).add(spatialRefType);
+			}
+		}
+
+		return blocks.entrySet().stream()
+				.map(e -> brDent3 + commentPrefix + e.getValue().stream()
+						.map(AbstractPathElement::getPath)
+						.collect(Collectors.joining(", ")) + brDent3 + e.getKey())
+				.collect(Collectors.joining(brDent3 + "UNION ALL"));
+	}
+	
 	private String union_spatialProperties_envelope(String tableName, String schemaName,
 			List<AbstractProperty> spatialProperties) throws SQLException {
 		String geom_block = "";
@@ -0,0 +1,205 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.query;
+
+import org.citydb.plugins.ade_manager.registry.query.datatype.MnRefEntry;
+import org.citydb.plugins.ade_manager.registry.query.datatype.ReferencedEntry;
+import org.citydb.plugins.ade_manager.registry.query.sql.SQLBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the foreign key, primary key and associative-table metadata of a database schema.
+ * The catalog is read with a few bulk queries, and all lookups of the {@link Querier} are then
+ * answered from indexed maps keyed by the lower-case table name.
+ */
+public class CatalogSnapshot {
+	private final String schemaName;
+	private final Map<String, List<String>> selfRefFkColumns = new HashMap<String, List<String>>();
+	private final Map<String, List<String[]>> refFkEntries = new HashMap<String, List<String[]>>();
+	private final Map<String, String> refToParentTables = new HashMap<String, String>();
+	private final Map<String, List<ReferencedEntry>> refToFkEntries = new HashMap<String, List<ReferencedEntry>>();
+	private final List<String> associativeTables = new ArrayList<String>();
+	private int queryCount;
+
+	private CatalogSnapshot(String schemaName) {
+		this.schemaName = schemaName;
+	}
+
+	public static CatalogSnapshot load(Connection connection, SQLBuilder sqlBuilder, String schemaName) throws SQLException {
+		CatalogSnapshot snapshot = new CatalogSnapshot(schemaName);
+		snapshot.loadForeignKeys(connection, sqlBuilder.create_query_all_fk(schemaName));
+		snapshot.loadRefToParentForeignKeys(connection, sqlBuilder.create_query_all_ref_to_parent_fk(schemaName));
+		snapshot.loadRefToForeignKeys(connection, sqlBuilder.create_query_all_ref_to_fk(schemaName));
+		snapshot.loadAssociativeTables(connection, sqlBuilder.create_query_associative_tables(schemaName));
+
+		return snapshot;
+	}
+
+	public String getSchemaName() {
+		return schemaName;
+	}
+
+	public int getQueryCount() {
+		return queryCount;
+	}
+
+	public List<String> getSelfRefFkColumns(String tableName) {
+		List<String> columns = selfRefFkColumns.get(tableName.toLowerCase());
+		return columns != null ? new ArrayList<String>(columns) : new ArrayList<String>();
+	}
+
+	public List<MnRefEntry> getRefFkEntries(String tableName) {
+		List<MnRefEntry> result = new ArrayList<MnRefEntry>();
+		List<String[]> entries = refFkEntries.get(tableName.toLowerCase());
+		if (entries == null)
+			return result;
+
+		for (String[] entry : entries) {
+			String nTable = entry[1];
+			String nFkColumn = entry[2];
+			MnRefEntry refEntry = new MnRefEntry();
+			refEntry.setRootTableName(entry[0]);
+			refEntry.setnTableName(nTable);
+			refEntry.setnFkColumnName(nFkColumn);
+			if (associativeTables.contains(nTable)) {
+				for (ReferencedEntry rf : getRefToFkEntries(nTable)) {
+					for (String mFkColumn : rf.getFkColumns()) {
+						if (!mFkColumn.equalsIgnoreCase(nFkColumn)) {
+							refEntry.setmTableName(rf.getRefTable());
+							refEntry.setmFkColumnName(mFkColumn);
+						}
+					}
+				}
+			}
+			result.add(refEntry);
+		}
+
+		return result;
+	}
+
+	public String getRefToParentTable(String tableName) {
+		return refToParentTables.get(tableName.toLowerCase());
+	}
+
+	public List<ReferencedEntry> getRefToFkEntries(String tableName) {
+		List<ReferencedEntry> result = new ArrayList<ReferencedEntry>();
+		List<ReferencedEntry> entries = refToFkEntries.get(tableName.toLowerCase());
+		if (entries != null) {
+			for (ReferencedEntry entry : entries)
+				result.add(new ReferencedEntry(entry.getRefTable(), entry.getFkColumns().clone()));
+		}
+
+		return result;
+	}
+
+	public List<String> getAssociativeTables() {
+		return Collections.unmodifiableList(associativeTables);
+	}
+
+	private void loadForeignKeys(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement pstsmt = connection.prepareStatement(sql);
+			 ResultSet rs = pstsmt.executeQuery()) {
+			queryCount++;
+			while (rs.next()) {
+				String rootTable = removeSchemaPrefix(rs.getString(1));
+				String nTable = removeSchemaPrefix(rs.getString(2));
+				String nFkColumn = removeSchemaPrefix(rs.getString(3));
+				if (rootTable.equals(nTable)) {
+					addToIndex(selfRefFkColumns, nTable, nFkColumn);
+				} else {
+					addToIndex(refFkEntries, rootTable, new String[]{rootTable, nTable, nFkColumn});
+				}
+			}
+		}
+	}
+
+	private void loadRefToParentForeignKeys(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement pstsmt = connection.prepareStatement(sql);
+			 ResultSet rs = pstsmt.executeQuery()) {
+			queryCount++;
+			while (rs.next()) {
+				String tableName = removeSchemaPrefix(rs.getString(1));
+				if (!refToParentTables.containsKey(tableName))
+					refToParentTables.put(tableName, removeSchemaPrefix(rs.getString(2)));
+			}
+		}
+	}
+
+	private void loadRefToForeignKeys(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement pstsmt = connection.prepareStatement(sql);
+			 ResultSet rs = pstsmt.executeQuery()) {
+			queryCount++;
+			while (rs.next()) {
+				String tableName = removeSchemaPrefix(rs.getString(1));
+				String refTable = removeSchemaPrefix(rs.getString(2));
+				String[] fkColumns = rs.getString(3).toLowerCase().split(",");
+				boolean shouldAdd = true;
+				for (int i = 0; i < fkColumns.length; i++) {
+					if (fkColumns[i].equalsIgnoreCase("id"))
+						shouldAdd = false;
+				}
+				if (shouldAdd)
+					addToIndex(refToFkEntries, tableName, new ReferencedEntry(refTable, fkColumns));
+			}
+		}
+	}
+
+	private void loadAssociativeTables(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement pstsmt = connection.prepareStatement(sql);
+			 ResultSet rs = pstsmt.executeQuery()) {
+			queryCount++;
+			while (rs.next())
+				associativeTables.add(removeSchemaPrefix(rs.getString(1)));
+		}
+	}
+
+	private <T> void addToIndex(Map<String, List<T>> index, String key, T value) {
+		List<T> values = index.get(key);
+		if (values == null) {
+			values = new ArrayList<T>();
+			index.put(key, values);
+		}
+		values.add(value);
+	}
+
+	private String removeSchemaPrefix(String tableName) {
+		if (tableName == null)
+			return tableName;
+		return tableName.toLowerCase().substring(tableName.indexOf(".") + 1);
+	}
+
+}
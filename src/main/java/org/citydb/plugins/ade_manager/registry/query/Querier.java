@@ -43,13 +43,29 @@ public class Querier {
 	private final Connection connection;
 	private final SQLBuilder sqlBuilder;
 	private List<String> associativeTables;
+	private CatalogSnapshot catalogSnapshot;
 	
 	public Querier (Connection connection) {
 		this.connection = connection;
 		this.sqlBuilder = SQLBuilderFactory.getInstance().createSQLBuilder();
 	}
 	
+	public void loadCatalogSnapshot(String schemaName) throws SQLException {
+		catalogSnapshot = CatalogSnapshot.load(connection, sqlBuilder, schemaName);
+	}
+	
+	public void clearCatalogSnapshot() {
+		catalogSnapshot = null;
+	}
+	
+	public CatalogSnapshot getCatalogSnapshot() {
+		return catalogSnapshot;
+	}
+	
 	public List<String> query_selfref_fk(String tableName, String schemaName) throws SQLException {		
+		if (isSnapshotAvailable(schemaName))
+			return catalogSnapshot.getSelfRefFkColumns(tableName);
+		
 		List<String> result = new ArrayList<String>();		
 		PreparedStatement pstsmt = null;
 		ResultSet rs = null;
@@ -84,6 +100,9 @@ public class Querier {
 	}
 	
 	public List<MnRefEntry> query_ref_fk(String tableName, String schemaName) throws SQLException {
+		if (isSnapshotAvailable(schemaName))
+			return catalogSnapshot.getRefFkEntries(tableName);
+		
 		PreparedStatement pstsmt = null;
 		ResultSet rs = null;
 		List<MnRefEntry> result = new ArrayList<MnRefEntry>();
@@ -138,6 +157,9 @@ public class Querier {
 	}
 
 	public String query_ref_to_parent_fk(String tableName, String schemaName) throws SQLException {
+		if (isSnapshotAvailable(schemaName))
+			return catalogSnapshot.getRefToParentTable(tableName);
+		
 		PreparedStatement pstsmt = null;
 		ResultSet rs = null;
 		String result = null;
@@ -171,6 +193,9 @@ public class Querier {
 	}
 	
 	public List<ReferencedEntry> query_ref_to_fk(String tableName, String schemaName) throws SQLException {
+		if (isSnapshotAvailable(schemaName))
+			return catalogSnapshot.getRefToFkEntries(tableName);
+		
 		PreparedStatement pstsmt = null;
 		ResultSet rs = null;
 		List<ReferencedEntry> result = new ArrayList<ReferencedEntry>();
@@ -213,6 +238,9 @@ public class Querier {
 	}
 
 	public List<String> getAssociativeTables(String schemaName) throws SQLException {
+		if (isSnapshotAvailable(schemaName))
+			return catalogSnapshot.getAssociativeTables();
+		
 		if (associativeTables == null) {
 			associativeTables = new ArrayList<String>();
 			PreparedStatement pstsmt = null;
@@ -248,6 +276,14 @@ public class Querier {
 		return associativeTables;
 	}
 
+	private boolean isSnapshotAvailable(String schemaName) {
+		if (catalogSnapshot == null)
+			return false;
+		
+		String snapshotSchema = catalogSnapshot.getSchemaName();
+		return snapshotSchema == null ? schemaName == null : snapshotSchema.equalsIgnoreCase(schemaName);
+	}
+
 	private String removeSchemaPrefix(String tableName) {
 		if (tableName == null)
 			return tableName;
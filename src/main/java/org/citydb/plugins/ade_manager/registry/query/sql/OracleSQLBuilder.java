@@ -153,4 +153,79 @@ public class OracleSQLBuilder extends AbstractSQLBuilder{
 		return strBuilder.toString();
 	}
 
+	@Override
+	public String create_query_all_fk(String schemaName) {
+		StringBuilder strBuilder = new StringBuilder(); 
+		strBuilder.append("SELECT ")
+			  			.append("c2.table_name AS root_table_name, ")
+			  			.append("c.table_name AS n_table_name, ")
+			  			.append("a.column_name AS n_fk_column_name ")
+			  		.append("FROM ")
+			  			.append("user_constraints c ")
+			  		.append("JOIN ")
+			  			.append("user_cons_columns a ")
+			  			.append("ON a.constraint_name = c.constraint_name ")
+			  			.append("AND a.table_name = c.table_name ")
+			  		.append("JOIN ")
+			  			.append("user_constraints c2 ")
+			  			.append("ON c2.constraint_name = c.r_constraint_name ")
+			  		.append("WHERE ")
+			  			.append("c.constraint_type = 'R' ")
+			  		.append("ORDER BY ")
+			  			.append("n_table_name, ")
+			  			.append("n_fk_column_name");
+		
+		return strBuilder.toString();
+	}
+
+	@Override
+	public String create_query_all_ref_to_parent_fk(String schemaName) {
+		StringBuilder strBuilder = new StringBuilder(); 
+		strBuilder.append("SELECT ")
+				  		.append("fk.table_name, ")
+				  		.append("p.table_name ")
+				  .append("FROM ")
+				  		.append("user_constraints fk ")
+				  .append("JOIN ")
+				  		.append("user_cons_columns fka ")
+				  		.append("ON fka.constraint_name = fk.constraint_name ")
+				  		.append("AND fka.table_name = fk.table_name ")
+				  .append("JOIN ")
+				  		.append("user_constraints p ")
+				  		.append("ON p.constraint_name = fk.r_constraint_name ")
+				  .append("WHERE ")
+				  		.append("fk.constraint_type = 'R' ")
+				  		.append("AND fka.column_name = upper('id')");
+		
+		return strBuilder.toString();
+	}
+
+	@Override
+	public String create_query_all_ref_to_fk(String schemaName) {
+		StringBuilder strBuilder = new StringBuilder(); 
+		strBuilder.append("SELECT ")
+				  		.append("c.table_name AS table_name, ")
+				  		.append("a_ref.table_name AS ref_table_name, ")
+				  		.append("LISTAGG(ac.column_name, ',') WITHIN GROUP (ORDER BY ac.position) AS fk_columns ")
+				  .append("FROM ")
+				  		.append("user_constraints c ")
+				  .append("JOIN ")
+				  		.append("user_cons_columns ac ")
+				  		.append("ON ac.constraint_name = c.constraint_name ")
+				  		.append("AND ac.table_name = c.table_name ")
+				  .append("JOIN ")
+				  		.append("user_cons_columns a_ref ")
+				  		.append("ON a_ref.constraint_name = c.r_constraint_name ")
+				  .append("WHERE ")
+				  		.append("c.table_name <> a_ref.table_name ")
+				  		.append("AND ac.column_name <> upper('id') ")
+				  		.append("AND c.constraint_type = 'R' ")
+				  .append("GROUP BY ")
+				  		.append("c.table_name, ")
+				  		.append("a_ref.table_name, ")
+				  		.append("a_ref.column_name");				  
+
+		return strBuilder.toString();
+	}
+
 }
@@ -134,4 +134,75 @@ public class PostgisSQLBuilder extends AbstractSQLBuilder{
 
 		return strBuilder.toString();
 	}
+
+	@Override
+	public String create_query_all_fk(String schemaName) {
+		StringBuilder strBuilder = new StringBuilder();
+		strBuilder.append("SELECT ")
+			  	 	  .append("c.confrelid::regclass::text AS root_table_name, ")
+			  	 	  .append("c.conrelid::regclass::text AS n_table_name, ")
+			  	 	  .append("a.attname::text AS n_fk_column_name ")
+			  	  .append("FROM ")
+			  	  	  .append("pg_constraint c ")
+			  	  .append("JOIN ")
+			  	  	  .append("pg_attribute a ")
+			  	  	  .append("ON a.attrelid = c.conrelid ")
+			  	  	  .append("AND a.attnum = ANY (c.conkey) ")
+			  	  .append("WHERE ")
+			  	       .append("c.connamespace = '").append(schemaName).append("'::regnamespace ")
+			  	       .append("AND c.contype = 'f' ")
+			  	  .append("ORDER BY ")
+			  	  	   .append("n_table_name, ")
+			  	  	   .append("n_fk_column_name");
+
+		return strBuilder.toString();
+	}
+
+	@Override
+	public String create_query_all_ref_to_parent_fk(String schemaName) {
+		StringBuilder strBuilder = new StringBuilder();
+		strBuilder.append("SELECT ")
+				      .append("f.conrelid::regclass::text AS table_name, ")
+				      .append("f.confrelid::regclass::text AS parent_table ")
+				  .append("FROM ")
+				      .append("pg_constraint f, ")
+				      .append("pg_constraint p ")
+				  .append("WHERE ")
+				      .append("f.connamespace = '").append(schemaName).append("'::regnamespace ")
+				      .append("AND p.conrelid = f.conrelid ")
+				      .append("AND f.conkey = p.conkey ")
+				      .append("AND f.contype = 'f' ")
+				      .append("AND p.contype = 'p' ");
+
+		return strBuilder.toString();
+	}
+
+	@Override
+	public String create_query_all_ref_to_fk(String schemaName) {
+		StringBuilder strBuilder = new StringBuilder();
+		strBuilder.append("SELECT ")
+				      .append("c.conrelid::regclass::text AS table_name, ")
+				      .append("c.confrelid::regclass::text AS ref_table_name, ")
+				      .append("string_agg(a.attname::text,',' order by a.attnum) AS fk_columns ")
+				  .append("FROM ")
+				      .append("pg_constraint c ")
+				  .append("JOIN ")
+				      .append("pg_attribute a ")
+				      .append("ON a.attrelid = c.conrelid ")
+				      .append("AND a.attnum = ANY (c.conkey) ")
+				  .append("JOIN ")
+				      .append("pg_attribute a_ref ")
+				      .append("ON a_ref.attrelid = c.confrelid ")
+				      .append("AND a_ref.attnum = ANY (c.confkey) ")
+				  .append("WHERE ")
+				      .append("c.connamespace = '").append(schemaName).append("'::regnamespace ")
+				      .append("AND c.conrelid <> c.confrelid ")
+				      .append("AND upper(a.attnum::text) <> upper('id') ")
+				      .append("AND c.contype = 'f' ")
+				  .append("GROUP BY ")
+				      .append("c.conrelid, ")
+				      .append("c.confrelid");
+
+		return strBuilder.toString();
+	}
 }
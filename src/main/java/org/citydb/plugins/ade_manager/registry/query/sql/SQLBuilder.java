@@ -33,4 +33,7 @@ public interface SQLBuilder {
 	public String create_query_ref_to_parent_fk(String tableName, String schemaName) ;
 	public String create_query_ref_to_fk(String tableName, String schemaName);
 	public String create_query_associative_tables(String schemaName);
+	public String create_query_all_fk(String schemaName);
+	public String create_query_all_ref_to_parent_fk(String schemaName);
+	public String create_query_all_ref_to_fk(String schemaName);
 }
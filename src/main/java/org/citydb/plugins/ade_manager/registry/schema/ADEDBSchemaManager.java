@@ -35,4 +35,12 @@ public interface ADEDBSchemaManager {
 	public void createADEDatabaseSchema(SchemaMapping schemaMapping) throws SQLException;
 	public void dropADEDatabaseSchema(String adeId) throws SQLException;
 	public void cleanupADEData(String adeId) throws SQLException;
+
+	/**
+	 * Deletes the city objects with the given lineage and objectclass (0 for all objectclasses)
+	 * using the lineage delete functions. The deletion runs on a separate auto-commit connection
+	 * and is committed independently of the registration transaction. If supported by the database,
+	 * the objects are deleted and committed in batches of the given size.
+	 */
+	public long deleteCityObjectsByLineage(String lineage, int objectclassId, int batchSize) throws SQLException;
 }
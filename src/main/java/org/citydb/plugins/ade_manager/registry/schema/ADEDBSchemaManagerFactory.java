@@ -29,12 +29,10 @@ package org.citydb.plugins.ade_manager.registry.schema;
 
 import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
-import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.registry.ADERegistrationSession;
 import org.citydb.plugins.ade_manager.registry.schema.adapter.oracle.OracleADEDBSchemaManager;
 import org.citydb.plugins.ade_manager.registry.schema.adapter.postgis.PostgisADEDBSchemaManager;
 
-import java.sql.Connection;
-
 public class ADEDBSchemaManagerFactory {
 	private static ADEDBSchemaManagerFactory instance;
 	private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
@@ -48,13 +46,13 @@ public class ADEDBSchemaManagerFactory {
 		return instance;
 	}
 	
-	public ADEDBSchemaManager createADEDatabaseSchemaManager(Connection connection, ConfigImpl config) {
+	public ADEDBSchemaManager createADEDatabaseSchemaManager(ADERegistrationSession session) {
 		DatabaseType databaseType = dbPool.getActiveDatabaseAdapter().getDatabaseType();
 		switch (databaseType) {
 		case ORACLE:
-			return new OracleADEDBSchemaManager(connection, config);
+			return new OracleADEDBSchemaManager(session);
 		case POSTGIS:
-			return new PostgisADEDBSchemaManager(connection, config);
+			return new PostgisADEDBSchemaManager(session);
 		}		
 		return null;
 	}
@@ -0,0 +1,322 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.schema;
+
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.util.log.Logger;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs an ADE create script in phases. The tables, sequences and all other commands are
+ * created first on a pooled connection. After this phase has been committed, the foreign
+ * keys and indexes are created in parallel on several pooled connections, grouped by the
+ * table they belong to. Every command of these phases is committed on its own, so that locks
+ * on existing tables are only held for a short time.
+ * <p>
+ * Foreign keys and indexes involving one of the given registration tables are executed on the
+ * registration connection in a final phase, since these tables are locked by the uncommitted
+ * registration transaction and would block the pooled connections.
+ */
+public class PhasedSQLScriptRunner {
+	private static final Pattern FOREIGN_KEY_PATTERN = Pattern.compile(
+			"(?is)ALTER\\s+TABLE\\s+([^\\s(]+)\\s+ADD\\s+CONSTRAINT\\s+\\S+\\s+FOREIGN\\s+KEY\\s*\\(.*?\\)\\s*REFERENCES\\s+([^\\s(]+).*");
+	private static final Pattern INDEX_PATTERN = Pattern.compile(
+			"(?is)CREATE\\s+(?:UNIQUE\\s+|BITMAP\\s+)?INDEX\\s+\\S+\\s+ON\\s+([^\\s(]+).*");
+	private static final Pattern CREATE_INDEX_PATTERN = Pattern.compile("(?i)^(CREATE\\s+(?:UNIQUE\\s+)?INDEX)\\s");
+	private static final int MAX_RETRIES = 10;
+
+	private final Logger log = Logger.getInstance();
+	private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
+	private final Connection connection;
+	private final Set<String> registrationTables;
+	private final boolean postgis;
+	private int parallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	private boolean concurrentIndexes;
+
+	public PhasedSQLScriptRunner(Connection connection, Set<String> registrationTables) {
+		this.connection = connection;
+		this.registrationTables = registrationTables;
+		this.postgis = dbPool.getActiveDatabaseAdapter().getDatabaseType() == DatabaseType.POSTGIS;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the maximum number of pooled connections used for creating foreign keys and indexes.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public boolean isConcurrentIndexes() {
+		return concurrentIndexes;
+	}
+
+	/**
+	 * Creates the indexes using CREATE INDEX CONCURRENTLY on PostGIS, which does not block
+	 * writes on the indexed tables. This setting is ignored for Oracle databases.
+	 */
+	public void setConcurrentIndexes(boolean concurrentIndexes) {
+		this.concurrentIndexes = concurrentIndexes && postgis;
+	}
+
+	public void runScript(String scriptString) throws SQLException {
+		ScriptPhases phases = classifyCommands(SQLScriptRunner.getInstance().readCommands(new StringReader(scriptString)),
+				registrationTables, concurrentIndexes);
+
+		long start = System.currentTimeMillis();
+		Connection phaseConnection = getPooledConnection();
+		try {
+			SQLScriptRunner.getInstance().runCommands(phases.schemaObjects, phaseConnection);
+		} finally {
+			phaseConnection.close();
+		}
+
+		log.debug("Created " + phases.schemaObjects.size() + " schema object(s) in "
+				+ (System.currentTimeMillis() - start) + " ms.");
+
+		start = System.currentTimeMillis();
+		executeInParallel(new ArrayList<>(phases.constraintsByTable.values()));
+		log.debug("Created foreign keys and indexes of " + phases.constraintsByTable.size() + " table(s) in "
+				+ (System.currentTimeMillis() - start) + " ms.");
+
+		SQLScriptRunner.getInstance().runCommands(phases.registrationCommands, connection);
+	}
+
+	/**
+	 * Assigns the commands of a create script to the phases they are executed in.
+	 */
+	static ScriptPhases classifyCommands(List<String> commands, Set<String> registrationTables, boolean concurrentIndexes) {
+		ScriptPhases phases = new ScriptPhases();
+		for (String command : commands) {
+			String table = null;
+			String referencedTable = null;
+			boolean isIndex = false;
+
+			Matcher matcher = FOREIGN_KEY_PATTERN.matcher(command);
+			if (matcher.matches()) {
+				table = getTableName(matcher.group(1));
+				referencedTable = getTableName(matcher.group(2));
+			} else if ((matcher = INDEX_PATTERN.matcher(command)).matches()) {
+				table = getTableName(matcher.group(1));
+				isIndex = true;
+			}
+
+			if (table == null)
+				phases.schemaObjects.add(command);
+			else if (registrationTables.contains(table)
+					|| (referencedTable != null && registrationTables.contains(referencedTable)))
+				phases.registrationCommands.add(command);
+			else {
+				if (isIndex && concurrentIndexes)
+					command = CREATE_INDEX_PATTERN.matcher(command).replaceFirst("$1 CONCURRENTLY ");
+
+				phases.constraintsByTable.computeIfAbsent(table, k -> new ArrayList<>()).add(command);
+			}
+		}
+
+		return phases;
+	}
+
+	/**
+	 * Executes the commands of the given script one by one on a pooled connection and ignores
+	 * failing commands. This is used for removing the objects of a partially created schema.
+	 */
+	public void runCompensationScript(String scriptString) throws SQLException {
+		List<String> commands = SQLScriptRunner.getInstance().readCommands(new StringReader(scriptString));
+		try (Connection pooledConnection = getPooledConnection();
+			 Statement stmt = pooledConnection.createStatement()) {
+			for (String command : commands) {
+				try {
+					stmt.execute(command);
+				} catch (SQLException e) {
+					log.debug("Skipped command of compensation script: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void executeInParallel(List<List<String>> tasks) throws SQLException {
+		if (tasks.isEmpty())
+			return;
+
+		BlockingQueue<Connection> connections = new LinkedBlockingQueue<>();
+		ExecutorService executor = null;
+		try {
+			for (int i = 0; i < Math.min(parallelism, tasks.size()); i++) {
+				try {
+					connections.add(getPooledConnection());
+				} catch (SQLException e) {
+					// continue with fewer connections if the pool is exhausted
+					if (connections.isEmpty())
+						throw e;
+
+					log.debug("Failed to open additional database connection: " + e.getMessage());
+					break;
+				}
+			}
+
+			executor = Executors.newFixedThreadPool(connections.size());
+			CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+			AtomicBoolean failed = new AtomicBoolean();
+			for (List<String> commands : tasks) {
+				completionService.submit(() -> {
+					if (failed.get())
+						return null;
+
+					Connection pooledConnection = connections.take();
+					try (Statement stmt = pooledConnection.createStatement()) {
+						for (String command : commands)
+							executeWithRetry(stmt, command);
+					} catch (SQLException e) {
+						failed.set(true);
+						throw e;
+					} finally {
+						connections.add(pooledConnection);
+					}
+
+					return null;
+				});
+			}
+
+			// barrier: all foreign keys and indexes must have been created before continuing
+			for (int i = 0; i < tasks.size(); i++) {
+				try {
+					completionService.take().get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof SQLException)
+						throw (SQLException) cause;
+
+					throw new SQLException("Failed to create foreign keys and indexes.", cause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while creating foreign keys and indexes.", e);
+				}
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+				try {
+					// running commands cannot be interrupted and must finish before closing the connections
+					executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			for (Connection pooledConnection : connections) {
+				try {
+					pooledConnection.close();
+				} catch (SQLException e) {
+					//
+				}
+			}
+		}
+	}
+
+	private void executeWithRetry(Statement stmt, String command) throws SQLException {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				stmt.execute(command);
+				return;
+			} catch (SQLException e) {
+				// foreign keys on different tables may lock the same tables in reverse order
+				if (attempt == MAX_RETRIES || !isLockConflict(e))
+					throw new SQLException("Error on command: " + command, e);
+
+				log.debug("Lock conflict on command, retrying: " + command);
+				try {
+					Thread.sleep(50L * attempt);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while creating foreign keys and indexes.", ie);
+				}
+			}
+		}
+	}
+
+	private boolean isLockConflict(SQLException e) {
+		// PostgreSQL: deadlock detected; Oracle: ORA-00060 deadlock, ORA-00054 resource busy
+		return postgis ? "40P01".equals(e.getSQLState()) : e.getErrorCode() == 60 || e.getErrorCode() == 54;
+	}
+
+	private Connection getPooledConnection() throws SQLException {
+		Connection pooledConnection = dbPool.getConnection();
+		try {
+			pooledConnection.setAutoCommit(true);
+			if (postgis) {
+				try (Statement stmt = pooledConnection.createStatement()) {
+					stmt.execute("SET search_path TO "
+							+ dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema() + ", public");
+				}
+			}
+		} catch (SQLException e) {
+			pooledConnection.close();
+			throw e;
+		}
+
+		return pooledConnection;
+	}
+
+	private static String getTableName(String qualifiedName) {
+		String name = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+		return name.replace("\"", "").toLowerCase(Locale.ROOT);
+	}
+
+	static final class ScriptPhases {
+		final List<String> schemaObjects = new ArrayList<>();
+		final Map<String, List<String>> constraintsByTable = new LinkedHashMap<>();
+		final List<String> registrationCommands = new ArrayList<>();
+	}
+
+}
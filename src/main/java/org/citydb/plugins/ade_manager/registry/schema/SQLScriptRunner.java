@@ -31,40 +31,24 @@ package org.citydb.plugins.ade_manager.registry.schema;
  * Inspired from the website: https://allstarnix.blogspot.de/2013/03/how-to-execute-sql-script-file-using.html
  */
 
+import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
-import org.citydb.util.log.Logger;
 
 import java.io.IOException;
-import java.io.LineNumberReader;
+import java.io.Reader;
 import java.io.StringReader;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class SQLScriptRunner {
 	private static SQLScriptRunner instance;
-    private final String DELIMITER_LINE_REGEX = "(?i)DELIMITER.+"; 
-    private final String DELIMITER_LINE_SPLIT_REGEX = "(?i)DELIMITER"; 
-    private final String DEFAULT_DELIMITER = ";";
-    private final Logger LOG = Logger.getInstance();
-    private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
-    private String delimiter = DEFAULT_DELIMITER;
-
-	@SuppressWarnings("serial")
-	private final List<String> DDL_KEY_WORDS = new ArrayList<String>(){{
-		add("CREATE TABLE ");
-		add("ALTER TABLE ");
-		add("DROP TABLE ");
-		add("REFERENCES ");
-		add("CREATE SEQUENCE ");
-		add("DROP SEQUENCE ");	
-		add(" ON ");
-	}};
-	
+	private static final int MAX_BATCH_SIZE = 100;
+	private final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
+
 	private SQLScriptRunner() {}
 
 	public static synchronized SQLScriptRunner getInstance() {
@@ -73,98 +57,126 @@ public class SQLScriptRunner {
 		return instance;
 	}
 	
-    public void runScript(String scriptString, Connection connection) throws SQLException {
-    	String schema = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();
-    	StringReader reader = null;
-    	LineNumberReader lineReader = null;
-    	reader = new StringReader(scriptString);    	
-		StringBuffer command = null;
+	public void runScript(String scriptString, Connection connection) throws SQLException {
+		runScript(new StringReader(scriptString), connection);
+	}
+
+	/**
+	 * Reads the script statement by statement and executes all CREATE, INSERT, DELETE, ALTER
+	 * and DROP commands on a single statement object. If supported by the JDBC driver, the
+	 * commands are sent to the database in batches of up to {@value #MAX_BATCH_SIZE}.
+	 */
+	public void runScript(Reader scriptReader, Connection connection) throws SQLException {
+		SQLScriptTokenizer tokenizer = createTokenizer(scriptReader);
+		boolean useBatch = connection.getMetaData().supportsBatchUpdates();
+		List<String> batch = new ArrayList<>();
+		String command = null;
+
+		try (Statement stmt = connection.createStatement()) {
+			while ((command = tokenizer.nextCommand()) != null)
+				executeCommand(stmt, command, batch, useBatch);
+
+			executeBatch(stmt, batch);
+		} catch (IOException e) {
+			throw new SQLException("Faild to read the SQL script file", e);
+		} finally {
+			closeReader(scriptReader);
+		}
+	}
+
+	/**
+	 * Executes the given commands in their order, e.g. a subset of the commands returned 
+	 * by {@link #readCommands(Reader)}.
+	 */
+	public void runCommands(List<String> commands, Connection connection) throws SQLException {
+		boolean useBatch = connection.getMetaData().supportsBatchUpdates();
+		List<String> batch = new ArrayList<>();
+
+		try (Statement stmt = connection.createStatement()) {
+			for (String command : commands)
+				executeCommand(stmt, command, batch, useBatch);
+
+			executeBatch(stmt, batch);
+		}
+	}
+
+	/**
+	 * Splits the script into the executable commands with schema-qualified object names 
+	 * without running them.
+	 */
+	public List<String> readCommands(Reader scriptReader) throws SQLException {
+		SQLScriptTokenizer tokenizer = createTokenizer(scriptReader);
+		List<String> commands = new ArrayList<>();
 		try {
-			lineReader = new LineNumberReader(reader);
-			String line = null;
-			while ((line = lineReader.readLine()) != null) {
-				if (command == null)
-					command = new StringBuffer();
-
-				String trimmedLine = line.trim();
-				if (trimmedLine.startsWith("--") || trimmedLine.startsWith("//") || trimmedLine.startsWith("#")) {
-					if (trimmedLine.indexOf("***") >= 0) {
-						LOG.info(trimmedLine);
-					}
-				} else if (trimmedLine.endsWith(this.delimiter)) {
-					// Line is end of statement; 
-					Pattern pattern = Pattern.compile(DELIMITER_LINE_REGEX);
-					Matcher matcher = pattern.matcher(trimmedLine);
-					if (matcher.matches()) {
-						delimiter = trimmedLine.split(DELIMITER_LINE_SPLIT_REGEX)[1].trim();
-						// New delimiter is processed, continue on next statement
-						line = lineReader.readLine();
-						if (line == null)
-							break;
-						trimmedLine = line.trim();
-					}
-
-					command.append(line.substring(0, line.lastIndexOf(this.delimiter)));
-					command.append(" ");
-					if (!(command.toString().toLowerCase().trim().startsWith("create")
-							|| command.toString().toLowerCase().trim().startsWith("insert")
-							|| command.toString().toLowerCase().trim().startsWith("delete")
-							|| command.toString().toLowerCase().trim().startsWith("alter")
-							|| command.toString().toLowerCase().trim().startsWith("drop"))) {
-						command = null;
-					} else {
-						Statement stmt = connection.createStatement();
-						String commandStr = command.toString();
-						// set schema for database objects
-						for (String ddlKeyword: DDL_KEY_WORDS) {
-							if (commandStr.indexOf(ddlKeyword) >= 0) {
-								if (ddlKeyword.equalsIgnoreCase(" ON ") && commandStr.indexOf("ON DELETE") > 0)
-									continue;
-								commandStr = commandStr.replace(ddlKeyword, ddlKeyword + schema + ".");
-							}
-						}
-
-						try {
-							try {
-								stmt.execute(commandStr);
-							} catch (SQLException e) {
-								throw new SQLException("Error on command: " + command, e);
-							}
-						} finally {
-							if (stmt != null) {
-								stmt.close();
-							}							
-							command = null;
-						}
-					}
-				} else {
-					// Line is middle of a statement; 
-					Pattern pattern = Pattern.compile(DELIMITER_LINE_REGEX);
-					Matcher matcher = pattern.matcher(trimmedLine);
-					if (matcher.matches()) {
-						delimiter = trimmedLine.split(DELIMITER_LINE_SPLIT_REGEX)[1].trim();
-						line = lineReader.readLine();
-						if (line == null)
-							break;
-
-						trimmedLine = line.trim();
-					}
-					command.append(line);
-					command.append(" ");
-				}
-			}
-		} catch (SQLException e) {
-			throw new SQLException("Error on command: " + command, e);
+			String command;
+			while ((command = tokenizer.nextCommand()) != null)
+				commands.add(command);
 		} catch (IOException e) {
 			throw new SQLException("Faild to read the SQL script file", e);
 		} finally {
+			closeReader(scriptReader);
+		}
+
+		return commands;
+	}
+
+	private SQLScriptTokenizer createTokenizer(Reader scriptReader) {
+		String schema = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();
+		boolean oracle = dbPool.getActiveDatabaseAdapter().getDatabaseType() == DatabaseType.ORACLE;
+		return new SQLScriptTokenizer(scriptReader, schema, oracle);
+	}
+
+	private void executeCommand(Statement stmt, String command, List<String> batch, boolean useBatch) throws SQLException {
+		if (useBatch) {
+			stmt.addBatch(command);
+			batch.add(command);
+			if (batch.size() == MAX_BATCH_SIZE)
+				executeBatch(stmt, batch);
+		} else {
 			try {
-				reader.close();
-				lineReader.close();				
-			} catch (IOException e) {
-				throw new SQLException(e);
-			}				
-		}			
-    }
-    
-}
\ No newline at end of file
+				stmt.execute(command);
+			} catch (SQLException e) {
+				throw new SQLException("Error on command: " + command, e);
+			}
+		}
+	}
+
+	private void closeReader(Reader scriptReader) throws SQLException {
+		try {
+			scriptReader.close();
+		} catch (IOException e) {
+			throw new SQLException(e);
+		}
+	}
+
+	private void executeBatch(Statement stmt, List<String> batch) throws SQLException {
+		if (batch.isEmpty())
+			return;
+
+		try {
+			stmt.executeBatch();
+		} catch (BatchUpdateException e) {
+			throw new SQLException("Error on command: " + getFailedCommand(batch, e.getUpdateCounts()), e);
+		} finally {
+			batch.clear();
+		}
+
+		stmt.clearBatch();
+	}
+
+	static String getFailedCommand(List<String> batch, int[] updateCounts) {
+		if (updateCounts != null) {
+			for (int i = 0; i < updateCounts.length; i++) {
+				if (updateCounts[i] == Statement.EXECUTE_FAILED)
+					return batch.get(i);
+			}
+
+			// the driver stopped at the first failing command
+			if (updateCounts.length < batch.size())
+				return batch.get(updateCounts.length);
+		}
+
+		return batch.get(batch.size() - 1);
+	}
+
+}
@@ -0,0 +1,373 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.schema;
+
+import org.citydb.util.log.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass tokenizer splitting a SQL script read from a {@link Reader} into
+ * executable commands. Quoted strings, quoted identifiers, comments and dollar-quoted
+ * bodies are skipped as a whole, so that delimiters and keywords inside them are
+ * ignored. Statements are terminated by the current delimiter (see {@code DELIMITER}
+ * lines) or by a line consisting of a single {@code /}. On Oracle, PL/SQL blocks are
+ * only terminated by the {@code /} line.
+ * <p>
+ * Only CREATE, INSERT, DELETE, ALTER and DROP statements are returned. The target
+ * objects of CREATE/ALTER/DROP TABLE, CREATE/DROP SEQUENCE, REFERENCES and ON clauses
+ * are prefixed with the database schema while the statement is read.
+ */
+final class SQLScriptTokenizer {
+	private static final Pattern DELIMITER_LINE_PATTERN = Pattern.compile("(?i)DELIMITER\\s+(\\S+)");
+	private static final String DEFAULT_DELIMITER = ";";
+	private static final int MAX_DOLLAR_TAG_LENGTH = 64;
+	private static final Set<String> EXECUTABLE_KEY_WORDS = new HashSet<>(Arrays.asList(
+			"CREATE", "INSERT", "DELETE", "ALTER", "DROP"));
+	private static final Set<String> PLSQL_BLOCK_KEY_WORDS = new HashSet<>(Arrays.asList(
+			"FUNCTION", "PROCEDURE", "PACKAGE", "TRIGGER", "TYPE"));
+	private static final Set<String> CREATE_MODIFIER_KEY_WORDS = new HashSet<>(Arrays.asList(
+			"OR", "REPLACE", "EDITIONABLE", "NONEDITIONABLE"));
+	private static final Set<String> QUALIFIER_SKIP_KEY_WORDS = new HashSet<>(Arrays.asList(
+			"IF", "NOT", "EXISTS", "ONLY"));
+
+	private final Logger LOG = Logger.getInstance();
+	private final Reader reader;
+	private final String schemaPrefix;
+	private final boolean oracle;
+	private char[] buffer = new char[8192];
+	private int position;
+	private int limit;
+	private boolean eof;
+	private String delimiter = DEFAULT_DELIMITER;
+
+	// state of the statement currently read
+	private final StringBuilder command = new StringBuilder();
+	private boolean hasContent;
+	private boolean atLineStart;
+	private String firstWord;
+	private boolean leadingWordsDone;
+	private boolean plsqlBlock;
+	private String previousWord;
+	private boolean qualifyNext;
+	private boolean onClause;
+
+	SQLScriptTokenizer(Reader reader, String schema, boolean oracle) {
+		this.reader = reader;
+		this.schemaPrefix = schema + ".";
+		this.oracle = oracle;
+		resetCommand();
+	}
+
+	/**
+	 * @return the next executable command with schema-qualified object names, or
+	 * {@code null} if the end of the script has been reached.
+	 */
+	String nextCommand() throws IOException {
+		while (true) {
+			if (atLineStart && processLineStart()) {
+				String result = finishCommand();
+				if (result != null)
+					return result;
+
+				// the next line has not been processed yet
+				continue;
+			}
+
+			int c = peek(0);
+			if (c == -1) {
+				// statements which are not terminated are not executed
+				resetCommand();
+				return null;
+			}
+
+			if (!plsqlBlock && matchesDelimiter()) {
+				position += delimiter.length();
+				String result = finishCommand();
+				if (result != null)
+					return result;
+			} else if (c == '\'' || c == '"') {
+				int start = command.length();
+				readQuoted((char) c);
+				if (c == '"')
+					processWord(null, start);
+			} else if (c == '-' && peek(1) == '-') {
+				// inline comments are dropped until the end of the line
+				while ((c = peek(0)) != -1 && c != '\n')
+					position++;
+			} else if (c == '/' && peek(1) == '*') {
+				readBlockComment();
+			} else if (c == '$' && readDollarQuoted()) {
+				hasContent = true;
+			} else if (isWordChar(c)) {
+				int start = command.length();
+				while ((c = peek(0)) != -1 && isWordChar(c))
+					command.append((char) read());
+
+				hasContent = true;
+				processWord(command.substring(start).toUpperCase(Locale.ROOT), start);
+			} else {
+				command.append((char) read());
+				if (c == '\n')
+					atLineStart = true;
+				else if (!Character.isWhitespace(c))
+					hasContent = true;
+			}
+		}
+	}
+
+	/**
+	 * Handles comment lines, DELIMITER lines and {@code /} terminators at the
+	 * beginning of a line.
+	 *
+	 * @return {@code true} if a {@code /} line terminates the current statement.
+	 */
+	private boolean processLineStart() throws IOException {
+		while (true) {
+			int c;
+			while ((c = peek(0)) == ' ' || c == '\t' || c == '\r')
+				position++;
+
+			if ((c == '-' && peek(1) == '-') || (c == '/' && peek(1) == '/') || c == '#') {
+				String line = readLine().trim();
+				if (line.contains("***"))
+					LOG.info(line);
+			} else if (!hasContent && (c == 'D' || c == 'd') && isDelimiterLine()) {
+				Matcher matcher = DELIMITER_LINE_PATTERN.matcher(readLine().trim());
+				if (matcher.matches())
+					delimiter = matcher.group(1);
+			} else if (c == '/' && isBlankUntilLineEnd(1)) {
+				readLine();
+				if (hasContent)
+					return true;
+			} else {
+				atLineStart = false;
+				return false;
+			}
+		}
+	}
+
+	private void processWord(String word, int start) throws IOException {
+		if (firstWord == null) {
+			firstWord = word != null ? word : "";
+			if (oracle && ("BEGIN".equals(firstWord) || "DECLARE".equals(firstWord))) {
+				plsqlBlock = true;
+				leadingWordsDone = true;
+			} else if (!"CREATE".equals(firstWord))
+				leadingWordsDone = true;
+		} else if (!leadingWordsDone) {
+			if (word == null || !CREATE_MODIFIER_KEY_WORDS.contains(word)) {
+				plsqlBlock = oracle && word != null && PLSQL_BLOCK_KEY_WORDS.contains(word);
+				leadingWordsDone = true;
+			}
+		}
+
+		if (!EXECUTABLE_KEY_WORDS.contains(firstWord) || plsqlBlock)
+			return;
+
+		if (qualifyNext) {
+			if (onClause && ("DELETE".equals(word) || "UPDATE".equals(word)))
+				qualifyNext = false;
+			else if (word == null || !QUALIFIER_SKIP_KEY_WORDS.contains(word)) {
+				qualifyNext = false;
+				if (peek(0) != '.')
+					command.insert(start, schemaPrefix);
+			}
+
+			if (!qualifyNext)
+				onClause = false;
+		} else if (word != null) {
+			if ("TABLE".equals(word))
+				qualifyNext = "CREATE".equals(previousWord) || "ALTER".equals(previousWord) || "DROP".equals(previousWord);
+			else if ("SEQUENCE".equals(word))
+				qualifyNext = "CREATE".equals(previousWord) || "DROP".equals(previousWord);
+			else if ("REFERENCES".equals(word))
+				qualifyNext = true;
+			else if ("ON".equals(word))
+				qualifyNext = onClause = true;
+		}
+
+		previousWord = word;
+	}
+
+	private String finishCommand() {
+		String result = hasContent && EXECUTABLE_KEY_WORDS.contains(firstWord) ? command.toString().trim() : null;
+		resetCommand();
+		return result;
+	}
+
+	private void resetCommand() {
+		command.setLength(0);
+		hasContent = false;
+		atLineStart = true;
+		firstWord = null;
+		leadingWordsDone = false;
+		plsqlBlock = false;
+		previousWord = null;
+		qualifyNext = false;
+		onClause = false;
+	}
+
+	private void readQuoted(char quote) throws IOException {
+		command.append((char) read());
+		int c;
+		while ((c = read()) != -1) {
+			command.append((char) c);
+			if (c == quote)
+				break;
+		}
+
+		hasContent = true;
+	}
+
+	private void readBlockComment() throws IOException {
+		command.append((char) read()).append((char) read());
+		int c;
+		while ((c = read()) != -1) {
+			command.append((char) c);
+			if (c == '*' && peek(0) == '/') {
+				command.append((char) read());
+				break;
+			}
+		}
+	}
+
+	private boolean readDollarQuoted() throws IOException {
+		int length = 1;
+		int c = peek(length);
+		if (c != -1 && c != '$' && !Character.isLetter(c) && c != '_')
+			return false;
+
+		while (c != '$') {
+			if (c == -1 || length > MAX_DOLLAR_TAG_LENGTH || !(Character.isLetterOrDigit(c) || c == '_'))
+				return false;
+			c = peek(++length);
+		}
+
+		String tag = new String(buffer, position, length + 1);
+		command.append(tag);
+		position += tag.length();
+
+		while ((c = read()) != -1) {
+			command.append((char) c);
+			if (c == '$' && matches(tag, -1)) {
+				for (int i = 1; i < tag.length(); i++)
+					command.append((char) read());
+				break;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean isDelimiterLine() throws IOException {
+		String keyword = "DELIMITER";
+		for (int i = 0; i < keyword.length(); i++) {
+			if (Character.toUpperCase(peek(i)) != keyword.charAt(i))
+				return false;
+		}
+
+		int c = peek(keyword.length());
+		return c == ' ' || c == '\t';
+	}
+
+	private boolean isBlankUntilLineEnd(int offset) throws IOException {
+		int c;
+		while ((c = peek(offset++)) == ' ' || c == '\t' || c == '\r');
+		return c == '\n' || c == -1;
+	}
+
+	private boolean matchesDelimiter() throws IOException {
+		return matches(delimiter, 0);
+	}
+
+	private boolean matches(String token, int offset) throws IOException {
+		for (int i = 0; i < token.length(); i++) {
+			if (peek(offset + i) != token.charAt(i))
+				return false;
+		}
+
+		return true;
+	}
+
+	private String readLine() throws IOException {
+		StringBuilder line = new StringBuilder();
+		int c;
+		while ((c = read()) != -1 && c != '\n')
+			line.append((char) c);
+
+		return line.toString();
+	}
+
+	private boolean isWordChar(int c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+	}
+
+	private int read() throws IOException {
+		int c = peek(0);
+		if (c != -1)
+			position++;
+
+		return c;
+	}
+
+	private int peek(int offset) throws IOException {
+		if (position + offset < 0)
+			return -1;
+
+		while (position + offset >= limit) {
+			if (eof)
+				return -1;
+
+			if (position > 1) {
+				// keep the last character for look-behind checks
+				int keep = position - 1;
+				System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+				limit -= keep;
+				position -= keep;
+			} else if (limit == buffer.length)
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+
+			int count = reader.read(buffer, limit, buffer.length - limit);
+			if (count == -1)
+				eof = true;
+			else
+				limit += count;
+		}
+
+		return buffer[position + offset];
+	}
+
+}
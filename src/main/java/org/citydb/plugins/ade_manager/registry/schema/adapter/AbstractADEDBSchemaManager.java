@@ -36,100 +36,183 @@ import org.citydb.core.operation.deleter.database.BundledConnection;
 import org.citydb.core.operation.deleter.database.DBSplittingResult;
 import org.citydb.core.operation.deleter.util.InternalConfig;
 import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.plugins.ade_manager.config.CleanupConfig;
 import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.registry.ADERegistrationSession;
 import org.citydb.plugins.ade_manager.registry.metadata.ADEMetadataManager;
 import org.citydb.plugins.ade_manager.registry.schema.ADEDBSchemaManager;
+import org.citydb.plugins.ade_manager.registry.schema.PhasedSQLScriptRunner;
 import org.citydb.plugins.ade_manager.registry.schema.SQLScriptRunner;
-import org.citydb.util.concurrent.SingleWorkerPool;
+import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.log.Logger;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.Savepoint;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class AbstractADEDBSchemaManager implements ADEDBSchemaManager {
+	// metadata tables written by the registration transaction before the ADE schema is created
+	private static final Set<String> ADE_METADATA_TABLES = new HashSet<>(Arrays.asList(
+			"ade", "schema", "schema_referencing", "objectclass", "schema_to_objectclass", "aggregation_info"));
 	protected final Logger LOG = Logger.getInstance();
 	protected final DatabaseConnectionPool dbPool = DatabaseConnectionPool.getInstance();
+	protected final ADERegistrationSession session;
 	protected final Connection connection;
 	protected final ConfigImpl config;
 	protected String schema;	
 	
-	public AbstractADEDBSchemaManager(Connection connection, ConfigImpl config) {
-		this.connection = connection;
-		this.config = config;
+	public AbstractADEDBSchemaManager(ADERegistrationSession session) {
+		this.session = session;
+		this.connection = session.getConnection();
+		this.config = session.getConfig();
 		this.schema = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();
 	}
 	
 	public void createADEDatabaseSchema(SchemaMapping schemaMapping) throws SQLException {
+		String createDBscriptString;
 		try {	
-			String createDBscriptString = readCreateADEDBScript();
-			SQLScriptRunner.getInstance().runScript(processScript(createDBscriptString), connection);
+			createDBscriptString = processScript(readCreateADEDBScript());
+			if (!config.isParallelSchemaCreation())
+				SQLScriptRunner.getInstance().runScript(createDBscriptString, connection);
 		} catch (SQLException | IOException e) {
 			throw new SQLException("Error occurred while reading and running ADE database creation script", e);
 		}
+
+		if (config.isParallelSchemaCreation())
+			createADEDatabaseSchemaInPhases(createDBscriptString, schemaMapping);
+		else
+			completeADEDatabaseSchema(schemaMapping);
+	}
+
+	private void createADEDatabaseSchemaInPhases(String createDBscriptString, SchemaMapping schemaMapping) throws SQLException {
+		PhasedSQLScriptRunner scriptRunner = new PhasedSQLScriptRunner(connection, ADE_METADATA_TABLES);
+		scriptRunner.setConcurrentIndexes(config.isConcurrentIndexCreation());
+		if (config.getSchemaCreationThreads() > 0)
+			scriptRunner.setParallelism(config.getSchemaCreationThreads());
+
+		String dropDBscriptString;
+		try {
+			dropDBscriptString = readDropADEDBScript();
+		} catch (IOException e) {
+			throw new SQLException("Error occurred while reading ADE database drop script", e);
+		}
+
+		Savepoint savepoint = isTransactionalDDL() ? connection.setSavepoint() : null;
+		try {
+			scriptRunner.runScript(createDBscriptString);
+			completeADEDatabaseSchema(schemaMapping);
+		} catch (SQLException e) {
+			// the tables have already been committed by the pooled connections and must be dropped explicitly
+			LOG.warn("Removing the partially created ADE database schema...");
+			try {
+				// release the locks of the registration connection on the ADE tables
+				if (savepoint != null)
+					connection.rollback(savepoint);
+
+				scriptRunner.runCompensationScript(dropDBscriptString);
+			} catch (SQLException e1) {
+				LOG.error("Failed to remove the partially created ADE database schema.");
+				e.addSuppressed(e1);
+			}
+
+			throw new SQLException("Error occurred while reading and running ADE database creation script", e);
+		}
+
+		if (savepoint != null)
+			connection.releaseSavepoint(savepoint);
+
+		// the committed schema objects must also be removed if the registration fails afterwards
+		session.setSchemaCompensation(() -> scriptRunner.runCompensationScript(dropDBscriptString));
 	}
 	
 	public void dropADEDatabaseSchema(String adeId) throws SQLException {
-		ADEMetadataManager adeMetadataManager = new ADEMetadataManager(connection, config);
+		ADEMetadataManager adeMetadataManager = session.getMetadataManager();
 		try {
 			String dropDBScriptString = adeMetadataManager.getDropDBScript(adeId);
+			String dbPrefix = adeMetadataManager.getDBPrefix(adeId);
 			SQLScriptRunner.getInstance().runScript(dropDBScriptString, connection);
-			dropCurrentFunctions();
+			dropCurrentFunctions(dbPrefix);
 		} catch (SQLException e) {		
 			throw new SQLException("Error occurred while dropping the current delete functions", e);
 		} 
 	}
 	
 	public void cleanupADEData(String adeId) throws SQLException {
-		ADEMetadataManager adeMetadataManager = new ADEMetadataManager(connection, config);
+		ADEMetadataManager adeMetadataManager = session.getMetadataManager();
 		SchemaMapping schemaMapping = adeMetadataManager.getMergedSchemaMapping();
-		Statement stmt = null;
-		ResultSet rs = null;
-		List<DBSplittingResult> deleteWorks = new ArrayList<>();
-		try {				
-			stmt = connection.createStatement();
-			rs = stmt.executeQuery(
-						"select co.id, co.objectclass_id, co.gmlid "
-						+ "FROM " + schema + ".cityobject co, " + schema + ".objectclass oc, " + schema + ".ade a "
-						+ "WHERE co.objectclass_id = oc.id "
-						+ "AND a.id = oc.ade_id "
-						+ "AND a.adeid = '" + adeId + "'");			
-			while (rs.next()) {
-				int objId = rs.getInt(1);
-				int objectclassId = rs.getInt(2);
-				String gmlId = rs.getString(3);
-				AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(objectclassId);
-				deleteWorks.add(new DBSplittingResult(objId, objectType, gmlId));
+		CleanupConfig cleanupConfig = config.getCleanupConfig();
+		String adeObjectsClause = "FROM " + schema + ".cityobject co, " + schema + ".objectclass oc, " + schema + ".ade a "
+				+ "WHERE co.objectclass_id = oc.id "
+				+ "AND a.id = oc.ade_id "
+				+ "AND a.adeid = ?";
+
+		long totalWorkNumber = 0;
+		try (PreparedStatement stmt = connection.prepareStatement("select count(*) " + adeObjectsClause)) {
+			stmt.setString(1, adeId);
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (rs.next())
+					totalWorkNumber = rs.getLong(1);
 			}
-		} finally {
-			if (stmt != null) 
-				stmt.close();			
-		}	
-		
-		int totalWorkNumber = deleteWorks.size();
+		}
+
+		LOG.info("Number of ADE objects going to be deleted: " + totalWorkNumber);
+		if (totalWorkNumber == 0)
+			return;
+
+		if (cleanupConfig.isBulkPurge()) {
+			purgeADEData(adeId, adeObjectsClause, totalWorkNumber);
+			return;
+		}
+
+		int numberOfWorkers = Math.max(1, cleanupConfig.getNumberOfWorkers());
 		WorkerPool<DBSplittingResult> dbWorkerPool = null;
 		EventDispatcher eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
 		BundledConnection bundledConnection = new BundledConnection();
+		CleanupProgressMonitor progressMonitor = new CleanupProgressMonitor(totalWorkNumber);
 		try {
-			dbWorkerPool = new SingleWorkerPool<>(
+			dbWorkerPool = new WorkerPool<>(
 					"db_deleter_pool",
-					new DBDeleteWorkerFactory(bundledConnection, null, new InternalConfig(), new Config(), eventDispatcher),
-					300,
+					numberOfWorkers,
+					numberOfWorkers,
+					PoolSizeAdaptationStrategy.AGGRESSIVE,
+					new CleanupWorkerFactory(
+							new DBDeleteWorkerFactory(bundledConnection, null, new InternalConfig(), new Config(), eventDispatcher),
+							progressMonitor),
+					Math.max(1, cleanupConfig.getQueueSize()),
 					false);
 
 			dbWorkerPool.prestartCoreWorkers();
 			if (dbWorkerPool.getPoolSize() == 0)
 				throw new SQLException("Failed to start database delete worker pool. Check the database connection pool settings.");
 
-			for (DBSplittingResult work: deleteWorks) {
-				dbWorkerPool.addWork(work);
-				LOG.info("Remaining number of ADE objects going to be deleted: " + (--totalWorkNumber));
+			// the ADE objects are read through a cursor in chunks of the fetch size. Adding work to 
+			// the bounded queue of the worker pool blocks as long as the delete workers are busy
+			try (PreparedStatement stmt = connection.prepareStatement("select co.id, co.objectclass_id, co.gmlid " + adeObjectsClause)) {
+				stmt.setFetchSize(Math.max(1, cleanupConfig.getFetchSize()));
+				stmt.setString(1, adeId);
+				try (ResultSet rs = stmt.executeQuery()) {
+					while (rs.next()) {
+						int objId = rs.getInt(1);
+						int objectclassId = rs.getInt(2);
+						String gmlId = rs.getString(3);
+						AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(objectclassId);
+						dbWorkerPool.addWork(new DBSplittingResult(objId, objectType, gmlId));
+					}
+				}
 			}
 
 			try {
@@ -137,6 +220,8 @@ public abstract class AbstractADEDBSchemaManager implements ADEDBSchemaManager {
 			} catch (InterruptedException e) {
 				throw new SQLException("Failed to shutdown worker pools.", e);
 			}
+
+			progressMonitor.finish();
 		} finally {
 			try {
 				bundledConnection.close();
@@ -156,8 +241,147 @@ public abstract class AbstractADEDBSchemaManager implements ADEDBSchemaManager {
 		}
 	}
 
+	/**
+	 * Called after the create script has been run. Subclasses can adapt the created tables
+	 * on the registration connection.
+	 */
+	protected void completeADEDatabaseSchema(SchemaMapping schemaMapping) throws SQLException {
+		// nothing to do by default
+	}
+
+	/**
+	 * @return {@code true} if DDL commands are part of the transaction of the registration
+	 * connection and can be rolled back.
+	 */
+	protected boolean isTransactionalDDL() {
+		return false;
+	}
+
+	/**
+	 * Deletes the ADE objects in chunks of consecutive ids per objectclass. Each chunk is deleted
+	 * by a single call of the array delete function for city objects and committed on its own.
+	 */
+	private void purgeADEData(String adeId, String adeObjectsClause, long totalWorkNumber) throws SQLException {
+		CleanupConfig cleanupConfig = config.getCleanupConfig();
+		int chunkSize = Math.max(1, cleanupConfig.getChunkSize());
+		int parallelChunks = Math.max(1, cleanupConfig.getParallelChunks());
+		String deleteStatement = getBulkDeleteStatement();
+		CleanupProgressMonitor progressMonitor = new CleanupProgressMonitor(totalWorkNumber);
+		AtomicReference<SQLException> failure = new AtomicReference<>();
+		BlockingQueue<Connection> connections = new LinkedBlockingQueue<>();
+
+		// at most one chunk is waiting per connection, further chunks are deleted by the calling thread
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelChunks, parallelChunks, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(parallelChunks), new ThreadPoolExecutor.CallerRunsPolicy());
+		try {
+			for (int i = 0; i < parallelChunks; i++) {
+				Connection pooledConnection = dbPool.getConnection();
+				connections.add(pooledConnection);
+				pooledConnection.setAutoCommit(false);
+			}
+
+			try (PreparedStatement stmt = connection.prepareStatement("select co.objectclass_id, co.id " 
+					+ adeObjectsClause + " order by co.objectclass_id, co.id")) {
+				stmt.setFetchSize(chunkSize);
+				stmt.setString(1, adeId);
+				try (ResultSet rs = stmt.executeQuery()) {
+					int objectclassId = 0;
+					long firstId = 0;
+					long lastId = 0;
+					int count = 0;
+					while (rs.next() && failure.get() == null) {
+						int nextObjectclassId = rs.getInt(1);
+						long id = rs.getLong(2);
+						if (count > 0 && (count == chunkSize || nextObjectclassId != objectclassId)) {
+							executor.execute(createDeleteChunkTask(deleteStatement, objectclassId, firstId, lastId, count, 
+									connections, progressMonitor, failure));
+							count = 0;
+						}
+
+						if (count == 0) {
+							objectclassId = nextObjectclassId;
+							firstId = id;
+						}
+
+						lastId = id;
+						count++;
+					}
+
+					if (count > 0 && failure.get() == null)
+						executor.execute(createDeleteChunkTask(deleteStatement, objectclassId, firstId, lastId, count, 
+								connections, progressMonitor, failure));
+				}
+			}
+
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while deleting ADE objects.", e);
+			}
+
+			if (failure.get() != null)
+				throw failure.get();
+
+			progressMonitor.finish();
+		} finally {
+			executor.shutdownNow();
+			for (Connection pooledConnection : connections) {
+				try {
+					pooledConnection.close();
+				} catch (SQLException e) {
+					//
+				}
+			}
+		}
+	}
+
+	private Runnable createDeleteChunkTask(String deleteStatement, int objectclassId, long firstId, long lastId, int count,
+			BlockingQueue<Connection> connections, CleanupProgressMonitor progressMonitor, AtomicReference<SQLException> failure) {
+		return () -> {
+			if (failure.get() != null)
+				return;
+
+			Connection pooledConnection;
+			try {
+				pooledConnection = connections.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			try (PreparedStatement stmt = pooledConnection.prepareStatement(deleteStatement)) {
+				stmt.setInt(1, objectclassId);
+				stmt.setLong(2, firstId);
+				stmt.setLong(3, lastId);
+				stmt.execute();
+				pooledConnection.commit();
+				progressMonitor.update(count);
+			} catch (SQLException e) {
+				try {
+					pooledConnection.rollback();
+				} catch (SQLException e1) {
+					//
+				}
+
+				failure.compareAndSet(null, new SQLException("Failed to delete ADE objects of objectclass " + objectclassId 
+						+ " with ids from " + firstId + " to " + lastId + ".", e));
+			} finally {
+				connections.add(pooledConnection);
+			}
+		};
+	}
+
+	/**
+	 * @return a statement deleting all city objects of the objectclass given by the first parameter 
+	 * whose ids are in the range given by the second and third parameter using a single call of the 
+	 * generated array delete function.
+	 */
+	protected abstract String getBulkDeleteStatement();
 	protected abstract String readCreateADEDBScript() throws IOException;
+	protected abstract String readDropADEDBScript() throws IOException;
 	protected abstract String processScript(String inputScript) throws SQLException;
-	protected abstract void dropCurrentFunctions() throws SQLException;
+	protected abstract void dropCurrentFunctions(String dbPrefix) throws SQLException;
 	
 }
@@ -0,0 +1,75 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.plugins.ade_manager.registry.schema.adapter;
+
+import org.citydb.util.log.Logger;
+
+/**
+ * Reports the progress of deleting ADE objects at most once per log interval 
+ * instead of once per object.
+ */
+class CleanupProgressMonitor {
+	private static final long LOG_INTERVAL = 5000;
+	private final Logger log = Logger.getInstance();
+	private final long total;
+	private final long startTime;
+	private long processed;
+	private long lastLogTime;
+
+	CleanupProgressMonitor(long total) {
+		this.total = total;
+		this.startTime = System.currentTimeMillis();
+		this.lastLogTime = startTime;
+	}
+
+	synchronized void update(long count) {
+		processed += count;
+		long now = System.currentTimeMillis();
+		if (now - lastLogTime >= LOG_INTERVAL) {
+			lastLogTime = now;
+			double rate = processed * 1000.0 / Math.max(1, now - startTime);
+			StringBuilder message = new StringBuilder("Processed ").append(processed)
+					.append(" of ").append(total).append(" ADE objects (")
+					.append(String.format("%.1f", rate)).append(" objects/s");
+			if (rate > 0 && processed < total)
+				message.append(", remaining time approx. ").append(formatTime((long) ((total - processed) / rate)));
+
+			log.info(message.append(").").toString());
+		}
+	}
+
+	synchronized void finish() {
+		long elapsed = System.currentTimeMillis() - startTime;
+		log.info("Processed " + processed + " ADE objects in " + formatTime(elapsed / 1000) + ".");
+	}
+
+	private String formatTime(long seconds) {
+		return String.format("%02d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60);
+	}
+}
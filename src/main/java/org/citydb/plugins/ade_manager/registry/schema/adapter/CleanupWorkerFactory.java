@@ -0,0 +1,74 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.schema.adapter;
+
+import org.citydb.core.operation.deleter.database.DBSplittingResult;
+import org.citydb.util.concurrent.Worker;
+import org.citydb.util.concurrent.WorkerFactory;
+
+/**
+ * Wraps the delete workers of a worker factory to report each processed ADE object to the
+ * progress monitor after the delete worker has finished with it.
+ */
+class CleanupWorkerFactory implements WorkerFactory<DBSplittingResult> {
+	private final WorkerFactory<DBSplittingResult> factory;
+	private final CleanupProgressMonitor progressMonitor;
+
+	CleanupWorkerFactory(WorkerFactory<DBSplittingResult> factory, CleanupProgressMonitor progressMonitor) {
+		this.factory = factory;
+		this.progressMonitor = progressMonitor;
+	}
+
+	@Override
+	public Worker<DBSplittingResult> createWorker() {
+		Worker<DBSplittingResult> worker = factory.createWorker();
+		return worker != null ? new CleanupWorker(worker) : null;
+	}
+
+	private class CleanupWorker extends Worker<DBSplittingResult> {
+		private final Worker<DBSplittingResult> worker;
+
+		CleanupWorker(Worker<DBSplittingResult> worker) {
+			this.worker = worker;
+		}
+
+		@Override
+		public void doWork(DBSplittingResult work) {
+			try {
+				worker.doWork(work);
+			} finally {
+				progressMonitor.update(1);
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			worker.shutdown();
+		}
+	}
+}
@@ -28,7 +28,7 @@
 package org.citydb.plugins.ade_manager.registry.schema.adapter.oracle;
 
 import org.citydb.config.project.database.DatabaseType;
-import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.registry.ADERegistrationSession;
 import org.citydb.plugins.ade_manager.registry.schema.adapter.AbstractADEDBSchemaManager;
 import org.citydb.plugins.ade_manager.util.PathResolver;
 
@@ -37,14 +37,16 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Scanner;
 
 public class OracleADEDBSchemaManager extends AbstractADEDBSchemaManager {
 
-	public OracleADEDBSchemaManager(Connection connection, ConfigImpl config) {
-		super(connection, config);
+	public OracleADEDBSchemaManager(ADERegistrationSession session) {
+		super(session);
 	}
 
 	@Override
@@ -54,6 +56,47 @@ public class OracleADEDBSchemaManager extends AbstractADEDBSchemaManager {
 		return new String(Files.readAllBytes(Paths.get(createDBscriptPath)));
 	}
 
+	@Override
+	protected String readDropADEDBScript() throws IOException {
+		String adeRegistryInputpath = config.getAdeRegistryInputPath();
+		String dropDBscriptPath = PathResolver.get_drop_ade_db_filepath(adeRegistryInputpath, DatabaseType.ORACLE);	
+		return new String(Files.readAllBytes(Paths.get(dropDBscriptPath)));
+	}
+
+	@Override
+	public long deleteCityObjectsByLineage(String lineage, int objectclassId, int batchSize) throws SQLException {
+		// the lineage delete function deletes all objects in a single call, so the batch size is not used.
+		// Like on PostGIS, the deletion is committed on an auto-commit connection
+		try (Connection pooledConnection = dbPool.getConnection()) {
+			pooledConnection.setAutoCommit(true);
+			try (CallableStatement stmt = pooledConnection.prepareCall("DECLARE " +
+					"deleted_ids " + schema + ".ID_ARRAY; " +
+					"BEGIN " +
+					"deleted_ids := " + schema + ".citydb_delete.del_cityobjects_by_lineage(?, ?); " +
+					"? := deleted_ids.COUNT; " +
+					"END;")) {
+				stmt.setString(1, lineage);
+				stmt.setInt(2, objectclassId);
+				stmt.registerOutParameter(3, Types.BIGINT);
+				stmt.execute();
+				return stmt.getLong(3);
+			}
+		}
+	}
+
+	@Override
+	protected String getBulkDeleteStatement() {
+		return "DECLARE " +
+				"ids " + schema + ".ID_ARRAY; " +
+				"deleted_ids " + schema + ".ID_ARRAY; " +
+				"BEGIN " +
+				"SELECT id BULK COLLECT INTO ids FROM " + schema + ".cityobject WHERE objectclass_id = ? AND id BETWEEN ? AND ?; " +
+				"IF ids.COUNT > 0 THEN " +
+				"deleted_ids := " + schema + ".citydb_delete.del_cityobject(ids); " +
+				"END IF; " +
+				"END;";
+	}
+
 	@Override
 	protected String processScript(String inputScript) throws SQLException {
 		String result = null;
@@ -85,7 +128,7 @@ public class OracleADEDBSchemaManager extends AbstractADEDBSchemaManager {
 	}
 
 	@Override
-	protected void dropCurrentFunctions() throws SQLException {
+	protected void dropCurrentFunctions(String dbPrefix) throws SQLException {
 		
 	}
 
@@ -29,7 +29,7 @@ package org.citydb.plugins.ade_manager.registry.schema.adapter.postgis;
 
 import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
-import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.registry.ADERegistrationSession;
 import org.citydb.plugins.ade_manager.registry.schema.adapter.AbstractADEDBSchemaManager;
 import org.citydb.plugins.ade_manager.util.PathResolver;
 import org.citydb.util.log.Logger;
@@ -38,39 +38,81 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class PostgisADEDBSchemaManager extends AbstractADEDBSchemaManager {
     private final Logger log = Logger.getInstance();
+    private final Pattern geometryColumnPattern = Pattern.compile("(\\w+)(\\s+)geometry\\(GEOMETRYZ\\)", Pattern.CASE_INSENSITIVE);
+    private final Set<String> nonGeoreferencedColumns = new HashSet<>(Arrays.asList(
+            "implicit_geometry", "relative_other_geom", "texture_coordinates"));
+    private Integer srid;
 
-    public PostgisADEDBSchemaManager(Connection connection, ConfigImpl config) {
-        super(connection, config);
+    public PostgisADEDBSchemaManager(ADERegistrationSession session) {
+        super(session);
     }
 
-    public void createADEDatabaseSchema(SchemaMapping schemaMapping) throws SQLException {
-
-        super.createADEDatabaseSchema(schemaMapping);
-
-        // update SRID for geometry columns of cityGML core and ADE tables
+    @Override
+    protected void completeADEDatabaseSchema(SchemaMapping schemaMapping) throws SQLException {
+        // the SRID is written into the column definitions of the create script, so only
+        // geometry columns of ADE tables which have not been covered by the script are updated
         String schema = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();
-        int srid = dbPool.getActiveDatabaseAdapter().getUtil().getDatabaseInfo(schema).getReferenceSystem().getSrid();
+        int srid = getDatabaseSrid();
+        Map<String, List<String>> columnsByTable = new LinkedHashMap<>();
         try (PreparedStatement preparedStatement = connection.prepareStatement(
-                "select f_table_schema, f_table_name, f_geometry_column from geometry_columns where f_table_schema=? " +
+                "select f_table_name, f_geometry_column, type, coord_dimension from geometry_columns where f_table_schema=? " +
                         "AND f_table_name LIKE '" + schemaMapping.getMetadata().getDBPrefix() + "\\_%' " +
                         "AND f_geometry_column <> 'implicit_geometry' " +
-                        "AND f_geometry_column <> 'relative_other_geom'" +
-                        "AND f_geometry_column <> 'texture_coordinates'")) {
+                        "AND f_geometry_column <> 'relative_other_geom' " +
+                        "AND f_geometry_column <> 'texture_coordinates' " +
+                        "AND srid <> ?")) {
             preparedStatement.setString(1, schema);
-            ResultSet rs = preparedStatement.executeQuery();
-            while (rs.next()) {
-                try (CallableStatement callableStatement = connection.prepareCall("{call UpdateGeometrySRID(?, ?, ?, ?)}")) {
-                    callableStatement.setString(1, rs.getString((1)));
-                    callableStatement.setString(2, rs.getString((2)));
-                    callableStatement.setString(3, rs.getString((3)));
-                    callableStatement.setInt(4, srid);
-                    callableStatement.execute();
+            preparedStatement.setInt(2, srid);
+            try (ResultSet rs = preparedStatement.executeQuery()) {
+                while (rs.next()) {
+                    String column = rs.getString(2);
+                    String type = getGeometryTypeModifier(rs.getString(3), rs.getInt(4));
+                    columnsByTable.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add("alter column " + column + " type geometry(" + type + ", " + srid + ") " +
+                                    "using ST_SetSRID(" + column + ", " + srid + ")");
                 }
             }
         }
+
+        // a single statement per table changes the SRID of all its geometry columns
+        try (Statement stmt = connection.createStatement()) {
+            for (Map.Entry<String, List<String>> entry : columnsByTable.entrySet()) {
+                stmt.addBatch("alter table " + schema + "." + entry.getKey() + " " + String.join(", ", entry.getValue()));
+            }
+
+            if (!columnsByTable.isEmpty()) {
+                stmt.executeBatch();
+                log.debug("Updated SRID of geometry columns in " + columnsByTable.size() + " table(s).");
+            }
+        }
+    }
+
+    private int getDatabaseSrid() throws SQLException {
+        if (srid == null)
+            srid = dbPool.getActiveDatabaseAdapter().getUtil().getDatabaseInfo(schema).getReferenceSystem().getSrid();
+
+        return srid;
+    }
+
+    private String getGeometryTypeModifier(String type, int coordDimension) {
+        if (coordDimension == 4 && !type.endsWith("ZM"))
+            return type + "ZM";
+        else if (coordDimension == 3 && !type.endsWith("Z") && !type.endsWith("M"))
+            return type + "Z";
+        else
+            return type;
     }
 
     @Override
@@ -82,18 +124,103 @@ public class PostgisADEDBSchemaManager extends AbstractADEDBSchemaManager {
     }
 
     @Override
-    protected String processScript(String inputScript) {
-        return inputScript;
+    protected String readDropADEDBScript() throws IOException {
+        String adeRegistryInputpath = config.getAdeRegistryInputPath();
+        String dropDBscriptPath = PathResolver.get_drop_ade_db_filepath(adeRegistryInputpath, DatabaseType.POSTGIS);
+
+        return new String(Files.readAllBytes(Paths.get(dropDBscriptPath)));
+    }
+
+    @Override
+    public long deleteCityObjectsByLineage(String lineage, int objectclassId, int batchSize) throws SQLException {
+        // the procedure commits after each batch and therefore must not be called inside a transaction block.
+        // The function is run on the same auto-commit connection, so that both variants commit the deletion
+        long deletedCount = 0;
+        try (Connection pooledConnection = dbPool.getConnection()) {
+            pooledConnection.setAutoCommit(true);
+
+            // the procedure is missing on PostgreSQL 10 and older and if the delete functions have not been re-created
+            if (!isLineageDeleteProcedureInstalled(pooledConnection)) {
+                try (PreparedStatement stmt = pooledConnection.prepareStatement(
+                        "select count(*) from " + schema + ".del_cityobjects_by_lineage(?, ?)")) {
+                    stmt.setString(1, lineage);
+                    stmt.setInt(2, objectclassId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return rs.next() ? rs.getLong(1) : 0;
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = pooledConnection.prepareStatement(
+                    "call " + schema + ".del_cityobjects_by_lineage_chunked(?, ?, ?, NULL)")) {
+                stmt.setString(1, lineage);
+                stmt.setInt(2, objectclassId);
+                stmt.setInt(3, Math.max(1, batchSize));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next())
+                        deletedCount = rs.getLong(1);
+                }
+
+                for (SQLWarning warning = stmt.getWarnings(); warning != null; warning = warning.getNextWarning())
+                    log.debug(warning.getMessage());
+            }
+        }
+
+        return deletedCount;
+    }
+
+    private boolean isLineageDeleteProcedureInstalled(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("select 1 from pg_proc p " +
+                "join pg_namespace n on n.oid = p.pronamespace " +
+                "where n.nspname = ? and p.proname = 'del_cityobjects_by_lineage_chunked'")) {
+            stmt.setString(1, schema);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    protected String getBulkDeleteStatement() {
+        return "select count(*) from " + schema + ".del_cityobject(array(" +
+                "select id from " + schema + ".cityobject where objectclass_id = ? and id between ? and ?))";
+    }
+
+    @Override
+    protected boolean isTransactionalDDL() {
+        return true;
+    }
+
+    @Override
+    protected String processScript(String inputScript) throws SQLException {
+        // write the SRID of the database into the definitions of georeferenced geometry columns
+        String srid = String.valueOf(getDatabaseSrid());
+        Matcher matcher = geometryColumnPattern.matcher(inputScript);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String column = matcher.group(1);
+            String replacement = nonGeoreferencedColumns.contains(column.toLowerCase()) ?
+                    matcher.group() :
+                    column + matcher.group(2) + "geometry(GEOMETRYZ," + srid + ")";
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+
+        return result.toString();
     }
 
     @Override
-    protected void dropCurrentFunctions() throws SQLException {
+    protected void dropCurrentFunctions(String dbPrefix) throws SQLException {
         String schema = dbPool.getActiveDatabaseAdapter().getConnectionDetails().getSchema();
+        // only the delete functions of the dropped ADE tables are removed, the delete functions
+        // of the remaining tables are replaced when the delete script is re-installed
+        String adeDeleteFuncPrefix = "del_" + dbPrefix.toLowerCase() + "_";
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery("select proname, pg_catalog.pg_get_function_identity_arguments(oid) " +
                      "from pg_catalog.pg_proc " +
                      "where pronamespace = '" + schema + "'::regnamespace " +
-                     "and (proname like 'del_%' or proname like 'env_%')")) {
+                     "and (substr(proname, 1, " + adeDeleteFuncPrefix.length() + ") = '" + adeDeleteFuncPrefix + "' " +
+                     "or proname like 'env_%')")) {
             while (rs.next()) {
                 String name = rs.getString(1);
                 String args = rs.getString(2);
@@ -30,10 +30,15 @@ package org.citydb.plugins.ade_manager.transformation;
 import agg.xt_basis.GraGra;
 import com.sun.xml.xsom.util.DomAnnotationParserFactory;
 import org.apache.ddlutils.model.Database;
+import org.apache.ddlutils.platform.oracle.Oracle10Platform;
+import org.apache.ddlutils.platform.postgresql.PostgreSqlPlatform;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.plugins.ade_manager.ADEManagerPlugin;
+import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.transformation.database.DBObjectNameShortener;
 import org.citydb.plugins.ade_manager.transformation.database.DBScriptGenerator;
 import org.citydb.plugins.ade_manager.transformation.graph.GraphTransformationManager;
+import org.citydb.plugins.ade_manager.transformation.model.TransformationModel;
 import org.citydb.plugins.ade_manager.transformation.schemaMapping.SchemaMappingCreator;
 import org.citydb.util.event.Event;
 import org.citydb.util.event.EventHandler;
@@ -46,6 +51,10 @@ import org.xml.sax.SAXParseException;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TransformationController implements EventHandler {
 	private final Logger LOG = Logger.getInstance();
@@ -67,17 +76,42 @@ public class TransformationController implements EventHandler {
 		GraphTransformationManager aggGraphTransformationManager = new GraphTransformationManager(schemaHandler, adeNamespaces, plugin.getConfig());
 		adeGraph = aggGraphTransformationManager.executeGraphTransformation();
 
-    	LOG.info("Generating SQL-DDL for the database schema...");
-		DBScriptGenerator databaseScriptCreator = new DBScriptGenerator(adeGraph, plugin.getConfig());
-		adeDatabaseSchema = databaseScriptCreator.createDatabaseScripts();
-
-		LOG.info("Generating 3DCityDB schema mapping file...");
-		SchemaMappingCreator schemaMappingCreator = new SchemaMappingCreator(adeGraph, plugin.getConfig());
-    	try {
-    		adeSchemaMapping = schemaMappingCreator.createSchemaMapping();
-		} catch (Exception e) {
-			throw new TransformationException("An error occurred while creating the 3DCityDB schema mapping file.", e);
-		} 
+		// the database object names must be final before the scripts and the schema mapping are generated
+		ConfigImpl config = plugin.getConfig();
+		new DBObjectNameShortener(adeGraph, config).shortenDatabaseObjectNames();
+		TransformationModel transformationModel = TransformationModel.fromGraph(adeGraph);
+
+		LOG.info("Generating SQL-DDL for the database schema and 3DCityDB schema mapping file...");
+		DBScriptGenerator oracleScriptCreator = new DBScriptGenerator(transformationModel, new Oracle10Platform(), config);
+		DBScriptGenerator postgisScriptCreator = new DBScriptGenerator(transformationModel, new PostgreSqlPlatform(), config);
+		DBScriptGenerator versioningScriptCreator = new DBScriptGenerator(transformationModel, new Oracle10Platform(), config);
+		SchemaMappingCreator schemaMappingCreator = new SchemaMappingCreator(transformationModel, config);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<Database> oracleTask = executor.submit(oracleScriptCreator::createDatabaseScripts);
+			Future<Database> postgisTask = executor.submit(postgisScriptCreator::createDatabaseScripts);
+			Future<?> versioningTask = executor.submit(versioningScriptCreator::createVersioningScripts);
+			Future<SchemaMapping> schemaMappingTask = executor.submit(schemaMappingCreator::createSchemaMapping);
+
+			getResult(oracleTask, "An error occurred while creating the SQL-DDL for Oracle.");
+			adeDatabaseSchema = getResult(postgisTask, "An error occurred while creating the SQL-DDL for PostgreSQL.");
+			getResult(versioningTask, "An error occurred while creating the versioning scripts for Oracle.");
+			adeSchemaMapping = getResult(schemaMappingTask, "An error occurred while creating the 3DCityDB schema mapping file.");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private <T> T getResult(Future<T> task, String message) throws TransformationException {
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			throw new TransformationException(message, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransformationException("Interrupted while generating the ADE database schema.", e);
+		}
 	}
 	
 	public List<String> getADENamespacesFromXMLSchema(String xmlSchemaPath) throws TransformationException {
@@ -0,0 +1,157 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.database;
+
+import agg.attribute.AttrInstance;
+import agg.xt_basis.Arc;
+import agg.xt_basis.GraGra;
+import agg.xt_basis.Node;
+import agg.xt_basis.Type;
+import org.citydb.plugins.ade_manager.config.ConfigImpl;
+import org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType;
+import org.citydb.plugins.ade_manager.util.GlobalConstants;
+import org.citydb.plugins.ade_manager.util.NameShortener;
+
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shortens the names of the database objects in the transformed graph to the maximum lengths
+ * supported by the database systems and prefixes them with the ADE database prefix. This pass
+ * must be finished before the transformation model is built from the graph.
+ */
+public class DBObjectNameShortener {
+	private GraGra graphGrammar;
+	private ConfigImpl config;
+	
+	private Set<String> dbFkConstratintNames;
+	private Set<String> dbIndexNames;
+	private Set<String> dbTableNames;
+	private Set<String> dbSeqeunceNames;
+	private Map<String, Set<String>> dbTableColumnsMap;
+
+	public DBObjectNameShortener(GraGra graphGrammar, ConfigImpl config) {
+		this.graphGrammar = graphGrammar;
+		this.config = config;
+		this.dbFkConstratintNames = new HashSet<String>(); 
+		this.dbIndexNames = new HashSet<String>(); 
+		this.dbTableNames = new HashSet<String>(); 
+		this.dbSeqeunceNames = new HashSet<String>(); 
+		this.dbTableColumnsMap = new HashMap<String, Set<String>>();
+	}
+	
+	public void shortenDatabaseObjectNames() {		
+		String prefix = config.getAdeDbPrefix();		
+		if (prefix.length() > GlobalConstants.MAX_DB_PREFIX_LENGTH)
+			prefix = prefix.substring(0, GlobalConstants.MAX_DB_PREFIX_LENGTH);		
+		int prefixLength = prefix.length();
+		
+		int maxTableNameLengthWithPrefix = GlobalConstants.MAX_TABLE_NAME_LENGTH - prefixLength - 1;
+		int maxIndexNameLengthWithPrefix = GlobalConstants.MAX_INDEX_NAME_LENGTH - prefixLength - 1;
+		int maxConstraintNameLengthWithPrefix = GlobalConstants.MAX_CONSTRAINT_NAME_LENGTH - prefixLength - 1;
+		int maxSequenceNameLengthWithPrefix = GlobalConstants.MAX_SEQEUNCE_NAME_LENGTH - prefixLength - 1;
+		
+		Enumeration<Type> e = this.graphGrammar.getTypes();
+		while(e.hasMoreElements()){
+			Type nodeType = e.nextElement();
+			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.DatabaseObject)) {
+				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);				
+				if (nodes == null)
+					continue;
+				
+				Iterator<Node> iter = nodes.iterator();
+				while (iter.hasNext()) {
+					Node databaseObjectNode = iter.next();					
+					AttrInstance attr = databaseObjectNode.getAttribute();										
+					String nodeTypeName = databaseObjectNode.getType().getName();
+					String originalDatabaseObjectName = (String) attr.getValueAt("name");
+					String shortenedName = null;
+					if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.DataTable) || nodeTypeName.equalsIgnoreCase(GraphNodeArcType.JoinTable)) {												
+						boolean isADETable = (boolean) attr.getValueAt("isADE");
+						if (isADETable) {
+							shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxTableNameLengthWithPrefix);
+							shortenedName = prefix + "_" + shortenedName;		
+							shortenedName = this.processDuplicatedDbName(dbTableNames, shortenedName, GlobalConstants.MAX_TABLE_NAME_LENGTH, 0);
+							Iterator<Arc> iter2 = databaseObjectNode.getIncomingArcs();
+							while (iter2.hasNext()) {
+								Arc arc = iter2.next();
+								if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.BelongsTo)) {
+									Node columnNode = (Node) arc.getSource();
+									String columnName = (String)columnNode.getAttribute().getValueAt("name");
+									columnName = NameShortener.shortenDbObjectName(columnName, GlobalConstants.MAX_COLUMN_NAME_LENGTH);	
+									String processedColumnName = this.processDuplicatedDbColumnName(shortenedName, columnName, GlobalConstants.MAX_COLUMN_NAME_LENGTH, 0);
+									columnNode.getAttribute().setValueAt(processedColumnName, "name");								
+								}
+							}								
+						}											
+					}
+					else if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.Join)) {
+						shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxConstraintNameLengthWithPrefix);
+						shortenedName = prefix + "_" + shortenedName;		
+						shortenedName = this.processDuplicatedDbName(dbFkConstratintNames, shortenedName, GlobalConstants.MAX_CONSTRAINT_NAME_LENGTH, 0);
+					}	
+					else if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.Index)) {
+						shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxIndexNameLengthWithPrefix);
+						shortenedName = prefix + "_" + shortenedName;		
+						shortenedName = this.processDuplicatedDbName(dbIndexNames, shortenedName, GlobalConstants.MAX_INDEX_NAME_LENGTH, 0);
+					}
+					else if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.Sequence)) {
+						shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxSequenceNameLengthWithPrefix);
+						shortenedName = prefix + "_" + shortenedName;		
+						shortenedName = this.processDuplicatedDbName(dbSeqeunceNames, shortenedName, GlobalConstants.MAX_SEQEUNCE_NAME_LENGTH, 0);
+					}
+					
+					if (shortenedName != null) {
+						attr.setValueAt(shortenedName, "name");
+					}									
+				}		
+				break;
+			};
+		}
+	}
+	
+	private String processDuplicatedDbName(Set<String> dbNames, String inputString, int maxLength, int k) {
+		while (!dbNames.add(inputString)) {
+			k++;
+			inputString = NameShortener.shortenDbObjectName(inputString, maxLength, k);	
+		}
+		
+		return inputString;
+	}
+	
+	private String processDuplicatedDbColumnName(String tableName, String inputString, int maxLength, int k) {
+		Set<String> columnNames = dbTableColumnsMap.computeIfAbsent(tableName, v -> new HashSet<String>());
+		return processDuplicatedDbName(columnNames, inputString, maxLength, k);
+	}
+
+}
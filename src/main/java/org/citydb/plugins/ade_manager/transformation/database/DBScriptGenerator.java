@@ -27,11 +27,6 @@
  */
 package org.citydb.plugins.ade_manager.transformation.database;
 
-import agg.attribute.AttrInstance;
-import agg.xt_basis.Arc;
-import agg.xt_basis.GraGra;
-import agg.xt_basis.Node;
-import agg.xt_basis.Type;
 import org.apache.ddlutils.Platform;
 import org.apache.ddlutils.PlatformInfo;
 import org.apache.ddlutils.model.Column;
@@ -45,8 +40,10 @@ import org.citydb.config.project.database.DatabaseType;
 import org.citydb.plugins.ade_manager.config.ConfigImpl;
 import org.citydb.plugins.ade_manager.transformation.database.extension.*;
 import org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType;
-import org.citydb.plugins.ade_manager.util.GlobalConstants;
-import org.citydb.plugins.ade_manager.util.NameShortener;
+import org.citydb.plugins.ade_manager.transformation.model.DBColumn;
+import org.citydb.plugins.ade_manager.transformation.model.DBJoin;
+import org.citydb.plugins.ade_manager.transformation.model.DBTable;
+import org.citydb.plugins.ade_manager.transformation.model.TransformationModel;
 import org.citydb.plugins.ade_manager.util.PathResolver;
 import org.citydb.util.log.Logger;
 
@@ -57,67 +54,39 @@ import java.sql.Types;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
+/**
+ * Generates the SQL scripts of the ADE database schema for one database platform. Instances for
+ * different platforms do not share any state and can be run concurrently on the same model.
+ */
 public class DBScriptGenerator {	
 	private Map<String, Table> databaseTables;
-	private GraGra graphGrammar;
-	
-	private List<String> dbFkConstratintNameList;
-	private List<String> dbIndexNameList;
-	private List<String> dbTableNameList;
-	private List<String> dbSeqeunceNameList;
-	private Map<String, List<String>> dbTableColumnsMap;
-	private Platform databasePlatform;
+	private final TransformationModel transformationModel;
+	private final Platform databasePlatform;
 	private ConfigImpl config;
 	private static final String indentStr = "    ";
 	private final Logger LOG = Logger.getInstance();
 
-	public DBScriptGenerator(GraGra graphGrammar, ConfigImpl config) {
-		this.graphGrammar = graphGrammar;		
-		new ArrayList<String>(); 
-		this.dbFkConstratintNameList = new ArrayList<String>(); 
-		this.dbIndexNameList = new ArrayList<String>(); 
-		this.dbTableNameList = new ArrayList<String>(); 
-		this.dbSeqeunceNameList = new ArrayList<String>(); 
-		this.dbTableColumnsMap = new HashMap<String, List<String>>();
+	public DBScriptGenerator(TransformationModel transformationModel, Platform databasePlatform, ConfigImpl config) {
+		this.transformationModel = transformationModel;
+		this.databasePlatform = databasePlatform;
 		this.databaseTables = new HashMap<String, Table>();	
 		this.config = config;
 	}
 
 	public Database createDatabaseScripts() {
-		// shorten database object name;
-		this.shrotenDatabaseObjectName();
-
 		// create database tables
-		List<Node> tableNodes = getTableNodes();
-		if (tableNodes != null) {
-			Iterator<Node> iter = tableNodes.iterator();
-			while (iter.hasNext()) {
-				Node tableNode = iter.next();
-				this.createDatabaseTable(tableNode);			
-			}
-		}		
+		for (DBTable table : transformationModel.getTables())
+			this.createDatabaseTable(table);
 		
 		// create foreign key constraints
-		List<Node> joinNodes = getJoinNodes();
-		if (joinNodes != null) {
-			Iterator<Node> iter = joinNodes.iterator();
-			while (iter.hasNext()) {
-				Node joinNode = iter.next();
-				this.createForeignKeyContraint(joinNode);			
-			}
-		}	
+		for (DBJoin join : transformationModel.getJoins())
+			this.createForeignKeyContraint(join);
 		
 		Database database = new Database();	
 		List<Table> list = new ArrayList<Table>(databaseTables.values());
 		database.addTables(list);
 		
-		// Oracle version
-		databasePlatform = new Oracle10Platform();
-		this.marshallingDatabaseSchema(databasePlatform, database);
-		
-		// PgSQL version
-		databasePlatform = new PostgreSqlPlatform();		
-		this.marshallingDatabaseSchema(databasePlatform, database);
+		this.marshallingDatabaseSchema(database);
 		
 		return database;
 	}
@@ -126,60 +95,40 @@ public class DBScriptGenerator {
 		return this.databasePlatform;
 	}
 	
-	private void createDatabaseTable(Node tableNode) {
-		String tableName = (String) tableNode.getAttribute().getValueAt("name");	
+	private void createDatabaseTable(DBTable table) {
+		String tableName = table.getName();	
 		Table dbTable = new Table();
 		dbTable.setName(tableName);
 				
-		Iterator<Arc> iter = tableNode.getIncomingArcs();
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.BelongsTo)) {
-				Node columnNode = (Node) arc.getSource();
-				if (columnNode.getType().getParent().getName().equalsIgnoreCase(GraphNodeArcType.JoinColumn)
-						|| columnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.JoinColumn)) {
-					this.createJoinColumn(dbTable, columnNode);
-				}
-				else if (columnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.NormalDataColumn)) {
-					this.createNoramlDataColumn(dbTable, columnNode);
-				}
-				else if (columnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.GenericDataColumn)) {
-					this.createGeneircDataColumn(dbTable, columnNode);
-				}
-				else if (columnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.InlineGeometryColumn)) {
-					this.createInlineGeometryColumn(dbTable, columnNode);
-				}
+		for (DBColumn column : table.getColumns()) {
+			if (column.isJoinColumn()) {
+				this.createJoinColumn(dbTable, column);
+			}
+			else if (column.isOfType(GraphNodeArcType.NormalDataColumn)) {
+				this.createNoramlDataColumn(dbTable, column);
+			}
+			else if (column.isOfType(GraphNodeArcType.GenericDataColumn)) {
+				this.createGeneircDataColumn(dbTable, column);
+			}
+			else if (column.isOfType(GraphNodeArcType.InlineGeometryColumn)) {
+				this.createInlineGeometryColumn(dbTable, column);
 			}
 		}
 		
 		databaseTables.put(tableName, dbTable);
 	}
 	
-	private void createIndexForColumn(Table dbTable, IndexedColumn indexedColumn, Node columnNode) {
-		Iterator<Arc> iter = columnNode.getIncomingArcs();
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.TargetColumn)) {
-				Node sourceNode = (Node) arc.getSource();
-				if (sourceNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.Index)) {
-					String indexName = (String) sourceNode.getAttribute().getValueAt("name");
-					indexedColumn.setIndexName(indexName);
-				}
-			}			
-		}
-	}
-	
-	private void createGeneircDataColumn(Table dbTable, Node columnNode) {
-		String columnName = (String) columnNode.getAttribute().getValueAt("name");
+	private void createGeneircDataColumn(Table dbTable, DBColumn dbColumn) {
+		String columnName = dbColumn.getName();
 		Column column = new Column();
 		column.setName(columnName);
 		column.setTypeCode(Types.CLOB);
 		dbTable.addColumn(column);
 	}
 		
-	private void createJoinColumn(Table dbTable, Node columnNode) {
-		String columnName = (String) columnNode.getAttribute().getValueAt("name");	
-		IndexedColumn indexedColumn = new IndexedColumn(dbTable.getName(), getSequences(), this);
+	private void createJoinColumn(Table dbTable, DBColumn dbColumn) {
+		String columnName = dbColumn.getName();	
+		IndexedColumn indexedColumn = new IndexedColumn(dbTable.getName(), transformationModel.getSequences(), this);
 		indexedColumn.setName(columnName);
 		if (columnName.equalsIgnoreCase("objectclass_id")) {
 			indexedColumn.setTypeCode(Types.INTEGER);
@@ -188,18 +137,18 @@ public class DBScriptGenerator {
 		}
 
 		dbTable.addColumn(indexedColumn);		
-		if (columnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.PrimaryKeyColumn)) {
+		if (dbColumn.isPrimaryKey()) {
 			indexedColumn.setPrimaryKey(true);
 			indexedColumn.setRequired(true);
 			
 		}
 		if (!columnName.equalsIgnoreCase("id"))
-			this.createIndexForColumn(dbTable, indexedColumn, columnNode);				
+			indexedColumn.setIndexName(dbColumn.getIndexName());				
 	}
 	
-	private void createNoramlDataColumn(Table dbTable, Node columnNode) {
-		String columnName = (String)columnNode.getAttribute().getValueAt("name");
-		String columnSourceType = (String)columnNode.getAttribute().getValueAt("primitiveDataType");
+	private void createNoramlDataColumn(Table dbTable, DBColumn dbColumn) {
+		String columnName = dbColumn.getName();
+		String columnSourceType = dbColumn.getPrimitiveDataType();
 		Column column = new Column();
 		column.setName(columnName);
 
@@ -231,49 +180,26 @@ public class DBScriptGenerator {
 		dbTable.addColumn(column);
 	}
 	
-	private void createInlineGeometryColumn (Table dbTable, Node columnNode) {
-		String columnName = (String) columnNode.getAttribute().getValueAt("name");
+	private void createInlineGeometryColumn (Table dbTable, DBColumn dbColumn) {
+		String columnName = dbColumn.getName();
 		SpatialColumn column = new SpatialColumn(dbTable.getName(), this);
 		column.setName(columnName);
 		dbTable.addColumn(column);
-		this.createIndexForColumn(dbTable, column, columnNode);	
+		column.setIndexName(dbColumn.getIndexName());
 	}
 	
-	private void createForeignKeyContraint(Node joinNode) {
-		Iterator<Arc> iter = joinNode.getOutgoingArcs();
+	private void createForeignKeyContraint(DBJoin join) {
+		DBColumn joinFromColumn = join.getFromColumn();
+		DBColumn joinToColumn = join.getToColumn();
+		String joinFromColumnName = joinFromColumn.getName();
+		String joinFromTableName = joinFromColumn.getTable().getName();
+		String joinToColumnName = joinToColumn.getName();
+		String joinToTableName = joinToColumn.getTable().getName();
+		boolean joinFromColumnIsPk = joinFromColumn.isPrimaryKey();
+		boolean joinToColumnIsPk = joinToColumn.isPrimaryKey();
 		
-		String joinFromColumnName = null;
-		String joinFromTableName = null;
-		String joinToColumnName = null;
-		String joinToTableName = null;
-		Node joinFromColumnNode = null;
-		Node joinToColumnNode = null;
-		boolean joinFromColumnIsPk = false;
-		boolean joinToColumnIsPk = false;
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.JoinFrom)) {
-				joinFromColumnNode = (Node) arc.getTarget();
-				Node joinFromTableNode = (Node)joinFromColumnNode.getOutgoingArcs().next().getTarget();
-				joinFromColumnName = (String)joinFromColumnNode.getAttribute().getValueAt("name");
-				joinFromTableName= (String)joinFromTableNode.getAttribute().getValueAt("name");
-				if (joinFromColumnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.PrimaryKeyColumn)) {
-					joinFromColumnIsPk = true;
-				}
-			}
-			else if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.JoinTo)) {
-				joinToColumnNode = (Node) arc.getTarget();
-				Node joinToTableNode = (Node)joinToColumnNode.getOutgoingArcs().next().getTarget();
-				joinToColumnName = (String)joinToColumnNode.getAttribute().getValueAt("name");
-				joinToTableName= (String)joinToTableNode.getAttribute().getValueAt("name");
-				if (joinToColumnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.PrimaryKeyColumn)) {
-					joinToColumnIsPk = true;
-				}
-			}
-		}
-		
-		String fkName = (String) joinNode.getAttribute().getValueAt("name");
-		String ondelete = (String) joinNode.getAttribute().getValueAt("ondelete");
+		String fkName = join.getName();
+		String ondelete = join.getOndelete();
 
 		RestrictableForeignKey fk = new RestrictableForeignKey();
 		fk.setOndelete(ondelete);
@@ -311,141 +237,6 @@ public class DBScriptGenerator {
         }
     }
 	
-	private void shrotenDatabaseObjectName() {		
-		String prefix = config.getAdeDbPrefix();		
-		if (prefix.length() > GlobalConstants.MAX_DB_PREFIX_LENGTH)
-			prefix = prefix.substring(0, GlobalConstants.MAX_DB_PREFIX_LENGTH);		
-		int prefixLength = prefix.length();
-		
-		int maxTableNameLengthWithPrefix = GlobalConstants.MAX_TABLE_NAME_LENGTH - prefixLength - 1;
-		int maxIndexNameLengthWithPrefix = GlobalConstants.MAX_INDEX_NAME_LENGTH - prefixLength - 1;
-		int maxConstraintNameLengthWithPrefix = GlobalConstants.MAX_CONSTRAINT_NAME_LENGTH - prefixLength - 1;
-		int maxSequenceNameLengthWithPrefix = GlobalConstants.MAX_SEQEUNCE_NAME_LENGTH - prefixLength - 1;
-		
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		while(e.hasMoreElements()){
-			Type nodeType = e.nextElement();
-			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.DatabaseObject)) {
-				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);				
-				if (nodes == null)
-					continue;
-				
-				Iterator<Node> iter = nodes.iterator();
-				while (iter.hasNext()) {
-					Node databaseObjectNode = iter.next();					
-					AttrInstance attr = databaseObjectNode.getAttribute();										
-					String nodeTypeName = databaseObjectNode.getType().getName();
-					String originalDatabaseObjectName = (String) attr.getValueAt("name");
-					String shortenedName = null;
-					if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.DataTable) || nodeTypeName.equalsIgnoreCase(GraphNodeArcType.JoinTable)) {												
-						boolean isADETable = (boolean) attr.getValueAt("isADE");
-						if (isADETable) {
-							shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxTableNameLengthWithPrefix);
-							shortenedName = prefix + "_" + shortenedName;		
-							shortenedName = this.processDuplicatedDbName(dbTableNameList, shortenedName, GlobalConstants.MAX_TABLE_NAME_LENGTH, 0);
-							Iterator<Arc> iter2 = databaseObjectNode.getIncomingArcs();
-							while (iter2.hasNext()) {
-								Arc arc = iter2.next();
-								if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.BelongsTo)) {
-									Node columnNode = (Node) arc.getSource();
-									String columnName = (String)columnNode.getAttribute().getValueAt("name");
-									columnName = NameShortener.shortenDbObjectName(columnName, GlobalConstants.MAX_COLUMN_NAME_LENGTH);	
-									String processedColumnName = this.processDuplicatedDbColumnName(shortenedName, columnName, GlobalConstants.MAX_COLUMN_NAME_LENGTH, 0);
-									columnNode.getAttribute().setValueAt(processedColumnName, "name");								
-								}
-							}								
-						}											
-					}
-					else if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.Join)) {
-						shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxConstraintNameLengthWithPrefix);
-						shortenedName = prefix + "_" + shortenedName;		
-						shortenedName = this.processDuplicatedDbName(dbFkConstratintNameList, shortenedName, GlobalConstants.MAX_CONSTRAINT_NAME_LENGTH, 0);
-					}	
-					else if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.Index)) {
-						shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxIndexNameLengthWithPrefix);
-						shortenedName = prefix + "_" + shortenedName;		
-						shortenedName = this.processDuplicatedDbName(dbIndexNameList, shortenedName, GlobalConstants.MAX_INDEX_NAME_LENGTH, 0);
-					}
-					else if (nodeTypeName.equalsIgnoreCase(GraphNodeArcType.Sequence)) {
-						shortenedName = NameShortener.shortenDbObjectName(originalDatabaseObjectName, maxSequenceNameLengthWithPrefix);
-						shortenedName = prefix + "_" + shortenedName;		
-						shortenedName = this.processDuplicatedDbName(dbSeqeunceNameList, shortenedName, GlobalConstants.MAX_SEQEUNCE_NAME_LENGTH, 0);
-					}
-					
-					if (shortenedName != null) {
-						attr.setValueAt(shortenedName, "name");
-					}									
-				}		
-				break;
-			};
-		}
-	}
-	
-	private String processDuplicatedDbName(List<String> dbNameList, String inputString, int maxLength, int k) {
-		if (!dbNameList.contains(inputString)) {
-			dbNameList.add(inputString);		
-			return inputString;
-		}
-		else {
-			k++;
-			inputString = NameShortener.shortenDbObjectName(inputString, maxLength, k);	
-			return processDuplicatedDbName(dbNameList, inputString, maxLength, k);
-		}
-	}
-	
-	private String processDuplicatedDbColumnName(String tableName, String inputString, int maxLength, int k) {
-		if (!dbTableColumnsMap.containsKey(tableName)) {
-			dbTableColumnsMap.put(tableName, new ArrayList<String>());
-		}
-		
-		List<String> columnList = dbTableColumnsMap.get(tableName);
-		if (!columnList.contains(inputString)) {
-			columnList.add(inputString);		
-			return inputString;
-		}
-		else {
-			k++;
-			inputString = NameShortener.shortenDbObjectName(inputString, maxLength, k);	
-			return processDuplicatedDbColumnName(tableName, inputString, maxLength, k);
-		}
-	}
-	
-	private List<Node> getTableNodes() {
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		while(e.hasMoreElements()){
-			Type nodeType = e.nextElement();
-			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.Table)) {
-				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);
-				return nodes;
-			};
-		}
-		return null;
-	}
-	
-	private List<Node> getJoinNodes() {
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		while(e.hasMoreElements()){
-			Type nodeType = e.nextElement();
-			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.Join)) {
-				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);
-				return nodes;
-			};
-		}
-		return null;
-	}
-	
-	private Node getTableNodeByName(String tName) {
-		List<Node> tableNodeList =  this.getTableNodes();
-		Iterator<Node> iter = tableNodeList.iterator();
-		while (iter.hasNext()) {
-			Node tableNode = iter.next();
-			String tableName = (String) tableNode.getAttribute().getValueAt("name");
-			if (tableName.equalsIgnoreCase(tName))
-				return tableNode;
-		}
-		return null;
-	}
-	
 	private void sortTableColumns(Table table) {
 		Column[] unsortedColumns = table.getColumns();
 		List<Column> sortedColumns = new ArrayList<Column>();
@@ -467,39 +258,85 @@ public class DBScriptGenerator {
 	}
 	
 	private boolean isMappedFromforeignClass(String tableName) {
-		if (tableName.equalsIgnoreCase("Objectclass") || tableName.equalsIgnoreCase("surface_geometry") || tableName.equalsIgnoreCase("implicit_geometry"))
-			return true;
-		
-		Node tableNode = this.getTableNodeByName(tableName);
-		Iterator<Arc> iter = tableNode.getIncomingArcs();
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			Node sourceNode = (Node) arc.getSource();
-			String sourceNodeTypeName = sourceNode.getType().getName();
-			if (sourceNodeTypeName.equalsIgnoreCase(GraphNodeArcType.ComplexType)) {
-				if ((boolean) sourceNode.getAttribute().getValueAt("isForeign")) {					
-					return true;
-				}
-				else {					
-					return false;
-				}
-			}
-		}
-		return false;
+		return transformationModel.getTable(tableName).isMappedFromForeignClass();
 	}
 
-	private void marshallingDatabaseSchema (Platform databasePlatform, Database database) {
-		String headerText = "This document was automatically created by the ADE-Manager "
-				+ "tool of 3DCityDB (https://www.3dcitydb.org) on "
-				+ new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
-		Map<String, Table> adeTables = new TreeMap<String, Table>(databaseTables);
+	/**
+	 * Writes the scripts for enabling and disabling the versioning of the ADE tables. These 
+	 * scripts are only available for Oracle.
+	 */
+	public void createVersioningScripts() {
+		if (!(databasePlatform instanceof Oracle10Platform))
+			return;
+		
+		String headerText = getHeaderText();
+		Set<String> adeTableNames = new TreeSet<String>();
+		for (DBTable table : transformationModel.getTables())
+			adeTableNames.add(table.getName());
 		
 		String outputPath = config.getTransformationOutputPath();
+		DatabaseType databaseType = getDatabaseType();
+		createOutputFolders(outputPath, databaseType);
+		PrintWriter writer = null;
 		
-		File citydbRootFolderpath = new File(PathResolver.get_citydb_folder_path(outputPath));
-		if (!citydbRootFolderpath.exists()) 
-			citydbRootFolderpath.mkdir();
+		// create enable-Versioning script
+		try {
+			File enableVersioningFile = new File(PathResolver.get_enable_ade_versioning_filepath(outputPath, databaseType));
+			writer = new PrintWriter(enableVersioningFile);
+			printComment(headerText, databasePlatform, writer);	
+			printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);						
+			printComment("*********************************** Enable Versioning **********************************", databasePlatform, writer);
+			printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);	
+			writer.println();
+			Iterator<String> iterator = adeTableNames.iterator();
+			StringBuilder commandStr = new StringBuilder().append("DBMS_WM.EnableVersioning('"); 
+			while (iterator.hasNext()) {
+				String tableName = iterator.next();
+				if (!isMappedFromforeignClass(tableName)) 
+					commandStr.append(tableName).append(iterator.hasNext()?",":"");										
+			}	
+			commandStr.append("','VIEW_WO_OVERWRITE');"); 
+
+			writer.println("exec " + commandStr.toString());
+		} catch (IOException | NullPointerException e) {			
+			e.printStackTrace();
+		} finally {
+			writer.close();	
+		}
 		
+		// create disable-Versioning script
+		try {
+			File disableVersioningFile = new File(PathResolver.get_disable_ade_versioning_filepath(outputPath, databaseType));				
+			writer = new PrintWriter(disableVersioningFile);
+			printComment(headerText, databasePlatform, writer);	
+			printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);						
+			printComment("*********************************** Disable Versioning *********************************", databasePlatform, writer);
+			printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);	
+			writer.println();
+			Iterator<String> iterator = adeTableNames.iterator();
+			StringBuilder commandStr = new StringBuilder().append("DBMS_WM.DisableVersioning('"); 
+			while (iterator.hasNext()) {
+				String tableName = iterator.next();
+				if (!isMappedFromforeignClass(tableName)) 
+					commandStr.append(tableName).append(iterator.hasNext()?",":"");										
+			}	
+			commandStr.append("',true, true);"); 
+
+			writer.println("exec " + commandStr.toString());
+		} catch (IOException | NullPointerException e) {			
+			e.printStackTrace();
+		} finally {
+			writer.close();	
+		}		
+	}
+	
+	private String getHeaderText() {
+		return "This document was automatically created by the ADE-Manager "
+				+ "tool of 3DCityDB (https://www.3dcitydb.org) on "
+				+ new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+	}
+	
+	private DatabaseType getDatabaseType() {
 		DatabaseType databaseType = null;
 		if (databasePlatform instanceof Oracle10Platform) {
 			databaseType = DatabaseType.ORACLE;
@@ -507,16 +344,34 @@ public class DBScriptGenerator {
 		else if (databasePlatform instanceof PostgreSqlPlatform) {
 			databaseType = DatabaseType.POSTGIS;
 		}
+		
+		return databaseType;
+	}
+	
+	private void createOutputFolders(String outputPath, DatabaseType databaseType) {
+		// the folders may be created concurrently by the generators of the other platforms
+		File citydbRootFolderpath = new File(PathResolver.get_citydb_folder_path(outputPath));
+		if (!citydbRootFolderpath.exists()) 
+			citydbRootFolderpath.mkdir();
 
 		File dbSchemaFolder = new File(PathResolver.get_citydb_schema_folder_path(outputPath, databaseType));
 		if (!dbSchemaFolder.exists()) 
 			dbSchemaFolder.mkdir();
+	}
+
+	private void marshallingDatabaseSchema (Database database) {
+		String headerText = getHeaderText();
+		Map<String, Table> adeTables = new TreeMap<String, Table>(databaseTables);
+		
+		String outputPath = config.getTransformationOutputPath();
+		DatabaseType databaseType = getDatabaseType();
+		createOutputFolders(outputPath, databaseType);
 
 		// Create Database Schema for ADE...
 		PrintWriter writer = null;
 		int tableCounter = 0;
 
-		Collection<String> sequences = getSequences().values();
+		Collection<String> sequences = transformationModel.getSequences().values();
 		
 		try {
 			File createDbFile = new File(PathResolver.get_create_ade_db_filepath(outputPath, databaseType));
@@ -566,7 +421,7 @@ public class DBScriptGenerator {
 			printComment("*********************************** Create Indexes *************************************", databasePlatform, writer);
 			printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);	
 			
-			if (databasePlatform instanceof Oracle10Platform && checkExistenceOfNodeOrArc(GraphNodeArcType.InlineGeometryColumn))
+			if (databasePlatform instanceof Oracle10Platform && transformationModel.hasInlineGeometryColumns())
 				this.printGetSridScript(writer);
 			
 			iterator = adeTables.values().iterator();
@@ -632,61 +487,6 @@ public class DBScriptGenerator {
 		} finally {
 			writer.close();
 		}
-		
-		// create versioning scripts which are only available for Oracle
-		if (databaseType == DatabaseType.ORACLE) {
-			// create enable-Versioning script
-			try {
-				File enableVersioningFile = new File(PathResolver.get_enable_ade_versioning_filepath(outputPath, databaseType));
-				writer = new PrintWriter(enableVersioningFile);
-				printComment(headerText, databasePlatform, writer);	
-				printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);						
-				printComment("*********************************** Enable Versioning **********************************", databasePlatform, writer);
-				printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);	
-				writer.println();
-				Iterator<Table> iterator = adeTables.values().iterator();
-				StringBuilder commandStr = new StringBuilder().append("DBMS_WM.EnableVersioning('"); 
-				while (iterator.hasNext()) {
-					Table table = iterator.next();
-					String tableName = table.getName();
-					if (!isMappedFromforeignClass(tableName)) 
-						commandStr.append(tableName).append(iterator.hasNext()?",":"");										
-				}	
-				commandStr.append("','VIEW_WO_OVERWRITE');"); 
-
-				writer.println("exec " + commandStr.toString());
-			} catch (IOException | NullPointerException e) {			
-				e.printStackTrace();
-			} finally {
-				writer.close();	
-			}
-			
-			// create disable-Versioning script
-			try {
-				File disableVersioningFile = new File(PathResolver.get_disable_ade_versioning_filepath(outputPath, databaseType));				
-				writer = new PrintWriter(disableVersioningFile);
-				printComment(headerText, databasePlatform, writer);	
-				printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);						
-				printComment("*********************************** Disable Versioning *********************************", databasePlatform, writer);
-				printComment("++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++", databasePlatform, writer);	
-				writer.println();
-				Iterator<Table> iterator = adeTables.values().iterator();
-				StringBuilder commandStr = new StringBuilder().append("DBMS_WM.DisableVersioning('"); 
-				while (iterator.hasNext()) {
-					Table table = iterator.next();
-					String tableName = table.getName();
-					if (!isMappedFromforeignClass(tableName)) 
-						commandStr.append(tableName).append(iterator.hasNext()?",":"");										
-				}	
-				commandStr.append("',true, true);"); 
-
-				writer.println("exec " + commandStr.toString());
-			} catch (IOException | NullPointerException e) {			
-				e.printStackTrace();
-			} finally {
-				writer.close();	
-			}		
-		}  
 	}
 	
 	private void printGetSridScript(PrintWriter writer) {
@@ -890,41 +690,4 @@ public class DBScriptGenerator {
 		writer.println();
 	}
 
-	private Map<String, String> getSequences() {
-		Map<String, String> sequences = new HashMap();
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		while(e.hasMoreElements()) {
-			Type nodeType = e.nextElement();
-			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.Sequence)) {
-				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);
-				if (nodes != null) {
-					Iterator<Node> iter = nodes.iterator();
-					while (iter.hasNext()) {
-						Node sequenceNode = iter.next();
-						String sequenceName = (String) sequenceNode.getAttribute().getValueAt("name");
-						Node targetTableNode = (Node)sequenceNode.getOutgoingArcs().next().getTarget();
-						String tableName = (String)targetTableNode.getAttribute().getValueAt("name");
-						sequences.put(tableName, sequenceName);
-					}
-				}
-			}
-		}
-		return sequences;
-	}
-	
-	private boolean checkExistenceOfNodeOrArc(String nodeOrArcTypeName) {
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		while(e.hasMoreElements()){
-			Type nodeType = e.nextElement();
-			if (nodeType.getName().equalsIgnoreCase(nodeOrArcTypeName)) {
-				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);
-				if (nodes == null)
-					return false;
-				if (nodes.size() > 0)
-					return true;
-			};
-		}
-		return false;
-	}
-
 }
@@ -34,22 +34,88 @@ import org.citygml4j.xml.schema.Schema;
 import javax.xml.namespace.QName;
 
 public class ADEschemaElement extends ElementDecl {
+	// classification flags which are evaluated at most once per element
+	private static final int CITYGML_CLASS = 1;
+	private static final int GML_REFERENCE_PROPERTY = 1 << 1;
+	private static final int CITYGML_NON_PROPERTY = 1 << 2;
+	private static final int IMPLICIT_GEOMETRY_PROPERTY = 1 << 3;
+	private static final int FEATURE_OR_OBJECT_PROPERTY = 1 << 4;
+	private static final int UNION_PROPERTY = 1 << 5;
+	private static final int COMPLEX_DATA_PROPERTY = 1 << 6;
+	private static final int UNION = 1 << 7;
+	private static final int COMPLEX_DATA_TYPE = 1 << 8;
+	private static final int COMPLEX_ATTRIBUTE = 1 << 9;
+	private static final int SIMPLE_BASIC_PROPERTY = 1 << 10;
+	private static final int ENUMERATION_PROPERTY = 1 << 11;
+	private static final int ADE_HOOK_ELEMENT = 1 << 12;
+	private static final int DERIVED_FROM_OTHER_DOMAINS = 1 << 13;
+	private static final int BREP_GEOMETRY_PROPERTY = 1 << 14;
+	private static final int POINT_OR_LINE_GEOMETRY_PROPERTY = 1 << 15;
+	private static final int HYBRID_GEOMETRY_PROPERTY = 1 << 16;
+	private static final int ABSTRACT_GML = 1 << 17;
+	private static final int FEATURE = 1 << 18;
+	private static final int CITY_OBJECT = 1 << 19;
+	private static final int CITYDB_TABLE_NAME = 1 << 20;
 
 	private Schema schema;
 	private XSElementDecl element;
+	private ADEschemaElementCache cache;
+	private int evaluated;
+	private int classification;
+	private String citydbTableName;
 	
 	public ADEschemaElement(XSElementDecl decl, Schema schema) {
+		this(decl, schema, null);
+	}
+	
+	ADEschemaElement(XSElementDecl decl, Schema schema, ADEschemaElementCache cache) {
 		super(decl, schema);
 		this.element = decl;
 		this.schema = schema;
+		this.cache = cache;
 	}	
 	
+	@Override
+	public boolean isAbstractGML() {
+		if (!isEvaluated(ABSTRACT_GML))
+			setClassification(ABSTRACT_GML, super.isAbstractGML());
+		
+		return hasClassification(ABSTRACT_GML);
+	}
+	
+	@Override
+	public boolean isFeature() {
+		if (!isEvaluated(FEATURE))
+			setClassification(FEATURE, super.isFeature());
+		
+		return hasClassification(FEATURE);
+	}
+	
+	@Override
+	public boolean isCityObject() {
+		if (!isEvaluated(CITY_OBJECT))
+			setClassification(CITY_OBJECT, super.isCityObject());
+		
+		return hasClassification(CITY_OBJECT);
+	}
+	
 	public boolean isCityGMLClass() {
-		XSType xsType = element.getType();
-		return ADEschemaHelper.CityGML_Namespaces.contains(xsType.getTargetNamespace());
+		if (!isEvaluated(CITYGML_CLASS)) {
+			XSType xsType = element.getType();
+			setClassification(CITYGML_CLASS, ADEschemaHelper.CityGML_Namespaces.contains(xsType.getTargetNamespace()));
+		}
+		
+		return hasClassification(CITYGML_CLASS);
 	}
 	
 	public boolean isGMLreferenceProperty() {
+		if (!isEvaluated(GML_REFERENCE_PROPERTY))
+			setClassification(GML_REFERENCE_PROPERTY, checkGMLreferenceProperty());
+		
+		return hasClassification(GML_REFERENCE_PROPERTY);
+	}
+	
+	private boolean checkGMLreferenceProperty() {
 		XSType xsType = element.getType();
 		String namespace = xsType.getTargetNamespace();
 		String typeName = xsType.getName();
@@ -62,18 +128,24 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isCityGMLnonPorperty() {
-		XSType xsType = element.getType();
-		String typeName = xsType.getName();
-		if (typeName != null) {
-			if (ADEschemaHelper.CityDB_Tables.containsKey(new QName(xsType.getTargetNamespace(), xsType.getName()))) {
-				return true;
-			}
-		}	
+		if (!isEvaluated(CITYGML_NON_PROPERTY))
+			setClassification(CITYGML_NON_PROPERTY, checkCityGMLnonPorperty());
 		
-		return false;
+		return hasClassification(CITYGML_NON_PROPERTY);
+	}
+	
+	private boolean checkCityGMLnonPorperty() {
+		return getCitydbTableName() != null;
 	}
 	
 	public boolean isImplicitGeometryProperty() {
+		if (!isEvaluated(IMPLICIT_GEOMETRY_PROPERTY))
+			setClassification(IMPLICIT_GEOMETRY_PROPERTY, checkImplicitGeometryProperty());
+		
+		return hasClassification(IMPLICIT_GEOMETRY_PROPERTY);
+	}
+	
+	private boolean checkImplicitGeometryProperty() {
 		XSType xsType = element.getType();
 		String namespace = xsType.getTargetNamespace();
 		String typeName = xsType.getName();
@@ -87,6 +159,13 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isFeatureOrObjectProperty() {
+		if (!isEvaluated(FEATURE_OR_OBJECT_PROPERTY))
+			setClassification(FEATURE_OR_OBJECT_PROPERTY, checkFeatureOrObjectProperty());
+		
+		return hasClassification(FEATURE_OR_OBJECT_PROPERTY);
+	}
+	
+	private boolean checkFeatureOrObjectProperty() {
 		XSType xsType = element.getType();
 		String localNamespace = xsType.getTargetNamespace();
 		if (xsType.getName() != null && xsType.isComplexType() && (schema.getNamespaceURI().equalsIgnoreCase(localNamespace)
@@ -102,7 +181,7 @@ public class ADEschemaElement extends ElementDecl {
 		                XSTerm pterm = p.getTerm();
 		                if (pterm.isElementDecl()) { 
 		                    XSElementDecl childElementDecl = (XSElementDecl) pterm;
-		                    ADEschemaElement elementDecl = new ADEschemaElement(childElementDecl, schema);
+		                    ADEschemaElement elementDecl = getChildElement(childElementDecl);
 		                    if (elementDecl.isAbstractGML()||elementDecl.isFeature()||elementDecl.isCityObject()) {
 		                    	return true;
 		                    }
@@ -115,6 +194,13 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isUnionProperty() {
+		if (!isEvaluated(UNION_PROPERTY))
+			setClassification(UNION_PROPERTY, checkUnionProperty());
+		
+		return hasClassification(UNION_PROPERTY);
+	}
+	
+	private boolean checkUnionProperty() {
 		XSType xsType = element.getType();
 		String localNamespace = xsType.getTargetNamespace();
 		if (xsType.getName() != null && xsType.isComplexType() && (schema.getNamespaceURI().equalsIgnoreCase(localNamespace)
@@ -130,7 +216,7 @@ public class ADEschemaElement extends ElementDecl {
 		                XSTerm pterm = p.getTerm();
 		                if (pterm.isElementDecl()) { 
 		                    XSElementDecl childElementDecl = (XSElementDecl) pterm;
-		                    ADEschemaElement elementDecl = new ADEschemaElement(childElementDecl, schema);
+		                    ADEschemaElement elementDecl = getChildElement(childElementDecl);
 		                    if (elementDecl.isUnion()) {
 		                    	return true;
 		                    }
@@ -143,6 +229,13 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isComplexDataProperty() {
+		if (!isEvaluated(COMPLEX_DATA_PROPERTY))
+			setClassification(COMPLEX_DATA_PROPERTY, checkComplexDataProperty());
+		
+		return hasClassification(COMPLEX_DATA_PROPERTY);
+	}
+	
+	private boolean checkComplexDataProperty() {
 		XSType xsType = element.getType();
 		String localNamespace = xsType.getTargetNamespace();
 		if (xsType.getName() != null && xsType.isComplexType() && (schema.getNamespaceURI().equalsIgnoreCase(localNamespace) || ADEschemaHelper.CityGML_Namespaces.contains(localNamespace))) {
@@ -157,7 +250,7 @@ public class ADEschemaElement extends ElementDecl {
 		                XSTerm pterm = p.getTerm();
 		                if (pterm.isElementDecl()) { 
 		                    XSElementDecl childElementDecl = (XSElementDecl) pterm;
-		                    ADEschemaElement elementDecl = new ADEschemaElement(childElementDecl, schema);
+		                    ADEschemaElement elementDecl = getChildElement(childElementDecl);
 		                    if (elementDecl.isComplexDataType()) {
 		                    	return true;
 		                    }
@@ -170,6 +263,13 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isUnion() {
+		if (!isEvaluated(UNION))
+			setClassification(UNION, checkUnion());
+		
+		return hasClassification(UNION);
+	}
+	
+	private boolean checkUnion() {
 		XSType xsType = element.getType();
 		if (xsType.isComplexType() && xsType.getTargetNamespace().equalsIgnoreCase(schema.getNamespaceURI())) {
 			XSContentType xsContentType = xsType.asComplexType().getContentType();
@@ -187,7 +287,14 @@ public class ADEschemaElement extends ElementDecl {
 		return false; 
 	}
 
-	public boolean isComplexDataType(){
+	public boolean isComplexDataType() {
+		if (!isEvaluated(COMPLEX_DATA_TYPE))
+			setClassification(COMPLEX_DATA_TYPE, checkComplexDataType());
+		
+		return hasClassification(COMPLEX_DATA_TYPE);
+	}
+	
+	private boolean checkComplexDataType() {
 		XSType type = element.getType();
 		
 		if (type.isComplexType() && schema.getNamespaceURI().equalsIgnoreCase(type.getTargetNamespace())) {
@@ -200,18 +307,39 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isComplexAttribute() {
+		if (!isEvaluated(COMPLEX_ATTRIBUTE))
+			setClassification(COMPLEX_ATTRIBUTE, checkComplexAttribute());
+		
+		return hasClassification(COMPLEX_ATTRIBUTE);
+	}
+	
+	private boolean checkComplexAttribute() {
 		XSType xsType = element.getType();
 		
 		return ADEschemaHelper.ComplexAttributeTypes.containsKey(xsType.getName());
 	}
 	
 	public boolean isSimpleBasicProperty() {
+		if (!isEvaluated(SIMPLE_BASIC_PROPERTY))
+			setClassification(SIMPLE_BASIC_PROPERTY, checkSimpleBasicProperty());
+		
+		return hasClassification(SIMPLE_BASIC_PROPERTY);
+	}
+	
+	private boolean checkSimpleBasicProperty() {
 		
 		XSType xsType = element.getType();
 		return ADEschemaHelper.SimpleAttributeTypes.containsKey(xsType.getName());
 	}
 	
-	public boolean isEnumerationProperty(){
+	public boolean isEnumerationProperty() {
+		if (!isEvaluated(ENUMERATION_PROPERTY))
+			setClassification(ENUMERATION_PROPERTY, checkEnumerationProperty());
+		
+		return hasClassification(ENUMERATION_PROPERTY);
+	}
+	
+	private boolean checkEnumerationProperty() {
 		XSType xsType = element.getType();
 		
 		if (xsType.isSimpleType() && schema.getNamespaceURI().equalsIgnoreCase(xsType.getTargetNamespace())) {
@@ -221,7 +349,14 @@ public class ADEschemaElement extends ElementDecl {
 		return false;
 	}
 
-	public boolean isADEHookElement(){
+	public boolean isADEHookElement() {
+		if (!isEvaluated(ADE_HOOK_ELEMENT))
+			setClassification(ADE_HOOK_ELEMENT, checkADEHookElement());
+		
+		return hasClassification(ADE_HOOK_ELEMENT);
+	}
+	
+	private boolean checkADEHookElement() {
 		XSElementDecl hookXSElementDecl = element.getSubstAffiliation();
 		if (hookXSElementDecl != null) {
 			if (ADEschemaHelper.CityGML_Hooks.containsKey(hookXSElementDecl.getName()))
@@ -230,7 +365,14 @@ public class ADEschemaElement extends ElementDecl {
 		return false;
 	}
 	
-	public boolean isDerivedFromOtherDomains(){
+	public boolean isDerivedFromOtherDomains() {
+		if (!isEvaluated(DERIVED_FROM_OTHER_DOMAINS))
+			setClassification(DERIVED_FROM_OTHER_DOMAINS, checkDerivedFromOtherDomains());
+		
+		return hasClassification(DERIVED_FROM_OTHER_DOMAINS);
+	}
+	
+	private boolean checkDerivedFromOtherDomains() {
 		XSElementDecl substAffiliation = element.getSubstAffiliation();
 		if (substAffiliation == null)
 			return false;
@@ -244,24 +386,70 @@ public class ADEschemaElement extends ElementDecl {
 	}
 	
 	public boolean isBrepGeometryProperty() {
+		if (!isEvaluated(BREP_GEOMETRY_PROPERTY))
+			setClassification(BREP_GEOMETRY_PROPERTY, checkBrepGeometryProperty());
+		
+		return hasClassification(BREP_GEOMETRY_PROPERTY);
+	}
+	
+	private boolean checkBrepGeometryProperty() {
 		XSType xsType = element.getType();
 		return ADEschemaHelper.BrepGeometryPropertyTypes.containsKey(xsType.getName()) && xsType.getTargetNamespace().equalsIgnoreCase("http://www.opengis.net/gml");
 	}
 	
 	public boolean isPointOrLineGeometryProperty() {
+		if (!isEvaluated(POINT_OR_LINE_GEOMETRY_PROPERTY))
+			setClassification(POINT_OR_LINE_GEOMETRY_PROPERTY, checkPointOrLineGeometryProperty());
+		
+		return hasClassification(POINT_OR_LINE_GEOMETRY_PROPERTY);
+	}
+	
+	private boolean checkPointOrLineGeometryProperty() {
 		XSType xsType = element.getType();
 		return ADEschemaHelper.PointOrLineGeometryPropertyTypes.containsKey(xsType.getName()) && xsType.getTargetNamespace().equalsIgnoreCase("http://www.opengis.net/gml");
 	}
 	
 	public boolean isHybridGeometryProperty() {
+		if (!isEvaluated(HYBRID_GEOMETRY_PROPERTY))
+			setClassification(HYBRID_GEOMETRY_PROPERTY, checkHybridGeometryProperty());
+		
+		return hasClassification(HYBRID_GEOMETRY_PROPERTY);
+	}
+	
+	private boolean checkHybridGeometryProperty() {
 		XSType xsType = element.getType();
 		return ADEschemaHelper.HybridGeometryPropertyTypes.containsKey(xsType.getName()) && xsType.getTargetNamespace().equalsIgnoreCase("http://www.opengis.net/gml");
 	}
 
 	public String getCitydbTableName() {
-		return ADEschemaHelper.CityDB_Tables.get(new QName(element.getType().getTargetNamespace(), element.getType().getName()));
+		if (!isEvaluated(CITYDB_TABLE_NAME)) {
+			XSType xsType = element.getType();
+			if (xsType.getName() != null)
+				citydbTableName = ADEschemaHelper.CityDB_Tables.get(new QName(xsType.getTargetNamespace(), xsType.getName()));
+			
+			evaluated |= CITYDB_TABLE_NAME;
+		}
+		
+		return citydbTableName;
 	}
 	
+	private ADEschemaElement getChildElement(XSElementDecl childElementDecl) {
+		return cache != null ? cache.getElement(childElementDecl, schema) : new ADEschemaElement(childElementDecl, schema);
+	}
+	
+	private boolean isEvaluated(int flag) {
+		return (evaluated & flag) != 0;
+	}
 	
+	private boolean hasClassification(int flag) {
+		return (classification & flag) != 0;
+	}
+	
+	private void setClassification(int flag, boolean value) {
+		if (value)
+			classification |= flag;
+		
+		evaluated |= flag;
+	}
 
 }
@@ -0,0 +1,56 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.graph;
+
+import com.sun.xml.xsom.XSElementDecl;
+import org.citygml4j.xml.schema.Schema;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-transformation cache of the {@link ADEschemaElement} instances of the parsed schemas. 
+ * The classification of an element depends on the schema it is evaluated against, so the 
+ * elements are kept per schema and element declaration. Each element evaluates its 
+ * classification only once, which avoids walking the XSOM type hierarchy repeatedly.
+ */
+class ADEschemaElementCache {
+	private final Map<Schema, Map<XSElementDecl, ADEschemaElement>> elements = new IdentityHashMap<>();
+
+	ADEschemaElement getElement(XSElementDecl decl, Schema schema) {
+		Map<XSElementDecl, ADEschemaElement> schemaElements = elements.computeIfAbsent(schema, v -> new IdentityHashMap<>());
+		ADEschemaElement element = schemaElements.get(decl);
+		if (element == null) {
+			element = new ADEschemaElement(decl, schema, this);
+			schemaElements.put(decl, element);
+		}
+
+		return element;
+	}
+
+}
@@ -58,6 +58,7 @@ public class GraphCreator {
 	private List<String> namespaces;
 	private Map<QName, Node> globalClassNodes;
 	private Map<String, ADEschemaElement> xsTypeElementMap;
+	private ADEschemaElementCache elementCache;
 	private Node hostSchemaNode;
 	private final Logger LOG = Logger.getInstance();
 
@@ -65,6 +66,7 @@ public class GraphCreator {
 		this.schemaHandler = schemaHandler;			
 		this.namespaces = namespaces;
 		this.graphGrammar = graphGrammar;	
+		this.elementCache = new ADEschemaElementCache();
 	}
 
 	public void createGraph() {
@@ -86,7 +88,7 @@ public class GraphCreator {
 			xsTypeElementMap = new HashMap<>();
 			for (XSElementDecl decl : xsElementDecls.values()) {
 				XSType elementType = decl.getType();
-				ADEschemaElement adeElement = new ADEschemaElement(decl, schema);
+				ADEschemaElement adeElement = elementCache.getElement(decl, schema);
 				if ((adeElement.isAbstractGML() || adeElement.isFeature() || adeElement.isComplexDataType()) && 
 						xsComplexTypes.containsKey(elementType.getName()) && !adeElement.isADEHookElement()) {
 					xsTypeElementMap.put(elementType.getName(), adeElement);
@@ -105,7 +107,7 @@ public class GraphCreator {
 	}
 
 	private void parseGlobalClassElement(XSElementDecl xsElementDecl) {								
-		ADEschemaElement decl = new ADEschemaElement(xsElementDecl, schema);
+		ADEschemaElement decl = elementCache.getElement(xsElementDecl, schema);
 
 		if (decl.isADEHookElement()) {
 			this.parseADEHookElement(xsElementDecl);
@@ -119,7 +121,7 @@ public class GraphCreator {
 					// process extension
 					XSElementDecl parentXsElementDecl = xsElementDecl.getSubstAffiliation();
 					if (parentXsElementDecl != null) {					
-						ADEschemaElement parentDecl = new ADEschemaElement(parentXsElementDecl, schemaHandler.getSchema(parentXsElementDecl.getTargetNamespace()));				
+						ADEschemaElement parentDecl = elementCache.getElement(parentXsElementDecl, schemaHandler.getSchema(parentXsElementDecl.getTargetNamespace()));				
 						Node parentNode = this.getOrCreateElementTypeNode(parentDecl);					
 						Node extensionNode = this.createNode(GraphNodeArcType.Extension);
 						this.createArc(GraphNodeArcType.Contains, classNode, extensionNode);
@@ -172,7 +174,7 @@ public class GraphCreator {
 
 			if (superCityGMLClassName != null) {
 				XSElementDecl superCityGMLClassXSElementDecl = citygmlModuleSchema.getXSSchema().getElementDecl(superCityGMLClassName);
-				ADEschemaElement parentDecl = new ADEschemaElement(superCityGMLClassXSElementDecl, schemaHandler.getSchema(superCityGMLClassXSElementDecl.getTargetNamespace()));					
+				ADEschemaElement parentDecl = elementCache.getElement(superCityGMLClassXSElementDecl, schemaHandler.getSchema(superCityGMLClassXSElementDecl.getTargetNamespace()));					
 				Node superCityGMLClassNode = this.getOrCreateElementTypeNode(parentDecl);	
 
 				String subClassName = "_" + ADEschemaHelper.CityDB_Tables.get(new QName(citygmlHookNamespace, superCityGMLClassXSElementDecl.getType().getName()));
@@ -229,7 +231,7 @@ public class GraphCreator {
 	}
 
 	private void parseLocalPropertyElement(XSElementDecl propertyXSElementDecl, Node parentNode, int minOccurs, int maxOccurs) {
-		ADEschemaElement propertyDecl = new ADEschemaElement(propertyXSElementDecl, schema);
+		ADEschemaElement propertyDecl = elementCache.getElement(propertyXSElementDecl, schema);
 
 		
 		String nameAndPath = propertyDecl.getLocalName();
@@ -484,7 +486,7 @@ public class GraphCreator {
 			Entry<String, XSElementDecl> elementDeclEntry = (Entry<String, XSElementDecl>) iter.next();
 			XSElementDecl xsElementDecl = elementDeclEntry.getValue();
 			if (xsElementDecl.getType().getName().equalsIgnoreCase(className)) {
-				ADEschemaElement decl = new ADEschemaElement(xsElementDecl, targetSchema);	
+				ADEschemaElement decl = elementCache.getElement(xsElementDecl, targetSchema);	
 				Node childNode = this.getOrCreateElementTypeNode(decl); 		
 				this.createArc(GraphNodeArcType.TargetType, propertyNode, childNode);
 				return;
@@ -517,7 +519,7 @@ public class GraphCreator {
 				String childClassName = strArray[1];
 				String classNameSpace = annotationElement.lookupNamespaceURI(classPrefix);
 				XSElementDecl xsChildElement = schemaHandler.getSchema(classNameSpace).getXSSchema().getElementDecl(childClassName);
-				ADEschemaElement childDecl = new ADEschemaElement(xsChildElement, schemaHandler.getSchema(xsChildElement.getTargetNamespace()));
+				ADEschemaElement childDecl = elementCache.getElement(xsChildElement, schemaHandler.getSchema(xsChildElement.getTargetNamespace()));
 				Node childNode = this.getOrCreateElementTypeNode(childDecl);
 				this.createArc(GraphNodeArcType.TargetType, propertyNode, childNode);
 			}
@@ -557,7 +559,7 @@ public class GraphCreator {
 						XSTerm pterm = p.getTerm();
 						if (pterm.isElementDecl()) {							 
 							XSElementDecl childElementDecl = (XSElementDecl) pterm;
-							ADEschemaElement childDecl = new ADEschemaElement(childElementDecl, schemaHandler.getSchema(childElementDecl.getTargetNamespace()));	                   	                        
+							ADEschemaElement childDecl = elementCache.getElement(childElementDecl, schemaHandler.getSchema(childElementDecl.getTargetNamespace()));	                   	                        
 							Node childNode = getOrCreateElementTypeNode(childDecl);     
 							createArc(GraphNodeArcType.TargetType, propertyNode, childNode);
 
@@ -30,22 +30,28 @@ package org.citydb.plugins.ade_manager.transformation.graph;
 import agg.attribute.AttrInstance;
 import agg.attribute.impl.ValueMember;
 import agg.attribute.impl.ValueTuple;
-import agg.editor.impl.EdGraGra;
 import agg.util.XMLHelper;
 import agg.xt_basis.*;
 import org.citydb.plugins.ade_manager.config.ConfigImpl;
 import org.citydb.plugins.ade_manager.util.GlobalConstants;
 import org.citygml4j.xml.schema.SchemaHandler;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Enumeration;
 import java.util.List;
 
 public class GraphTransformationManager {
+	// the grammar template is extracted from the plugin jar only once per JVM
+	private static volatile File templateFile;
+	
 	private List<String> namespaces;
 	private SchemaHandler schemaHandler;	
 	
-	private EdGraGra edGraphGrammar; 	
+	private GraGra graphGrammar; 	
 	private ConfigImpl config;
 
 	public GraphTransformationManager(SchemaHandler schemaHandler, List<String> namespaces, ConfigImpl config) {		
@@ -60,7 +66,7 @@ public class GraphTransformationManager {
 		
     	// prepare for transformation
 		GraTra graTra = new LayeredGraTraImpl();
-    	GraGra aggGraphGrammar = edGraphGrammar.getBasisGraGra();
+    	GraGra aggGraphGrammar = graphGrammar;
     	graTra.setGraGra(aggGraphGrammar);
     	graTra.setHostGraph(aggGraphGrammar.getGraph());  
     	
@@ -74,53 +80,70 @@ public class GraphTransformationManager {
     	// post process for converting every database object's name to lower case
     	convertDbObjectNameToLowercase();
     	
-    	// write to file
-    	marshallingEdGraphGrammer(config.getTmpGraphDirPath() + File.separator + GlobalConstants.TMP_OUTPUT_GRAPH_FILE_NAME);
+    	// write to file for debugging purposes
+    	if (config.isGraphDump())
+    		marshallingGraphGrammer(config.getTmpGraphDirPath() + File.separator + GlobalConstants.TMP_OUTPUT_GRAPH_FILE_NAME);
     	
     	return aggGraphGrammar;
 	}
 	
 	private void createGraphFromXMLSchema() {		
-		// loaded predefined edGraph grammar
-		XMLHelper xmlh = new XMLHelper();
-		BufferedReader in = new BufferedReader(
-				new InputStreamReader(this.getClass().getResourceAsStream(GlobalConstants.INPUT_GRAPH_PATH)));
-
-		File tmpFile = new File(config.getTmpGraphDirPath() + File.separator + GlobalConstants.TMP_INPUT_GRAPH_FILE_NAME);
-	    OutputStream outStream;
+		// loaded predefined graph grammar, every transformation works on its own copy
+		File tmpFile;
 		try {
-			outStream = new FileOutputStream(tmpFile);
-			 String line = null;	
-				while ((line = in.readLine()) != null) {
-					outStream.write(line.getBytes());
-				}
+			tmpFile = getTemplateFile();
 		} catch (IOException e) {
-			//
+			throw new IllegalStateException("Failed to load the graph grammar template " + GlobalConstants.INPUT_GRAPH_PATH + ".", e);
 		}
+		
+		XMLHelper xmlh = new XMLHelper();
+		if (!xmlh.read_from_xml(tmpFile.getAbsolutePath()))
+			throw new IllegalStateException("Failed to read the graph grammar template " + GlobalConstants.INPUT_GRAPH_PATH + ".");
+		
+		// the editor layer (layouts) of the grammar is not needed for the transformation
+		this.graphGrammar = BaseFactory.theFactory().createGraGra(false);				
+		xmlh.getTopObject(graphGrammar);			
+		
+		GraphCreator aggGraphCreator = new GraphCreator(namespaces, schemaHandler, graphGrammar);
+		aggGraphCreator.createGraph();	
+	}
 	
-		if (xmlh.read_from_xml(tmpFile.getAbsolutePath())) {
-			GraGra graphGrammar = BaseFactory.theFactory().createGraGra(false);				
-			xmlh.getTopObject(graphGrammar);			
-			this.edGraphGrammar = new EdGraGra(graphGrammar);
-			xmlh.enrichObject(this.edGraphGrammar);			
+	private static File getTemplateFile() throws IOException {
+		File file = templateFile;
+		if (file == null || !file.exists()) {
+			synchronized (GraphTransformationManager.class) {
+				file = templateFile;
+				if (file == null || !file.exists()) {
+					// AGG can only read grammars from files
+					file = File.createTempFile("Working_Graph", ".ggx");
+					file.deleteOnExit();
+					try (InputStream in = GraphTransformationManager.class.getResourceAsStream(GlobalConstants.INPUT_GRAPH_PATH)) {
+						if (in == null)
+							throw new IOException("Resource not found.");
+						
+						Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+					}
+					
+					templateFile = file;
+				}
+			}
 		}
 		
-		GraphCreator aggGraphCreator = new GraphCreator(namespaces, schemaHandler, edGraphGrammar.getBasisGraGra());
-		aggGraphCreator.createGraph();	
+		return file;
 	}
 	
-	private void marshallingEdGraphGrammer(String exportPathString){		
+	private void marshallingGraphGrammer(String exportPathString){		
 		XMLHelper xmlh = new XMLHelper();
-		xmlh.addTopObject(this.edGraphGrammar);
+		xmlh.addTopObject(this.graphGrammar);
 		xmlh.save_to_xml(exportPathString);
 	}	
 	
 	private void convertDbObjectNameToLowercase() {
-		Enumeration<Type> e = edGraphGrammar.getBasisGraGra().getTypes();		
+		Enumeration<Type> e = graphGrammar.getTypes();		
 		while(e.hasMoreElements()){
 			Type nodeType = e.nextElement();
 			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.DatabaseObject)) {
-				List<Node> nodes = edGraphGrammar.getBasisGraGra().getGraph().getNodes(nodeType);
+				List<Node> nodes = graphGrammar.getGraph().getNodes(nodeType);
 				if (nodes == null)
 					continue;
 				
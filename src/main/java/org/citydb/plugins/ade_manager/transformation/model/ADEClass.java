@@ -0,0 +1,109 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ADEClass {
+	private final String name;
+	private final String path;
+	private final String namespaceUri;
+	private final String derivedFrom;
+	private final boolean isAbstract;
+	private final boolean isInline;
+	private final boolean topLevel;
+	private final List<ADEProperty> properties = new ArrayList<>();
+	private DBTable table;
+
+	ADEClass(String name, String path, String namespaceUri, String derivedFrom, boolean isAbstract, boolean isInline, boolean topLevel) {
+		this.name = name;
+		this.path = path;
+		this.namespaceUri = namespaceUri;
+		this.derivedFrom = derivedFrom;
+		this.isAbstract = isAbstract;
+		this.isInline = isInline;
+		this.topLevel = topLevel;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public String getNamespaceUri() {
+		return namespaceUri;
+	}
+
+	public String getDerivedFrom() {
+		return derivedFrom;
+	}
+
+	public boolean isAbstract() {
+		return isAbstract;
+	}
+
+	public boolean isInline() {
+		return isInline;
+	}
+
+	public boolean isTopLevel() {
+		return topLevel;
+	}
+
+	public boolean isHookClass() {
+		return derivedFrom.equalsIgnoreCase("HookClass");
+	}
+
+	/**
+	 * @return the data table this class is mapped to, or null if the class is not mapped to a table.
+	 */
+	public DBTable getTable() {
+		return table;
+	}
+
+	/**
+	 * @return the properties and the extension of this class, in the order of the graph arcs.
+	 */
+	public List<ADEProperty> getProperties() {
+		return Collections.unmodifiableList(properties);
+	}
+
+	void setTable(DBTable table) {
+		this.table = table;
+	}
+
+	void addProperty(ADEProperty property) {
+		properties.add(property);
+	}
+
+}
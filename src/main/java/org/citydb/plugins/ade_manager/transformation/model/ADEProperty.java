@@ -0,0 +1,189 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ADEProperty {
+	public enum Kind {
+		EXTENSION,
+		COMPLEX_TYPE_PROPERTY,
+		SIMPLE_ATTRIBUTE,
+		COMPLEX_ATTRIBUTE,
+		GEOMETRY_PROPERTY,
+		IMPLICIT_GEOMETRY_PROPERTY
+	}
+
+	private final Kind kind;
+	private final String path;
+	private final String namespaceUri;
+	private final int minOccurs;
+	private final int maxOccurs;
+	private String primitiveDataType;
+	private String relationType;
+	private String geometryType;
+	private Integer lod;
+	private ADEClass targetType;
+	private DBJoin join;
+	private DBTable joinTable;
+	private DBColumn column;
+	private String refColumn;
+	private String inlineColumn;
+	private final List<ADEProperty> attributes = new ArrayList<>();
+
+	ADEProperty(Kind kind, String path, String namespaceUri, int minOccurs, int maxOccurs) {
+		this.kind = kind;
+		this.path = path;
+		this.namespaceUri = namespaceUri;
+		this.minOccurs = minOccurs;
+		this.maxOccurs = maxOccurs;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public String getNamespaceUri() {
+		return namespaceUri;
+	}
+
+	public int getMinOccurs() {
+		return minOccurs;
+	}
+
+	/**
+	 * @return the maximum number of occurrences, or -1 if unbounded.
+	 */
+	public int getMaxOccurs() {
+		return maxOccurs;
+	}
+
+	public String getPrimitiveDataType() {
+		return primitiveDataType;
+	}
+
+	public String getRelationType() {
+		return relationType;
+	}
+
+	public String getGeometryType() {
+		return geometryType;
+	}
+
+	public Integer getLod() {
+		return lod;
+	}
+
+	/**
+	 * @return the base class of an extension or the target class of a complex type property.
+	 */
+	public ADEClass getTargetType() {
+		return targetType;
+	}
+
+	public DBJoin getJoin() {
+		return join;
+	}
+
+	public DBTable getJoinTable() {
+		return joinTable;
+	}
+
+	/**
+	 * @return the data column of a simple attribute.
+	 */
+	public DBColumn getColumn() {
+		return column;
+	}
+
+	public String getRefColumn() {
+		return refColumn;
+	}
+
+	public String getInlineColumn() {
+		return inlineColumn;
+	}
+
+	/**
+	 * @return the simple attributes of a complex attribute.
+	 */
+	public List<ADEProperty> getAttributes() {
+		return Collections.unmodifiableList(attributes);
+	}
+
+	void setPrimitiveDataType(String primitiveDataType) {
+		this.primitiveDataType = primitiveDataType;
+	}
+
+	void setRelationType(String relationType) {
+		this.relationType = relationType;
+	}
+
+	void setGeometryType(String geometryType) {
+		this.geometryType = geometryType;
+	}
+
+	void setLod(Integer lod) {
+		this.lod = lod;
+	}
+
+	void setTargetType(ADEClass targetType) {
+		this.targetType = targetType;
+	}
+
+	void setJoin(DBJoin join) {
+		this.join = join;
+	}
+
+	void setJoinTable(DBTable joinTable) {
+		this.joinTable = joinTable;
+	}
+
+	void setColumn(DBColumn column) {
+		this.column = column;
+	}
+
+	void setRefColumn(String refColumn) {
+		this.refColumn = refColumn;
+	}
+
+	void setInlineColumn(String inlineColumn) {
+		this.inlineColumn = inlineColumn;
+	}
+
+	void addAttribute(ADEProperty attribute) {
+		attributes.add(attribute);
+	}
+
+}
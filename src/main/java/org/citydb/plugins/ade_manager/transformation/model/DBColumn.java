@@ -0,0 +1,97 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+import org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DBColumn {
+	private final String name;
+	private final String typeName;
+	private final boolean joinColumn;
+	private final String primitiveDataType;
+	private final String indexName;
+	private final DBTable table;
+	private final List<DBJoin> joins = new ArrayList<>();
+
+	DBColumn(String name, String typeName, boolean joinColumn, String primitiveDataType, String indexName, DBTable table) {
+		this.name = name;
+		this.typeName = typeName;
+		this.joinColumn = joinColumn;
+		this.primitiveDataType = primitiveDataType;
+		this.indexName = indexName;
+		this.table = table;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getTypeName() {
+		return typeName;
+	}
+
+	public boolean isOfType(String typeName) {
+		return this.typeName.equalsIgnoreCase(typeName);
+	}
+
+	public boolean isJoinColumn() {
+		return joinColumn;
+	}
+
+	public boolean isPrimaryKey() {
+		return isOfType(GraphNodeArcType.PrimaryKeyColumn);
+	}
+
+	public String getPrimitiveDataType() {
+		return primitiveDataType;
+	}
+
+	public String getIndexName() {
+		return indexName;
+	}
+
+	public DBTable getTable() {
+		return table;
+	}
+
+	/**
+	 * @return the joins pointing to this column, in the order of the graph arcs.
+	 */
+	public List<DBJoin> getJoins() {
+		return Collections.unmodifiableList(joins);
+	}
+
+	void addJoin(DBJoin join) {
+		joins.add(join);
+	}
+
+}
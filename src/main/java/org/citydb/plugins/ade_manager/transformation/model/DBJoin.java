@@ -0,0 +1,92 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+public class DBJoin {
+	private final String name;
+	private final String ondelete;
+	private final boolean mappedFromInheritance;
+	private final boolean mappedFromMultiValuedProperty;
+	private DBColumn fromColumn;
+	private DBColumn toColumn;
+	private DBJoin treeHierarchyRoot;
+
+	DBJoin(String name, String ondelete, boolean mappedFromInheritance, boolean mappedFromMultiValuedProperty) {
+		this.name = name;
+		this.ondelete = ondelete;
+		this.mappedFromInheritance = mappedFromInheritance;
+		this.mappedFromMultiValuedProperty = mappedFromMultiValuedProperty;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getOndelete() {
+		return ondelete;
+	}
+
+	/**
+	 * @return true if this join is mapped from the extension of a class.
+	 */
+	public boolean isMappedFromInheritance() {
+		return mappedFromInheritance;
+	}
+
+	/**
+	 * @return true if this join is mapped from a property with maxOccurs greater than one.
+	 */
+	public boolean isMappedFromMultiValuedProperty() {
+		return mappedFromMultiValuedProperty;
+	}
+
+	public DBColumn getFromColumn() {
+		return fromColumn;
+	}
+
+	public DBColumn getToColumn() {
+		return toColumn;
+	}
+
+	public DBJoin getTreeHierarchyRoot() {
+		return treeHierarchyRoot;
+	}
+
+	void setFromColumn(DBColumn fromColumn) {
+		this.fromColumn = fromColumn;
+	}
+
+	void setToColumn(DBColumn toColumn) {
+		this.toColumn = toColumn;
+	}
+
+	void setTreeHierarchyRoot(DBJoin treeHierarchyRoot) {
+		this.treeHierarchyRoot = treeHierarchyRoot;
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+import org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DBTable {
+	private final String name;
+	private final boolean mappedFromForeignClass;
+	private final List<DBColumn> columns = new ArrayList<>();
+	private boolean hasObjectclassIdColumn;
+
+	DBTable(String name, boolean mappedFromForeignClass) {
+		this.name = name;
+		this.mappedFromForeignClass = mappedFromForeignClass;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isMappedFromForeignClass() {
+		return mappedFromForeignClass;
+	}
+
+	public List<DBColumn> getColumns() {
+		return Collections.unmodifiableList(columns);
+	}
+
+	public boolean hasObjectclassIdColumn() {
+		return hasObjectclassIdColumn;
+	}
+
+	void addColumn(DBColumn column) {
+		columns.add(column);
+		if (column.isOfType(GraphNodeArcType.ObjectClassIDColumn))
+			hasObjectclassIdColumn = true;
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+import agg.xt_basis.GraGra;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable relational model of a transformed ADE graph. The model is built in a single pass
+ * over the graph and provides the tables, columns, joins, sequences and classes with direct
+ * references between each other, so that the DDL and schema mapping generators do not need
+ * to search the graph.
+ * <p>
+ * The model captures the names of the database objects at the time it is built. Therefore, it
+ * must be created after the database object names have been shortened.
+ */
+public class TransformationModel {
+	private final List<String> schemaNamespaces;
+	private final List<DBTable> tables;
+	private final Map<String, DBTable> tablesByName;
+	private final List<DBJoin> joins;
+	private final Map<String, String> sequences;
+	private final Map<String, List<ADEClass>> classesByNamespace;
+	private final boolean hasInlineGeometryColumns;
+
+	TransformationModel(List<String> schemaNamespaces, List<DBTable> tables, Map<String, DBTable> tablesByName,
+			List<DBJoin> joins, Map<String, String> sequences, Map<String, List<ADEClass>> classesByNamespace,
+			boolean hasInlineGeometryColumns) {
+		this.schemaNamespaces = Collections.unmodifiableList(schemaNamespaces);
+		this.tables = Collections.unmodifiableList(tables);
+		this.tablesByName = tablesByName;
+		this.joins = Collections.unmodifiableList(joins);
+		this.sequences = Collections.unmodifiableMap(sequences);
+		this.classesByNamespace = classesByNamespace;
+		this.hasInlineGeometryColumns = hasInlineGeometryColumns;
+	}
+
+	public static TransformationModel fromGraph(GraGra graphGrammar) {
+		return new TransformationModelBuilder(graphGrammar).build();
+	}
+
+	/**
+	 * @return the namespaces of the ADE application schemas.
+	 */
+	public List<String> getSchemaNamespaces() {
+		return schemaNamespaces;
+	}
+
+	public List<DBTable> getTables() {
+		return tables;
+	}
+
+	/**
+	 * @return the table with the given name ignoring case, or null if no such table exists.
+	 */
+	public DBTable getTable(String name) {
+		return tablesByName.get(name.toLowerCase(Locale.ROOT));
+	}
+
+	public List<DBJoin> getJoins() {
+		return joins;
+	}
+
+	/**
+	 * @return the sequence names mapped by the name of the table they belong to.
+	 */
+	public Map<String, String> getSequences() {
+		return sequences;
+	}
+
+	/**
+	 * @return the classes of the given namespace ignoring case, in the order of the graph nodes.
+	 */
+	public List<ADEClass> getClasses(String namespaceUri) {
+		List<ADEClass> classes = classesByNamespace.get(namespaceUri.toLowerCase(Locale.ROOT));
+		return classes != null ? Collections.unmodifiableList(classes) : Collections.emptyList();
+	}
+
+	public boolean hasInlineGeometryColumns() {
+		return hasInlineGeometryColumns;
+	}
+
+}
@@ -0,0 +1,388 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.transformation.model;
+
+import agg.xt_basis.Arc;
+import agg.xt_basis.GraGra;
+import agg.xt_basis.Node;
+import agg.xt_basis.Type;
+import org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class TransformationModelBuilder {
+	private final GraGra graphGrammar;
+	private final Map<Node, DBTable> tables = new LinkedHashMap<>();
+	private final Map<Node, DBColumn> columns = new LinkedHashMap<>();
+	private final Map<Node, DBJoin> joins = new LinkedHashMap<>();
+	private final Map<Node, ADEClass> classes = new LinkedHashMap<>();
+
+	TransformationModelBuilder(GraGra graphGrammar) {
+		this.graphGrammar = graphGrammar;
+	}
+
+	TransformationModel build() {
+		// tables and their columns
+		Map<String, DBTable> tablesByName = new HashMap<>();
+		for (Node tableNode : getNodes(GraphNodeArcType.Table)) {
+			DBTable table = createTable(tableNode);
+			tables.put(tableNode, table);
+			tablesByName.putIfAbsent(table.getName().toLowerCase(Locale.ROOT), table);
+		}
+
+		// joins between the columns
+		for (Node joinNode : getNodes(GraphNodeArcType.Join))
+			joins.put(joinNode, createJoin(joinNode));
+
+		for (Map.Entry<Node, DBJoin> entry : joins.entrySet())
+			resolveJoin(entry.getKey(), entry.getValue());
+
+		for (Map.Entry<Node, DBColumn> entry : columns.entrySet()) {
+			Iterator<Arc> iter = entry.getKey().getIncomingArcs();
+			while (iter.hasNext()) {
+				Node sourceNode = (Node) iter.next().getSource();
+				if (isOfType(sourceNode, GraphNodeArcType.Join))
+					entry.getValue().addJoin(joins.get(sourceNode));
+			}
+		}
+
+		// sequences of the tables
+		Map<String, String> sequences = new HashMap<>();
+		for (Node sequenceNode : getNodes(GraphNodeArcType.Sequence)) {
+			String sequenceName = getString(sequenceNode, "name");
+			Node targetTableNode = (Node) sequenceNode.getOutgoingArcs().next().getTarget();
+			sequences.put(getString(targetTableNode, "name"), sequenceName);
+		}
+
+		// application schemas
+		List<String> schemaNamespaces = new ArrayList<>();
+		for (Node schemaNode : getNodes(GraphNodeArcType.Schema))
+			schemaNamespaces.add(getString(schemaNode, "namespaceUri"));
+
+		// classes and their properties
+		Map<String, List<ADEClass>> classesByNamespace = new HashMap<>();
+		for (Node classNode : getNodes(GraphNodeArcType.ComplexType)) {
+			ADEClass adeClass = createClass(classNode);
+			classes.put(classNode, adeClass);
+			if (adeClass.getNamespaceUri() != null) {
+				classesByNamespace.computeIfAbsent(adeClass.getNamespaceUri().toLowerCase(Locale.ROOT),
+						k -> new ArrayList<>()).add(adeClass);
+			}
+		}
+
+		for (Map.Entry<Node, ADEClass> entry : classes.entrySet())
+			resolveClass(entry.getKey(), entry.getValue());
+
+		return new TransformationModel(schemaNamespaces,
+				new ArrayList<>(tables.values()),
+				tablesByName,
+				new ArrayList<>(joins.values()),
+				sequences,
+				classesByNamespace,
+				!getNodes(GraphNodeArcType.InlineGeometryColumn).isEmpty());
+	}
+
+	private DBTable createTable(Node tableNode) {
+		String tableName = getString(tableNode, "name");
+		DBTable table = new DBTable(tableName, isMappedFromForeignClass(tableName, tableNode));
+
+		Iterator<Arc> iter = tableNode.getIncomingArcs();
+		while (iter.hasNext()) {
+			Arc arc = iter.next();
+			if (isOfType(arc, GraphNodeArcType.BelongsTo)) {
+				Node columnNode = (Node) arc.getSource();
+				DBColumn column = createColumn(columnNode, table);
+				columns.put(columnNode, column);
+				table.addColumn(column);
+			}
+		}
+
+		return table;
+	}
+
+	private boolean isMappedFromForeignClass(String tableName, Node tableNode) {
+		if (tableName.equalsIgnoreCase("Objectclass") || tableName.equalsIgnoreCase("surface_geometry") || tableName.equalsIgnoreCase("implicit_geometry"))
+			return true;
+
+		Iterator<Arc> iter = tableNode.getIncomingArcs();
+		while (iter.hasNext()) {
+			Node sourceNode = (Node) iter.next().getSource();
+			if (isOfType(sourceNode, GraphNodeArcType.ComplexType))
+				return getBoolean(sourceNode, "isForeign");
+		}
+
+		return false;
+	}
+
+	private DBColumn createColumn(Node columnNode, DBTable table) {
+		Type columnType = columnNode.getType();
+		boolean joinColumn = columnType.getName().equalsIgnoreCase(GraphNodeArcType.JoinColumn)
+				|| (columnType.getParent() != null && columnType.getParent().getName().equalsIgnoreCase(GraphNodeArcType.JoinColumn));
+
+		String primitiveDataType = null;
+		if (isOfType(columnNode, GraphNodeArcType.NormalDataColumn))
+			primitiveDataType = getString(columnNode, "primitiveDataType");
+
+		String indexName = null;
+		Iterator<Arc> iter = columnNode.getIncomingArcs();
+		while (iter.hasNext()) {
+			Arc arc = iter.next();
+			Node sourceNode = (Node) arc.getSource();
+			if (isOfType(arc, GraphNodeArcType.TargetColumn) && isOfType(sourceNode, GraphNodeArcType.Index))
+				indexName = getString(sourceNode, "name");
+		}
+
+		return new DBColumn(getString(columnNode, "name"), columnType.getName(), joinColumn, primitiveDataType, indexName, table);
+	}
+
+	private DBJoin createJoin(Node joinNode) {
+		boolean mappedFromInheritance = false;
+		boolean mappedFromMultiValuedProperty = false;
+
+		Iterator<Arc> iter = joinNode.getIncomingArcs();
+		while (iter.hasNext()) {
+			Arc arc = iter.next();
+			if (isOfType(arc, GraphNodeArcType.MapsTo)) {
+				Node propertyNode = (Node) arc.getSource();
+				if (isOfType(propertyNode, GraphNodeArcType.Extension)) {
+					mappedFromInheritance = true;
+				}
+				else if (isOfType(propertyNode, GraphNodeArcType.ComplexTypeProperty)) {
+					int maxOccurs = getInt(propertyNode, "maxOccurs");
+					if (maxOccurs > 1 || maxOccurs == -1)
+						mappedFromMultiValuedProperty = true;
+				}
+			}
+		}
+
+		return new DBJoin(getString(joinNode, "name"), getString(joinNode, "ondelete"), mappedFromInheritance, mappedFromMultiValuedProperty);
+	}
+
+	private void resolveJoin(Node joinNode, DBJoin join) {
+		Iterator<Arc> iter = joinNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Arc arc = iter.next();
+			Node targetNode = (Node) arc.getTarget();
+			if (isOfType(arc, GraphNodeArcType.JoinFrom))
+				join.setFromColumn(getColumn(targetNode, join));
+			else if (isOfType(arc, GraphNodeArcType.JoinTo))
+				join.setToColumn(getColumn(targetNode, join));
+			else if (isOfType(arc, GraphNodeArcType.TreeHierarchy))
+				join.setTreeHierarchyRoot(joins.get(targetNode));
+		}
+	}
+
+	private DBColumn getColumn(Node columnNode, DBJoin join) {
+		DBColumn column = columns.get(columnNode);
+		if (column == null)
+			throw new IllegalStateException("The join '" + join.getName() + "' references a column which does not belong to a table.");
+
+		return column;
+	}
+
+	private ADEClass createClass(Node classNode) {
+		return new ADEClass(getString(classNode, "name"),
+				getString(classNode, "path"),
+				getString(classNode, "namespaceUri"),
+				getString(classNode, "derivedFrom"),
+				getBoolean(classNode, "isAbstract"),
+				getBoolean(classNode, "isInline"),
+				getBoolean(classNode, "topLevel"));
+	}
+
+	private void resolveClass(Node classNode, ADEClass adeClass) {
+		Iterator<Arc> iter = classNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Node targetNode = (Node) iter.next().getTarget();
+			if (isOfType(targetNode, GraphNodeArcType.DataTable)) {
+				adeClass.setTable(tables.get(targetNode));
+				continue;
+			}
+
+			ADEProperty property = createProperty(targetNode);
+			if (property != null)
+				adeClass.addProperty(property);
+		}
+	}
+
+	private ADEProperty createProperty(Node propertyNode) {
+		String typeName = propertyNode.getType().getName();
+		if (typeName.equalsIgnoreCase(GraphNodeArcType.Extension))
+			return createExtension(propertyNode);
+		else if (typeName.equalsIgnoreCase(GraphNodeArcType.ComplexTypeProperty))
+			return createComplexTypeProperty(propertyNode);
+		else if (typeName.equalsIgnoreCase(GraphNodeArcType.GenericAttribute)
+				|| typeName.equalsIgnoreCase(GraphNodeArcType.SimpleAttribute)
+				|| typeName.equalsIgnoreCase(GraphNodeArcType.EnumerationProperty))
+			return createSimpleAttribute(propertyNode);
+		else if (typeName.equalsIgnoreCase(GraphNodeArcType.ComplexAttribute))
+			return createComplexAttribute(propertyNode);
+		else if (typeName.equalsIgnoreCase(GraphNodeArcType.BrepGeometryProperty)
+				|| typeName.equalsIgnoreCase(GraphNodeArcType.PointOrLineGeometryProperty)
+				|| typeName.equalsIgnoreCase(GraphNodeArcType.HybridGeometryProperty))
+			return createGeometryProperty(propertyNode);
+		else if (typeName.equalsIgnoreCase(GraphNodeArcType.ImplicitGeometryProperty))
+			return newProperty(ADEProperty.Kind.IMPLICIT_GEOMETRY_PROPERTY, propertyNode);
+
+		return null;
+	}
+
+	private ADEProperty createExtension(Node extensionNode) {
+		ADEProperty extension = new ADEProperty(ADEProperty.Kind.EXTENSION, null, null, 1, 1);
+
+		Iterator<Arc> iter = extensionNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Node targetNode = (Node) iter.next().getTarget();
+			if (isOfType(targetNode, GraphNodeArcType.ComplexType))
+				extension.setTargetType(classes.get(targetNode));
+			else if (isOfType(targetNode, GraphNodeArcType.Join) && extension.getTargetType() != null)
+				extension.setJoin(joins.get(targetNode));
+		}
+
+		return extension;
+	}
+
+	private ADEProperty createComplexTypeProperty(Node propertyNode) {
+		ADEProperty property = newProperty(ADEProperty.Kind.COMPLEX_TYPE_PROPERTY, propertyNode);
+		property.setRelationType(getString(propertyNode, "relationType"));
+
+		Iterator<Arc> iter = propertyNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Node targetNode = (Node) iter.next().getTarget();
+			if (isOfType(targetNode, GraphNodeArcType.ComplexType))
+				property.setTargetType(classes.get(targetNode));
+			else if (isOfType(targetNode, GraphNodeArcType.Join))
+				property.setJoin(joins.get(targetNode));
+			else if (isOfType(targetNode, GraphNodeArcType.JoinTable))
+				property.setJoinTable(tables.get(targetNode));
+		}
+
+		return property;
+	}
+
+	private ADEProperty createSimpleAttribute(Node attributeNode) {
+		ADEProperty attribute = newProperty(ADEProperty.Kind.SIMPLE_ATTRIBUTE, attributeNode);
+		attribute.setPrimitiveDataType(getString(attributeNode, "primitiveDataType"));
+
+		Iterator<Arc> iter = attributeNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Node targetNode = (Node) iter.next().getTarget();
+			if (isOfType(targetNode, GraphNodeArcType.NormalDataColumn) || isOfType(targetNode, GraphNodeArcType.GenericDataColumn)) {
+				attribute.setColumn(columns.get(targetNode));
+				break;
+			}
+		}
+
+		return attribute;
+	}
+
+	private ADEProperty createComplexAttribute(Node attributeNode) {
+		ADEProperty attribute = newProperty(ADEProperty.Kind.COMPLEX_ATTRIBUTE, attributeNode);
+
+		Iterator<Arc> iter = attributeNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Node targetNode = (Node) iter.next().getTarget();
+			if (isOfType(targetNode, GraphNodeArcType.SimpleAttribute))
+				attribute.addAttribute(createSimpleAttribute(targetNode));
+		}
+
+		return attribute;
+	}
+
+	private ADEProperty createGeometryProperty(Node propertyNode) {
+		ADEProperty property = newProperty(ADEProperty.Kind.GEOMETRY_PROPERTY, propertyNode);
+		property.setGeometryType(getString(propertyNode, "geometryType"));
+		property.setLod((Integer) propertyNode.getAttribute().getValueAt("lod"));
+
+		Iterator<Arc> iter = propertyNode.getOutgoingArcs();
+		while (iter.hasNext()) {
+			Node targetNode = (Node) iter.next().getTarget();
+			String columnName = getString(targetNode, "name");
+			if (columnName != null) {
+				if (isOfType(targetNode, GraphNodeArcType.RefGeometryColumn))
+					property.setRefColumn(columnName);
+				if (isOfType(targetNode, GraphNodeArcType.InlineGeometryColumn))
+					property.setInlineColumn(columnName);
+			}
+		}
+
+		return property;
+	}
+
+	private ADEProperty newProperty(ADEProperty.Kind kind, Node propertyNode) {
+		return new ADEProperty(kind,
+				getString(propertyNode, "path"),
+				getString(propertyNode, "namespaceUri"),
+				getInt(propertyNode, "minOccurs"),
+				getInt(propertyNode, "maxOccurs"));
+	}
+
+	private List<Node> getNodes(String typeName) {
+		Enumeration<Type> e = graphGrammar.getTypes();
+		while (e.hasMoreElements()) {
+			Type nodeType = e.nextElement();
+			if (nodeType.getName().equalsIgnoreCase(typeName)) {
+				List<Node> nodes = graphGrammar.getGraph().getNodes(nodeType);
+				return nodes != null ? nodes : Collections.emptyList();
+			}
+		}
+
+		return Collections.emptyList();
+	}
+
+	private boolean isOfType(Node node, String typeName) {
+		return node.getType().getName().equalsIgnoreCase(typeName);
+	}
+
+	private boolean isOfType(Arc arc, String typeName) {
+		return arc.getType().getName().equalsIgnoreCase(typeName);
+	}
+
+	private String getString(Node node, String attributeName) {
+		return (String) node.getAttribute().getValueAt(attributeName);
+	}
+
+	private boolean getBoolean(Node node, String attributeName) {
+		Object value = node.getAttribute().getValueAt(attributeName);
+		return value != null && (boolean) value;
+	}
+
+	private int getInt(Node node, String attributeName) {
+		Object value = node.getAttribute().getValueAt(attributeName);
+		return value != null ? (int) value : 1;
+	}
+
+}
@@ -27,41 +27,40 @@
  */
 package org.citydb.plugins.ade_manager.transformation.schemaMapping;
 
-import agg.attribute.AttrInstance;
-import agg.xt_basis.Arc;
-import agg.xt_basis.GraGra;
-import agg.xt_basis.Node;
-import agg.xt_basis.Type;
 import org.citydb.core.database.schema.mapping.*;
 import org.citydb.core.database.schema.util.SchemaMappingUtil;
 import org.citydb.core.util.CoreConstants;
 import org.citydb.plugins.ade_manager.config.ConfigImpl;
 import org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType;
+import org.citydb.plugins.ade_manager.transformation.model.ADEClass;
+import org.citydb.plugins.ade_manager.transformation.model.ADEProperty;
+import org.citydb.plugins.ade_manager.transformation.model.DBColumn;
+import org.citydb.plugins.ade_manager.transformation.model.DBJoin;
+import org.citydb.plugins.ade_manager.transformation.model.DBTable;
+import org.citydb.plugins.ade_manager.transformation.model.TransformationModel;
 
 import javax.xml.namespace.QName;
 import java.io.File;
 import java.io.FileWriter;
-import java.util.ArrayList;
-import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static org.citydb.plugins.ade_manager.transformation.graph.GraphNodeArcType.Join;
+import java.util.Map;
 
 public class SchemaMappingCreator {	
 	private final String schemaMappingFoldername = "schema-mapping";
 	private final String schemaMappingFilename = "schema-mapping.xml";
 	
-	private GraGra graphGrammar;	
+	private TransformationModel transformationModel;	
 	private SchemaMapping citygmlSchemaMapping;
 	private SchemaMapping adeSchemaMapping;
+	private Map<String, ComplexAttributeType> citygmlComplexAttributeTypes;
 	
 	private ConfigImpl config;
 	private int initialObjectclassId;
 	
-	public SchemaMappingCreator(GraGra graphGrammar, ConfigImpl config) {
-		this.graphGrammar = graphGrammar;
+	public SchemaMappingCreator(TransformationModel transformationModel, ConfigImpl config) {
+		this.transformationModel = transformationModel;
 		this.config = config;				
 	}
 	
@@ -69,6 +68,9 @@ public class SchemaMappingCreator {
 		initialObjectclassId = config.getInitialObjectclassId();
 		
 		citygmlSchemaMapping = SchemaMappingUtil.getInstance().unmarshal(CoreConstants.CITYDB_SCHEMA_MAPPING_FILE);
+		citygmlComplexAttributeTypes = new HashMap<>();
+		for (ComplexAttributeType attributeType : citygmlSchemaMapping.getComplexAttributeTypes())
+			citygmlComplexAttributeTypes.putIfAbsent(attributeType.getId(), attributeType);
 
 		adeSchemaMapping = new SchemaMapping();
 		adeSchemaMapping.setMetadata(this.generateMetadata());
@@ -102,14 +104,12 @@ public class SchemaMappingCreator {
 	}
 	
 	private void generateApplicationSchema(SchemaMapping adeSchemaMapping) throws SchemaMappingException {
-		List<Node> schemaNodes = this.getSchemaNode();			
-		for (int i = 0; i < schemaNodes.size(); i++) {
-			Node schemaNode = schemaNodes.get(i);
-			AttrInstance attrInstance = schemaNode.getAttribute();		
-			String namespaceUri = (String) attrInstance.getValueAt("namespaceUri");		
+		List<String> schemaNamespaces = transformationModel.getSchemaNamespaces();			
+		for (int i = 0; i < schemaNamespaces.size(); i++) {
+			String namespaceUri = schemaNamespaces.get(i);		
 			String dbPrefix = config.getAdeDbPrefix();	
 			String schemaId = null;
-			if (schemaNodes.size() > 1)
+			if (schemaNamespaces.size() > 1)
 				schemaId = dbPrefix + "_" + i;
 			else
 				schemaId = dbPrefix; // legacy
@@ -121,33 +121,20 @@ public class SchemaMappingCreator {
 		}
 	}
 	
-	private List<Node> getSchemaNode() {
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		
-		while(e.hasMoreElements()){
-			Type nodeType = e.nextElement();
-			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.Schema)) {
-				return this.graphGrammar.getGraph().getNodes(nodeType);			
-			};
-		}
-		
-		return new ArrayList<>();
-	}
-	
 	private void generateComplexTypeMapping(SchemaMapping schemaMapping, AppSchema appSchema) throws SchemaMappingException{
-		List<Node> nodeList = getFeautreOrObjectOrComplexTypeNodes(appSchema);
-		Iterator<Node> iter = nodeList.iterator();
+		String namespace = appSchema.getNamespaces().get(0).getURI();
+		Iterator<ADEClass> iter = transformationModel.getClasses(namespace).iterator();
 
 		while (iter.hasNext()) {
-			Node objectNode = iter.next();
-			AbstractType<?> featureOrObjectOrComplexType = this.getOrCreateFeatureOrObjectOrComplexType(objectNode, schemaMapping);
+			ADEClass adeClass = iter.next();
+			AbstractType<?> featureOrObjectOrComplexType = this.getOrCreateFeatureOrObjectOrComplexType(adeClass, schemaMapping);
 			
 			if (featureOrObjectOrComplexType == null)
 				continue;
 			
-			processFeatureOrObjectOrComplexType(objectNode, featureOrObjectOrComplexType, schemaMapping);
+			processFeatureOrObjectOrComplexType(adeClass, featureOrObjectOrComplexType, schemaMapping);
 			
-			if (checkADEHookClass(objectNode)){ 
+			if (adeClass.isHookClass()){ 
 				AbstractExtension<?> extension = featureOrObjectOrComplexType.getExtension();
 				String table = featureOrObjectOrComplexType.getTable();
 				Join join = new Join(table, "ID", "ID", TableRole.CHILD);
@@ -167,59 +154,54 @@ public class SchemaMappingCreator {
 		}		
 	}
 	
-	private void processFeatureOrObjectOrComplexType(Node objectNode, AbstractType<?> featureOrObjectOrComplexType, SchemaMapping schemaMapping) throws SchemaMappingException {
-		Iterator<Arc> arcIter = objectNode.getOutgoingArcs();
+	private void processFeatureOrObjectOrComplexType(ADEClass adeClass, AbstractType<?> featureOrObjectOrComplexType, SchemaMapping schemaMapping) throws SchemaMappingException {
+		Iterator<ADEProperty> propertyIter = adeClass.getProperties().iterator();
 		
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node targetNode = (Node) arc.getTarget();				
+		while(propertyIter.hasNext()) {
+			ADEProperty adeProperty = propertyIter.next();
+			ADEProperty.Kind kind = adeProperty.getKind();
 			AbstractProperty property = null;
 			// process extension
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.Extension)) {
-				this.generateExtension(featureOrObjectOrComplexType, targetNode, schemaMapping);
+			if (kind == ADEProperty.Kind.EXTENSION) {
+				this.generateExtension(featureOrObjectOrComplexType, adeProperty, schemaMapping);
 			}	
 			// process featureOrObjectOrDataProperty
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ComplexTypeProperty)) {
-				property = this.generateFeatureOrObjectOrComplexTypeProperty(featureOrObjectOrComplexType, targetNode, schemaMapping);
+			if (kind == ADEProperty.Kind.COMPLEX_TYPE_PROPERTY) {
+				property = this.generateFeatureOrObjectOrComplexTypeProperty(featureOrObjectOrComplexType, adeProperty, schemaMapping);
 			}	
 			// process simple attribute
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.GenericAttribute) || 
-					targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.SimpleAttribute) || 
-					targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.EnumerationProperty)) {
-				property = this.generateSimpleAttribute(targetNode);
+			if (kind == ADEProperty.Kind.SIMPLE_ATTRIBUTE) {
+				property = this.generateSimpleAttribute(adeProperty);
 				featureOrObjectOrComplexType.addProperty(property);
 			}	
 			// process complex basic data property
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ComplexAttribute)) {
-				property = this.generateComplexAttribute(featureOrObjectOrComplexType, targetNode);
+			if (kind == ADEProperty.Kind.COMPLEX_ATTRIBUTE) {
+				property = this.generateComplexAttribute(featureOrObjectOrComplexType, adeProperty);
 			}	
 			// process geometry property
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.BrepGeometryProperty) 
-					|| targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.PointOrLineGeometryProperty) 
-						|| targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.HybridGeometryProperty)) {
-				property = this.generateGeometryProperty(featureOrObjectOrComplexType, targetNode);
+			if (kind == ADEProperty.Kind.GEOMETRY_PROPERTY) {
+				property = this.generateGeometryProperty(featureOrObjectOrComplexType, adeProperty);
 			}
 			// process implicit geometry property
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ImplicitGeometryProperty)) {
-				property = this.generateImplicitGeometryProperty(featureOrObjectOrComplexType, targetNode);
+			if (kind == ADEProperty.Kind.IMPLICIT_GEOMETRY_PROPERTY) {
+				property = this.generateImplicitGeometryProperty(featureOrObjectOrComplexType, adeProperty);
 			}
 			
 			if (property != null) {
-				int minOccurs = (int) targetNode.getAttribute().getValueAt("minOccurs");
-				property.setMinOccurs(minOccurs);
-				int maxOccurs = (int) targetNode.getAttribute().getValueAt("maxOccurs");
+				property.setMinOccurs(adeProperty.getMinOccurs());
+				int maxOccurs = adeProperty.getMaxOccurs();
 				if (maxOccurs != -1)
 					property.setMaxOccurs(maxOccurs);
 			}
 		}		
 	}
 	
-	private AbstractType<?> getOrCreateFeatureOrObjectOrComplexType(Node featureObjectNode, SchemaMapping schemaMapping) throws SchemaMappingException{
-		String path = (String) featureObjectNode.getAttribute().getValueAt("path");	
-		String namespaceUri = (String) featureObjectNode.getAttribute().getValueAt("namespaceUri");
+	private AbstractType<?> getOrCreateFeatureOrObjectOrComplexType(ADEClass adeClass, SchemaMapping schemaMapping) throws SchemaMappingException{
+		String path = adeClass.getPath();	
+		String namespaceUri = adeClass.getNamespaceUri();
 		AppSchema appSchema = getAppSchema(namespaceUri);
 		
-		if (checkInlineType(featureObjectNode)) 
+		if (adeClass.isInline()) 
 			return new ComplexType(path, getAppSchema(namespaceUri), schemaMapping);
 					
 		AbstractType<?> featureOrObjectOrComplexType = citygmlSchemaMapping.getAbstractObjectType(new QName(namespaceUri, path));
@@ -246,23 +228,15 @@ public class SchemaMappingCreator {
 		if (this.getCityGMLComplexAttributeType(path) != null)
 			return null;
 		 		
-		String tableName = null;
-		Iterator<Arc> arcIter = featureObjectNode.getOutgoingArcs();		
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node targetNode = (Node) arc.getTarget();							
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.DataTable)) {
-				tableName = (String) targetNode.getAttribute().getValueAt("name");
-			}		
-		}		
+		String tableName = adeClass.getTable() != null ? adeClass.getTable().getName() : null;
 		
-		String featureOrObjectId = appSchema.getId() + "_" + (String) featureObjectNode.getAttribute().getValueAt("name");
-		boolean isAbstract = (boolean) featureObjectNode.getAttribute().getValueAt("isAbstract");			
-		String derivedFrom = (String) featureObjectNode.getAttribute().getValueAt("derivedFrom");			
+		String featureOrObjectId = appSchema.getId() + "_" + adeClass.getName();
+		boolean isAbstract = adeClass.isAbstract();			
+		String derivedFrom = adeClass.getDerivedFrom();			
 						
 		if (derivedFrom.equalsIgnoreCase("_Feature") || derivedFrom.equalsIgnoreCase("_CityObject")) {
 			featureOrObjectOrComplexType = new FeatureType(featureOrObjectId, path, tableName, initialObjectclassId++, appSchema, schemaMapping);
-			boolean topLevel = (boolean) featureObjectNode.getAttribute().getValueAt("topLevel");
+			boolean topLevel = adeClass.isTopLevel();
 			if (topLevel)
 				((FeatureType) featureOrObjectOrComplexType).setTopLevel(topLevel);			
 			schemaMapping.addFeatureType((FeatureType) featureOrObjectOrComplexType);
@@ -287,150 +261,74 @@ public class SchemaMappingCreator {
 		return featureOrObjectOrComplexType;
 	}
 	
-	private List<Node> getFeautreOrObjectOrComplexTypeNodes(AppSchema appSchema) {
-		List<Node> result = new ArrayList<>();
-		Enumeration<Type> e = this.graphGrammar.getTypes();
-		String namespace = appSchema.getNamespaces().get(0).getURI();
-		
-		while(e.hasMoreElements()){
-			Type nodeType = e.nextElement();				
-			if (nodeType.getName().equalsIgnoreCase(GraphNodeArcType.ComplexType)) {
-				List<Node> nodes = this.graphGrammar.getGraph().getNodes(nodeType);
-				result = nodes.stream()
-						.filter(node -> namespace.equalsIgnoreCase((String) node.getAttribute().getValueAt("namespaceUri")))
-						.collect(Collectors.toList()); 
-				return result;
-			};
-		}
-		
-		return result;
-	}
-	
-	private void generateExtension(AbstractType<?> subType, Node extensionNode, SchemaMapping schemaMapping) throws SchemaMappingException{
-		Iterator<Arc> arcIter = extensionNode.getOutgoingArcs();
+	private void generateExtension(AbstractType<?> subType, ADEProperty extensionProperty, SchemaMapping schemaMapping) throws SchemaMappingException{
 		AbstractExtension<?> extension = null;
-		
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node targetNode = (Node) arc.getTarget();
-	
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ComplexType)) {
-				AbstractType<?> superType = this.getOrCreateFeatureOrObjectOrComplexType(targetNode, schemaMapping);
-				if (subType instanceof FeatureType) {
-					FeatureTypeExtension featureTypeExtension = new FeatureTypeExtension((FeatureType) superType);
-					((FeatureType) subType).setExtension(featureTypeExtension);
-					extension = featureTypeExtension;
-				}
-				else if (subType instanceof ObjectType) {
-					ObjectTypeExtension objectTypeExtension = new ObjectTypeExtension((ObjectType) superType);
-					((ObjectType) subType).setExtension(objectTypeExtension);
-					extension = objectTypeExtension;
-				}
-				else if (subType instanceof ComplexType) {
-					ComplexTypeExtension complexTypeExtension = new ComplexTypeExtension((ComplexType) superType);
-					((ComplexType) subType).setExtension((ComplexTypeExtension) complexTypeExtension);
-					extension = complexTypeExtension;
-				}
+		ADEClass superClass = extensionProperty.getTargetType();
+		
+		if (superClass != null) {
+			AbstractType<?> superType = this.getOrCreateFeatureOrObjectOrComplexType(superClass, schemaMapping);
+			if (subType instanceof FeatureType) {
+				FeatureTypeExtension featureTypeExtension = new FeatureTypeExtension((FeatureType) superType);
+				((FeatureType) subType).setExtension(featureTypeExtension);
+				extension = featureTypeExtension;
 			}
-			
-			if (targetNode.getType().getName().equalsIgnoreCase(Join) && extension != null) {
-				Join extensionJoin = this.createJoin(subType.getTable(), targetNode);
-				extension.setJoin(extensionJoin);
+			else if (subType instanceof ObjectType) {
+				ObjectTypeExtension objectTypeExtension = new ObjectTypeExtension((ObjectType) superType);
+				((ObjectType) subType).setExtension(objectTypeExtension);
+				extension = objectTypeExtension;
 			}
+			else if (subType instanceof ComplexType) {
+				ComplexTypeExtension complexTypeExtension = new ComplexTypeExtension((ComplexType) superType);
+				((ComplexType) subType).setExtension((ComplexTypeExtension) complexTypeExtension);
+				extension = complexTypeExtension;
+			}
+		}
+		
+		if (extensionProperty.getJoin() != null && extension != null) {
+			Join extensionJoin = this.createJoin(subType.getTable(), extensionProperty.getJoin());
+			extension.setJoin(extensionJoin);
 		}
 	}
 	
-	private Join createJoin(String localTableName, Node joinNode) {
-		Iterator<Arc> iter = joinNode.getOutgoingArcs();
-
-		String fkColumnName = null;
-		String pkColumnName = null;		
-		String fkTableName = null;
-		String pkTableName = null;
-		Node fkTableNode = null;
-		Node pkTableNode = null;
+	private Join createJoin(String localTableName, DBJoin dbJoin) {
+		DBColumn fkColumn = dbJoin.getFromColumn();
+		DBColumn pkColumn = dbJoin.getToColumn();
+		String fkColumnName = fkColumn.getName();
+		String pkColumnName = pkColumn.getName();		
+		DBTable fkTable = fkColumn.getTable();
+		DBTable pkTable = pkColumn.getTable();
+		String fkTableName = fkTable.getName();
+		String pkTableName = pkTable.getName();
 		TreeHierarchy treeHierarchy = null;
 
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.JoinFrom)) {
-				Node joinFromColumnNode = (Node) arc.getTarget();
-				fkColumnName = (String)joinFromColumnNode.getAttribute().getValueAt("name");
-				fkTableNode = (Node)joinFromColumnNode.getOutgoingArcs().next().getTarget();				
-				fkTableName= (String)fkTableNode.getAttribute().getValueAt("name");
-			}
-			else if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.JoinTo)) {
-				Node joinToColumnNode = (Node) arc.getTarget();
-				pkColumnName = (String)joinToColumnNode.getAttribute().getValueAt("name");
-				pkTableNode = (Node)joinToColumnNode.getOutgoingArcs().next().getTarget();				
-				pkTableName= (String)pkTableNode.getAttribute().getValueAt("name");
-			}
-			else if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.TreeHierarchy)) {
-				Node rootJoinNode = (Node) arc.getTarget();
-				Join rootJoin = createJoin(localTableName, rootJoinNode);
-				String rootColumnName = rootJoin.getFromColumn();
-				treeHierarchy = new TreeHierarchy(rootColumnName);
-			}
+		if (dbJoin.getTreeHierarchyRoot() != null) {
+			Join rootJoin = createJoin(localTableName, dbJoin.getTreeHierarchyRoot());
+			String rootColumnName = rootJoin.getFromColumn();
+			treeHierarchy = new TreeHierarchy(rootColumnName);
 		}
 
 		Join join = null;
-		Node joinToTableNode = null;
+		DBTable joinToTable = null;
 		if (!fkTableName.equalsIgnoreCase(pkTableName)) {
 			if (fkTableName.equalsIgnoreCase(localTableName)) {
 				join = new Join(pkTableName, fkColumnName, pkColumnName, TableRole.PARENT);				
-				joinToTableNode = pkTableNode;
+				joinToTable = pkTable;
 			} 
 			else {
 				join = new Join(fkTableName, pkColumnName, fkColumnName, TableRole.CHILD);
-				joinToTableNode = fkTableNode;
+				joinToTable = fkTable;
 			}
 		}
+		else if (dbJoin.isMappedFromMultiValuedProperty()) {
+			join = new Join(fkTableName, pkColumnName, fkColumnName, TableRole.CHILD);
+			joinToTable = fkTable;
+		}
 		else {
 			join = new Join(fkTableName, fkColumnName, pkColumnName, TableRole.PARENT);
-			joinToTableNode = fkTableNode;
-			
-			iter = joinNode.getIncomingArcs();
-			while (iter.hasNext()) {
-				Arc arc = iter.next();
-				if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.MapsTo)) {
-					Node propertyNode = (Node) arc.getSource();
-					if (propertyNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ComplexTypeProperty)) {
-						int maxOccurs = (int)propertyNode.getAttribute().getValueAt("maxOccurs");
-						if (maxOccurs > 1 || maxOccurs == -1) {
-							join = new Join(fkTableName, pkColumnName, fkColumnName, TableRole.CHILD);
-							joinToTableNode = fkTableNode;
-						}						
-					}				
-				}
-			}			
+			joinToTable = fkTable;
 		}
 		
-		boolean hasObjectclassIdColumn = false;
-		iter = joinToTableNode.getIncomingArcs();
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.BelongsTo)) {
-				Node columnNode = (Node) arc.getSource();
-				if (columnNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ObjectClassIDColumn)) {
-					hasObjectclassIdColumn = true;
-					break;					
-				}	
-			}
-		}
-		
-		boolean joinIsMappedFromInheritance = false;
-		iter = joinNode.getIncomingArcs();
-		while (iter.hasNext()) {
-			Arc arc = iter.next();
-			if (arc.getType().getName().equalsIgnoreCase(GraphNodeArcType.MapsTo)) {
-				Node propertyNode = (Node) arc.getSource();
-				if (propertyNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.Extension)) {
-					joinIsMappedFromInheritance = true;				
-				}				
-			}
-		}	
-		
-		if (hasObjectclassIdColumn && !joinIsMappedFromInheritance) {
+		if (joinToTable.hasObjectclassIdColumn() && !dbJoin.isMappedFromInheritance()) {
 			join.addCondition(new Condition("objectclass_id", "${target.objectclass_id}", SimpleType.INTEGER));
 		}	
 
@@ -442,107 +340,83 @@ public class SchemaMappingCreator {
 	}
 
 	private ComplexAttributeType getCityGMLComplexAttributeType(String id) {
-		for (ComplexAttributeType attributeType : citygmlSchemaMapping.getComplexAttributeTypes()) {
-			if (attributeType.getId().equals(id))
-				return attributeType;
-		}
-
-		return null;
+		return citygmlComplexAttributeTypes.get(id);
 	} 
 	
-	private AbstractProperty generateFeatureOrObjectOrComplexTypeProperty(AbstractType<?> localType, Node featureOrObjectOrComplexTypePropertyNode, 
+	private AbstractProperty generateFeatureOrObjectOrComplexTypeProperty(AbstractType<?> localType, ADEProperty featureOrObjectOrComplexTypeProperty, 
 			SchemaMapping schemaMapping) throws SchemaMappingException {
 
 		AbstractProperty property = null;
-		Iterator<Arc> arcIter = featureOrObjectOrComplexTypePropertyNode.getOutgoingArcs();
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
+		ADEClass targetClass = featureOrObjectOrComplexTypeProperty.getTargetType();
+		if (targetClass != null) {
+			String propertyPath = featureOrObjectOrComplexTypeProperty.getPath();
+			String namespaceUri = featureOrObjectOrComplexTypeProperty.getNamespaceUri();
+			AppSchema appSchema = getAppSchema(namespaceUri);
 
-			Node targetNode = (Node) arc.getTarget();
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.ComplexType)) {
-								
-				String propertyPath = (String) featureOrObjectOrComplexTypePropertyNode.getAttribute().getValueAt("path");
-				String namespaceUri = (String) featureOrObjectOrComplexTypePropertyNode.getAttribute().getValueAt("namespaceUri");
-				AppSchema appSchema = getAppSchema(namespaceUri);
-
-				String targetTypeName = (String) targetNode.getAttribute().getValueAt("name");
-				ComplexAttributeType targetAttributeType = this.getCityGMLComplexAttributeType(targetTypeName);
-				
-				if (targetAttributeType != null) {
-					ComplexAttribute complexAttribute = new ComplexAttribute(propertyPath, appSchema);
-					complexAttribute.setRefType(targetAttributeType);
-					if (targetNode.getType().getName().equalsIgnoreCase(Join)) {
-						Join propertyJoin = this.createJoin(localType.getTable(), targetNode);
-						complexAttribute.setJoin(propertyJoin);
-					}
-					property = complexAttribute;
+			ComplexAttributeType targetAttributeType = this.getCityGMLComplexAttributeType(targetClass.getName());
+			
+			if (targetAttributeType != null) {
+				ComplexAttribute complexAttribute = new ComplexAttribute(propertyPath, appSchema);
+				complexAttribute.setRefType(targetAttributeType);
+				property = complexAttribute;
+			}
+			else {
+				AbstractType<?> targetType = this.getOrCreateFeatureOrObjectOrComplexType(targetClass, schemaMapping);
+												
+				if (targetType instanceof FeatureType) {
+					property = new FeatureProperty(propertyPath, (FeatureType) targetType, appSchema);
 				}
-				else {
-					AbstractType<?> targetType = this.getOrCreateFeatureOrObjectOrComplexType(targetNode, schemaMapping);
-													
-					if (targetType instanceof FeatureType) {
-						property = new FeatureProperty(propertyPath, (FeatureType) targetType, appSchema);
-					}
-					else if (targetType instanceof ObjectType) {
-						property = new ObjectProperty(propertyPath, (ObjectType) targetType, appSchema);
-					}
-					else if (targetType instanceof ComplexType) {
-						property = new ComplexProperty(propertyPath, appSchema);
-						if (checkInlineType(targetNode)) {
-							((ComplexProperty)property).setInlineType((ComplexType) targetType);
-							this.processFeatureOrObjectOrComplexType(targetNode, targetType, schemaMapping);
-						}						
-						else {
-							((ComplexProperty)property).setRefType((ComplexType) targetType);
-						}						
-					}	
-					
-					if (property instanceof AbstractRefTypeProperty)
-						setRelationTypeForRefTypeProperty(featureOrObjectOrComplexTypePropertyNode, (AbstractRefTypeProperty<?>) property);
+				else if (targetType instanceof ObjectType) {
+					property = new ObjectProperty(propertyPath, (ObjectType) targetType, appSchema);
 				}
-
-				localType.addProperty(property);				
-			}
-			
-			if (targetNode.getType().getName().equalsIgnoreCase(Join)) {
-				Join propertyJoin = this.createJoin(localType.getTable(), targetNode);
-				if (property instanceof ComplexAttribute)
-					((ComplexAttribute) property).setJoin(propertyJoin);
-				else
-					((AbstractTypeProperty<?>) property).setJoin(propertyJoin);
+				else if (targetType instanceof ComplexType) {
+					property = new ComplexProperty(propertyPath, appSchema);
+					if (targetClass.isInline()) {
+						((ComplexProperty)property).setInlineType((ComplexType) targetType);
+						this.processFeatureOrObjectOrComplexType(targetClass, targetType, schemaMapping);
+					}						
+					else {
+						((ComplexProperty)property).setRefType((ComplexType) targetType);
+					}						
+				}	
+				
+				if (property instanceof AbstractRefTypeProperty)
+					setRelationTypeForRefTypeProperty(featureOrObjectOrComplexTypeProperty, (AbstractRefTypeProperty<?>) property);
 			}
 
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.JoinTable)) {
-				JoinTable propertyJoinTable = this.createJoinTable(targetNode, localType.getTable());
-				if (property instanceof AbstractTypeProperty<?>) {
-					((AbstractTypeProperty<?>) property).setJoin(propertyJoinTable);
-				}									
-			}
-		}	
+			localType.addProperty(property);				
+		}
+		
+		if (featureOrObjectOrComplexTypeProperty.getJoin() != null) {
+			Join propertyJoin = this.createJoin(localType.getTable(), featureOrObjectOrComplexTypeProperty.getJoin());
+			if (property instanceof ComplexAttribute)
+				((ComplexAttribute) property).setJoin(propertyJoin);
+			else
+				((AbstractTypeProperty<?>) property).setJoin(propertyJoin);
+		}
+
+		if (featureOrObjectOrComplexTypeProperty.getJoinTable() != null) {
+			JoinTable propertyJoinTable = this.createJoinTable(featureOrObjectOrComplexTypeProperty.getJoinTable(), localType.getTable());
+			if (property instanceof AbstractTypeProperty<?>) {
+				((AbstractTypeProperty<?>) property).setJoin(propertyJoinTable);
+			}									
+		}
 		
 		return property;
 	}
 	
-	private JoinTable createJoinTable(Node joinTableNode, String parentTableName) {
-		String tableName = (String)joinTableNode.getAttribute().getValueAt("name");
+	private JoinTable createJoinTable(DBTable dbJoinTable, String parentTableName) {
+		String tableName = dbJoinTable.getName();
 		JoinTable joinTable = new JoinTable(tableName);
 
-		Iterator<Arc> arcIter = joinTableNode.getIncomingArcs();
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node primarykeyNode = (Node) arc.getSource();
-			if (primarykeyNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.PrimaryKeyColumn)) {
-				Iterator<Arc> arcIter2 = primarykeyNode.getIncomingArcs();
-				while (arcIter2.hasNext()) {
-					Arc arc2 = arcIter2.next();
-					Node joinNode = (Node) arc2.getSource();
-					if (joinNode.getType().getName().equalsIgnoreCase(Join)) {
-						Join join = this.createJoin(tableName, joinNode);
-						if (join.getTable().equalsIgnoreCase(parentTableName))
-							joinTable.setJoin(join);
-						else
-							joinTable.setInverseJoin(join);
-					}					
+		for (DBColumn primaryKeyColumn : dbJoinTable.getColumns()) {
+			if (primaryKeyColumn.isPrimaryKey()) {
+				for (DBJoin dbJoin : primaryKeyColumn.getJoins()) {
+					Join join = this.createJoin(tableName, dbJoin);
+					if (join.getTable().equalsIgnoreCase(parentTableName))
+						joinTable.setJoin(join);
+					else
+						joinTable.setInverseJoin(join);
 				}				
 			}
 		}
@@ -550,42 +424,20 @@ public class SchemaMappingCreator {
 		return joinTable;
 	}
 	
-	private boolean checkInlineType(Node featureOrObjectOrComplexTypeNode) {
-		Object isInline = featureOrObjectOrComplexTypeNode.getAttribute().getValueAt("isInline");
-		
-		if (isInline != null) {
-			if ((boolean)isInline)
-				return true;
-		}
-		
-		return false;
-	}
-	
-	private boolean checkADEHookClass(Node featureOrObjectOrComplexTypeNode) {
-		String derivedFrom = (String) featureOrObjectOrComplexTypeNode.getAttribute().getValueAt("derivedFrom");
-		
-		return derivedFrom.equalsIgnoreCase("HookClass");
-	}
-	
-	private SimpleAttribute generateSimpleAttribute(Node simpleAttributeNode) {
-		String path = (String) simpleAttributeNode.getAttribute().getValueAt("path");
-		String typeName = (String) simpleAttributeNode.getAttribute().getValueAt("primitiveDataType");
-		String namespaceUri = (String) simpleAttributeNode.getAttribute().getValueAt("namespaceUri");
+	private SimpleAttribute generateSimpleAttribute(ADEProperty simpleAttributeProperty) {
+		String path = simpleAttributeProperty.getPath();
+		String typeName = simpleAttributeProperty.getPrimitiveDataType();
+		String namespaceUri = simpleAttributeProperty.getNamespaceUri();
 		AppSchema appSchema = getAppSchema(namespaceUri);
 
-		Iterator<Arc> arcIter = simpleAttributeNode.getOutgoingArcs();
-		
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node targetNode = (Node) arc.getTarget();
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.NormalDataColumn)) {
-				String columnName = (String) targetNode.getAttribute().getValueAt("name");
-				SimpleAttribute attribute = new SimpleAttribute(path, columnName, SimpleType.fromValue(typeName), appSchema);
+		DBColumn column = simpleAttributeProperty.getColumn();
+		if (column != null) {
+			if (column.isOfType(GraphNodeArcType.NormalDataColumn)) {
+				SimpleAttribute attribute = new SimpleAttribute(path, column.getName(), SimpleType.fromValue(typeName), appSchema);
 				return attribute;
 			}
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.GenericDataColumn)) {
-				String columnName = (String) targetNode.getAttribute().getValueAt("name");
-				SimpleAttribute attribute = new SimpleAttribute(path, columnName, SimpleType.CLOB, appSchema);
+			if (column.isOfType(GraphNodeArcType.GenericDataColumn)) {
+				SimpleAttribute attribute = new SimpleAttribute(path, column.getName(), SimpleType.CLOB, appSchema);
 				return attribute;
 			}
 		}		
@@ -593,19 +445,14 @@ public class SchemaMappingCreator {
 		return null;
 	}	
 	
-	private ComplexAttribute generateComplexAttribute(AbstractType<?> localType, Node complexAttributeNode) {
-		String propertyPath = (String) complexAttributeNode.getAttribute().getValueAt("path");
-		String namespaceUri = (String) complexAttributeNode.getAttribute().getValueAt("namespaceUri");
+	private ComplexAttribute generateComplexAttribute(AbstractType<?> localType, ADEProperty complexAttributeProperty) {
+		String propertyPath = complexAttributeProperty.getPath();
+		String namespaceUri = complexAttributeProperty.getNamespaceUri();
 		ComplexAttributeType attributeType = new ComplexAttributeType(adeSchemaMapping);
-		Iterator<Arc> arcIter = complexAttributeNode.getOutgoingArcs();
 		
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node targetNode = (Node) arc.getTarget();
-			if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.SimpleAttribute)) {
-				SimpleAttribute simpleAttribute = this.generateSimpleAttribute(targetNode);
-				attributeType.addAttribute(simpleAttribute);
-			}
+		for (ADEProperty simpleAttributeProperty : complexAttributeProperty.getAttributes()) {
+			SimpleAttribute simpleAttribute = this.generateSimpleAttribute(simpleAttributeProperty);
+			attributeType.addAttribute(simpleAttribute);
 		}
 		
 		ComplexAttribute complexAttribute = new ComplexAttribute(propertyPath, getAppSchema(namespaceUri));
@@ -615,33 +462,24 @@ public class SchemaMappingCreator {
 		return complexAttribute;
 	}
 	
-	private GeometryProperty generateGeometryProperty(AbstractType<?> localType, Node geometryPropertyNode) {
-		String propertyPath = (String) geometryPropertyNode.getAttribute().getValueAt("path");
-		String geometryTypeName = (String) geometryPropertyNode.getAttribute().getValueAt("geometryType");
-		String namespaceUri = (String) geometryPropertyNode.getAttribute().getValueAt("namespaceUri");
+	private GeometryProperty generateGeometryProperty(AbstractType<?> localType, ADEProperty geometryPropertyProperty) {
+		String propertyPath = geometryPropertyProperty.getPath();
+		String geometryTypeName = geometryPropertyProperty.getGeometryType();
+		String namespaceUri = geometryPropertyProperty.getNamespaceUri();
 		GeometryType geometryType = GeometryType.fromValue(geometryTypeName);
 		
 		GeometryProperty geometryProperty = new GeometryProperty(propertyPath, geometryType, getAppSchema(namespaceUri));
-		Iterator<Arc> arcIter = geometryPropertyNode.getOutgoingArcs();
-		
-		while(arcIter.hasNext()) {
-			Arc arc = arcIter.next();
-			Node targetNode = (Node) arc.getTarget();
-			String columnName = (String) targetNode.getAttribute().getValueAt("name");
-			if (columnName != null) {
-				if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.RefGeometryColumn))
-					geometryProperty.setRefColumn(columnName);
-				if (targetNode.getType().getName().equalsIgnoreCase(GraphNodeArcType.InlineGeometryColumn))
-					geometryProperty.setInlineColumn(columnName);
-			}			
-		}		
+		if (geometryPropertyProperty.getRefColumn() != null)
+			geometryProperty.setRefColumn(geometryPropertyProperty.getRefColumn());
+		if (geometryPropertyProperty.getInlineColumn() != null)
+			geometryProperty.setInlineColumn(geometryPropertyProperty.getInlineColumn());
 		
 		localType.addProperty(geometryProperty);
 
 		int lod = getLodFromPropertyName(propertyPath);
-		Object lodObject = geometryPropertyNode.getAttribute().getValueAt("lod");
+		Integer lodObject = geometryPropertyProperty.getLod();
 		if (lodObject != null) {
-			lod = (int)lodObject;
+			lod = lodObject;
 		}
 		if (lod >= 0 && lod <= 4)
 			geometryProperty.setLod(lod);
@@ -649,9 +487,9 @@ public class SchemaMappingCreator {
 		return geometryProperty;
 	}
 	
-	private ImplicitGeometryProperty generateImplicitGeometryProperty(AbstractType<?> localType, Node geometryPropertyNode) {
-		String propertyPath = (String) geometryPropertyNode.getAttribute().getValueAt("path");
-		String namespaceUri = (String) geometryPropertyNode.getAttribute().getValueAt("namespaceUri");
+	private ImplicitGeometryProperty generateImplicitGeometryProperty(AbstractType<?> localType, ADEProperty geometryPropertyProperty) {
+		String propertyPath = geometryPropertyProperty.getPath();
+		String namespaceUri = geometryPropertyProperty.getNamespaceUri();
 		int lod = getLodFromPropertyName(propertyPath);
 		ImplicitGeometryProperty implicitGeometryProperty = new ImplicitGeometryProperty(propertyPath, lod, getAppSchema(namespaceUri));
 		localType.addProperty(implicitGeometryProperty);
@@ -690,8 +528,8 @@ public class SchemaMappingCreator {
 		return false;
 	}
 	
-	private void setRelationTypeForRefTypeProperty(Node propertyNode, AbstractRefTypeProperty<?> property) {
-		String relationType = (String)propertyNode.getAttribute().getValueAt("relationType");
+	private void setRelationTypeForRefTypeProperty(ADEProperty adeProperty, AbstractRefTypeProperty<?> property) {
+		String relationType = adeProperty.getRelationType();
 		if (relationType != null) {
 			if (relationType.equalsIgnoreCase("composition"))
 				((AbstractRefTypeProperty<?>) property).setRelationType(RelationType.COMPOSITION);
@@ -39,7 +39,6 @@ public class GlobalConstants {
 	
 	public static final String INPUT_GRAPH_PATH = "/org/citydb/plugins/ade_manager/graph/Working_Graph.ggx";
 	public static final String TMP_GRAPH_FOLDER_NAME = "graph";
-	public static final String TMP_INPUT_GRAPH_FILE_NAME = "Input_Graph_Tmp.ggx";
 	public static final String TMP_OUTPUT_GRAPH_FILE_NAME = "Output_Graph_Tmp.ggx";
 	
 	public static final int MAX_TABLE_NAME_LENGTH = 25;
@@ -46,13 +46,15 @@ public class NameShortener {
 			"TRIGGER", "UID", "UNION", "UNIQUE", "UPDATE", "USER", "VALIDATE", "VALUES", "VARCHAR", "VARCHAR2",
 			"VIEW", "WHENEVER", "WHERE", "WITH");
 	
+	private static final Set<String> sqlKeywords = new HashSet<>(sqlKeywordList);
+	
 	public static String shortenDbObjectName(String inputName, int maximumLength) {						
 		return shortenDbObjectName(inputName, maximumLength, 0);
 	}
 	
 	public static String shortenDbObjectName(String inputName, int maximumLength, int suffix) {
 	//	inputName = splitCamelCase(inputName);
-		inputName = inputName.replace("-", "_");
+		inputName = inputName.replace('-', '_');
 		
 		if (suffix == 1) {
 			inputName = inputName + "_" + suffix;
@@ -66,7 +68,7 @@ public class NameShortener {
 		if (result.length() <= maximumLength)
 			result = processSQLKeywords(result);	
 		else 
-			result = shortenString(cleanUpUndercores(result), maximumLength);				
+			result = shortenString(result, maximumLength);				
 		
 		return result;
 	}
@@ -79,110 +81,88 @@ public class NameShortener {
 	private static String processSQLKeywords(String inputString){
 		String outputString = inputString;
 
-		if (sqlKeywordList.contains(inputString.toUpperCase())) {
+		if (sqlKeywords.contains(inputString.toUpperCase())) {
 			outputString = inputString + "_";
 		}
 		
 		return outputString;
 	}	
 	
+	/**
+	 * Removes leading and trailing underscores and collapses sequences of underscores 
+	 * into a single one.
+	 */
 	private static String cleanUpUndercores(String inputString) {
-		String outputString = removeUndercorePrefix(inputString);
-		outputString = removeDuplicatedUndercore(outputString);
-		outputString = removeUndercoreSuffix(outputString);
-
-		return outputString;
-	}
-	
-	private static String removeUndercorePrefix(String inputString){
-		if (inputString.indexOf("_") == 0) 
-			return removeUndercorePrefix(inputString.substring(1));
+		int length = inputString.length();
+		if (length > 0 && inputString.charAt(0) != '_' && inputString.charAt(length - 1) != '_' 
+				&& inputString.indexOf("__") == -1)
+			return inputString;
 		
-		return inputString;
-	}
-	
-	private static String removeUndercoreSuffix(String inputString){
-		int inputStringLength = inputString.length();
-		if (inputString.lastIndexOf("_") == (inputStringLength - 1)) 
-			return removeUndercoreSuffix(inputString.substring(0, inputStringLength - 1));
-		
-		return inputString;
-	}
-	
-	private static String removeDuplicatedUndercore(String inputString){
-		if (inputString.indexOf("__") > 0) 
-			return removeDuplicatedUndercore(inputString.replace("__", "_"));
+		char[] chars = new char[length];
+		int outputLength = 0;
+		for (int i = 0; i < length; i++) {
+			char c = inputString.charAt(i);
+			if (c != '_' || (outputLength > 0 && chars[outputLength - 1] != '_'))
+				chars[outputLength++] = c;
+		}
 		
-		return inputString;
+		if (outputLength > 0 && chars[outputLength - 1] == '_')
+			outputLength--;
+
+		return new String(chars, 0, outputLength);
 	}
 	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	/**
+	 * Shortens the underscore separated words of the input string to the maximum length 
+	 * by taking their characters round-robin, one character per word and round, until the 
+	 * result including the separators reaches the maximum length.
+	 */
 	private static String shortenString(String inputString, int maximumLength) {
-		String outputString = "";
-		List<Queue> listOfCharQueue = new ArrayList<>();
-		List<Queue> newListOfCharQueue = new ArrayList<>();
+		char[] chars = inputString.toCharArray();
 		
-		String[] stringGroup = inputString.split("_");
-		for (String s: stringGroup) {
-			char[] charArray = s.toCharArray();	
-			Queue charQueue = new ArrayDeque<>();			
-			for (char charItem: charArray) {
-				charQueue.add(charItem);
-			}
-			listOfCharQueue.add(charQueue);
-			newListOfCharQueue.add(new ArrayDeque());
+		int wordCount = 1;
+		for (char c : chars) {
+			if (c == '_')
+				wordCount++;
 		}
 		
-		shortenCharArray(newListOfCharQueue, listOfCharQueue, maximumLength);
-		
-		Iterator<Queue> iter = newListOfCharQueue.iterator();
-		while (iter.hasNext()) {
-			Queue queue = iter.next();
-			while (!queue.isEmpty()) {
-				Object item = queue.poll();
-				outputString = outputString.concat(String.valueOf((char)item));
-			}
-			if (iter.hasNext()) {
-				outputString = outputString.concat("_");
-			}			
-		}
-		return outputString;
-	}
-	
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private static void shortenCharArray(List<Queue> newListOfCharQueue, List<Queue> listOfCharQueue, int maximumLength) {	
-		Iterator<Queue> iter = listOfCharQueue.iterator();
-	
-		while (iter.hasNext()) {
-			Queue queue = iter.next();
-			int index = listOfCharQueue.indexOf(queue);
-			Queue newQueue = newListOfCharQueue.get(index);
-			
-			Object item = queue.poll();			
-			if (item != null) 
-				newQueue.add(item);
-			
-			if (calculateTotalLength(newListOfCharQueue) == maximumLength) 
-				return;
+		int[] wordStart = new int[wordCount];
+		int[] wordLength = new int[wordCount];
+		for (int i = 0, word = 0; i < chars.length; i++) {
+			if (chars[i] == '_')
+				wordStart[++word] = i + 1;
+			else
+				wordLength[word]++;
 		}
 		
-		if (calculateTotalLength(newListOfCharQueue) <= maximumLength) {
-			shortenCharArray(newListOfCharQueue, listOfCharQueue, maximumLength);
-		}
-	}
-	
-	@SuppressWarnings("rawtypes")
-	private static int calculateTotalLength(List<Queue> newListOfCharQueue) {
-		Iterator<Queue> iter = newListOfCharQueue.iterator();
-		int totalLength = 0;
+		int[] taken = new int[wordCount];
+		int totalLength = wordCount - 1;
+		boolean hasMoreCharacters;
+		
+		rounds:
+		do {
+			hasMoreCharacters = false;
+			for (int word = 0; word < wordCount; word++) {
+				if (taken[word] < wordLength[word]) {
+					taken[word]++;
+					totalLength++;
+					hasMoreCharacters = true;
+				}
+				
+				if (totalLength == maximumLength) 
+					break rounds;
+			}
+		} while (hasMoreCharacters && totalLength <= maximumLength);
 		
-		while (iter.hasNext()) {
-			Queue queue = iter.next();
-			totalLength = totalLength + queue.size();
-			if (iter.hasNext()) 
-				totalLength = totalLength + 1;			
+		char[] output = new char[totalLength];
+		int position = 0;
+		for (int word = 0; word < wordCount; word++) {
+			System.arraycopy(chars, wordStart[word], output, position, taken[word]);
+			position += taken[word];
+			if (word < wordCount - 1)
+				output[position++] = '_';
 		}
 		
-		return totalLength;
+		return new String(output);
 	}
 }
@@ -0,0 +1,98 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ADERegistrationSessionTest {
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	public void failureAfterSchemaCreationRemovesSchema() throws SQLException {
+		ADERegistrationSession session = createSession(false);
+		session.setSchemaCompensation(() -> calls.add("drop schema"));
+
+		// e.g. the delete functions could not be installed after the phases have been committed
+		session.rollback();
+		assertEquals(Arrays.asList("rollback", "drop schema"), calls);
+		assertFalse(session.isSchemaCompensationPending());
+
+		session.rollback();
+		assertEquals(Arrays.asList("rollback", "drop schema", "rollback"), calls);
+	}
+
+	@Test
+	public void failedCommitRemovesSchemaOnRollback() {
+		ADERegistrationSession session = createSession(true);
+		session.setSchemaCompensation(() -> calls.add("drop schema"));
+
+		assertThrows(SQLException.class, session::commit);
+		assertTrue(session.isSchemaCompensationPending());
+
+		assertThrows(SQLException.class, session::rollback);
+		assertEquals(Arrays.asList("commit", "rollback", "drop schema"), calls);
+		assertFalse(session.isSchemaCompensationPending());
+	}
+
+	@Test
+	public void successfulCommitKeepsSchema() throws SQLException {
+		ADERegistrationSession session = createSession(false);
+		session.setSchemaCompensation(() -> calls.add("drop schema"));
+
+		session.commit();
+		assertFalse(session.isSchemaCompensationPending());
+
+		session.rollback();
+		assertEquals(Arrays.asList("commit", "rollback"), calls);
+	}
+
+	private ADERegistrationSession createSession(boolean failing) {
+		Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+					calls.add(method.getName());
+					if (failing)
+						throw new SQLException("Connection failure.");
+
+					return null;
+				});
+
+		return new ADERegistrationSession(connection, null);
+	}
+}
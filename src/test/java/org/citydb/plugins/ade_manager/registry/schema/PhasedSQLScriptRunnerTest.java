@@ -0,0 +1,109 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.schema;
+
+import org.citydb.plugins.ade_manager.registry.schema.PhasedSQLScriptRunner.ScriptPhases;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PhasedSQLScriptRunnerTest {
+	private final Set<String> registrationTables = new HashSet<>(Arrays.asList("objectclass", "aggregation_info"));
+
+	@Test
+	public void schemaObjectsAreCreatedFirst() {
+		List<String> commands = Arrays.asList(
+				"CREATE TABLE citydb.test_building (id INTEGER, objectclass_id INTEGER)",
+				"CREATE SEQUENCE citydb.test_seq",
+				"ALTER TABLE citydb.test_building ADD CONSTRAINT test_building_pk PRIMARY KEY (id)");
+
+		ScriptPhases phases = PhasedSQLScriptRunner.classifyCommands(commands, registrationTables, false);
+		assertEquals(commands, phases.schemaObjects);
+		assertTrue(phases.constraintsByTable.isEmpty());
+		assertTrue(phases.registrationCommands.isEmpty());
+	}
+
+	@Test
+	public void foreignKeysAndIndexesAreGroupedByTable() {
+		String foreignKey = "ALTER TABLE citydb.test_building ADD CONSTRAINT test_building_fk FOREIGN KEY (id)\n" +
+				"REFERENCES citydb.cityobject (id)";
+		String index = "CREATE INDEX test_building_idx ON citydb.test_building (id)";
+		String uniqueIndex = "CREATE UNIQUE INDEX test_room_idx ON citydb.\"Test_Room\" (id)";
+		String bitmapIndex = "CREATE BITMAP INDEX test_room_bmp ON test_room (id)";
+
+		ScriptPhases phases = PhasedSQLScriptRunner.classifyCommands(
+				Arrays.asList(foreignKey, index, uniqueIndex, bitmapIndex), registrationTables, false);
+		assertTrue(phases.schemaObjects.isEmpty());
+		assertEquals(Arrays.asList("test_building", "test_room"), Arrays.asList(phases.constraintsByTable.keySet().toArray()));
+		assertEquals(Arrays.asList(foreignKey, index), phases.constraintsByTable.get("test_building"));
+		assertEquals(Arrays.asList(uniqueIndex, bitmapIndex), phases.constraintsByTable.get("test_room"));
+		assertTrue(phases.registrationCommands.isEmpty());
+	}
+
+	@Test
+	public void commandsOnRegistrationTablesAreDeferred() {
+		String referencing = "ALTER TABLE citydb.test_building ADD CONSTRAINT test_building_objclass_fk FOREIGN KEY (objectclass_id) " +
+				"REFERENCES citydb.objectclass (id)";
+		String referenced = "ALTER TABLE citydb.objectclass ADD CONSTRAINT objectclass_fk FOREIGN KEY (superclass_id) " +
+				"REFERENCES citydb.test_building (id)";
+		String index = "CREATE INDEX aggregation_info_idx ON citydb.AGGREGATION_INFO (child_id)";
+
+		ScriptPhases phases = PhasedSQLScriptRunner.classifyCommands(
+				Arrays.asList(referencing, referenced, index), registrationTables, false);
+		assertTrue(phases.schemaObjects.isEmpty());
+		assertTrue(phases.constraintsByTable.isEmpty());
+		assertEquals(Arrays.asList(referencing, referenced, index), phases.registrationCommands);
+	}
+
+	@Test
+	public void indexesAreCreatedConcurrently() {
+		String foreignKey = "ALTER TABLE test_building ADD CONSTRAINT test_building_fk FOREIGN KEY (id) REFERENCES cityobject (id)";
+		List<String> commands = Arrays.asList(
+				foreignKey,
+				"CREATE INDEX test_building_idx ON test_building (id)",
+				"create unique index test_building_uk ON test_building (name)",
+				"CREATE INDEX objectclass_idx ON objectclass (id)");
+
+		ScriptPhases phases = PhasedSQLScriptRunner.classifyCommands(commands, registrationTables, true);
+		assertEquals(Arrays.asList(
+				foreignKey,
+				"CREATE INDEX CONCURRENTLY test_building_idx ON test_building (id)",
+				"create unique index CONCURRENTLY test_building_uk ON test_building (name)"),
+				phases.constraintsByTable.get("test_building"));
+
+		// the registration connection runs in a transaction
+		assertEquals(Collections.singletonList("CREATE INDEX objectclass_idx ON objectclass (id)"), phases.registrationCommands);
+	}
+}
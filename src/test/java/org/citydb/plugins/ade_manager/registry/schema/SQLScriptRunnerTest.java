@@ -0,0 +1,58 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SQLScriptRunnerTest {
+	private final List<String> batch = Arrays.asList("CREATE TABLE a", "CREATE TABLE b", "CREATE TABLE c");
+
+	@Test
+	public void failedCommandIsReportedByUpdateCount() {
+		int[] updateCounts = {0, Statement.EXECUTE_FAILED, 0};
+		assertEquals("CREATE TABLE b", SQLScriptRunner.getFailedCommand(batch, updateCounts));
+	}
+
+	@Test
+	public void failedCommandFollowsLastUpdateCount() {
+		int[] updateCounts = {0};
+		assertEquals("CREATE TABLE b", SQLScriptRunner.getFailedCommand(batch, updateCounts));
+	}
+
+	@Test
+	public void lastCommandIsReportedWithoutUpdateCounts() {
+		assertEquals("CREATE TABLE c", SQLScriptRunner.getFailedCommand(batch, null));
+		assertEquals("CREATE TABLE c", SQLScriptRunner.getFailedCommand(batch, new int[]{0, 0, 0}));
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.registry.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SQLScriptTokenizerTest {
+
+	@Test
+	public void delimiterInQuotedStringIsIgnored() throws IOException {
+		String script = "INSERT INTO foo VALUES ('a;b');\n" +
+				"SELECT 1;\n" +
+				"DELETE FROM bar WHERE x = 'it''s;';";
+
+		assertEquals(Arrays.asList(
+				"INSERT INTO foo VALUES ('a;b')",
+				"DELETE FROM bar WHERE x = 'it''s;'"), tokenize(script, false));
+	}
+
+	@Test
+	public void commentsAreSkipped() throws IOException {
+		String script = "-- first; comment\n" +
+				"CREATE TABLE t (id INTEGER); -- trailing; comment\n" +
+				"/* block; comment */ DROP TABLE u;\n" +
+				"// other comment\n" +
+				"# hash comment\n" +
+				"ALTER TABLE t ADD c INTEGER;";
+
+		assertEquals(Arrays.asList(
+				"CREATE TABLE citydb.t (id INTEGER)",
+				"/* block; comment */ DROP TABLE citydb.u",
+				"ALTER TABLE citydb.t ADD c INTEGER"), tokenize(script, false));
+	}
+
+	@Test
+	public void dollarQuotedBodyIsOneCommand() throws IOException {
+		String function = "CREATE OR REPLACE FUNCTION f(id integer) RETURNS void AS\n" +
+				"$body$\n" +
+				"BEGIN\n" +
+				"  DELETE FROM t WHERE t.id = $1;\n" +
+				"END;\n" +
+				"$body$\n" +
+				"LANGUAGE plpgsql";
+		String script = function + ";\nCREATE TABLE x (id integer);";
+
+		assertEquals(Arrays.asList(
+				function,
+				"CREATE TABLE citydb.x (id integer)"), tokenize(script, false));
+	}
+
+	@Test
+	public void oraclePlsqlBlockIsTerminatedBySlash() throws IOException {
+		String script = "CREATE TABLE t (id NUMBER);\n" +
+				"CREATE OR REPLACE PACKAGE BODY citydb_delete\n" +
+				"AS\n" +
+				"  FUNCTION del_t(pid NUMBER) RETURN NUMBER IS\n" +
+				"  BEGIN\n" +
+				"    DELETE FROM t WHERE id = pid;\n" +
+				"    RETURN pid;\n" +
+				"  END;\n" +
+				"END citydb_delete;\n" +
+				"/\n" +
+				"BEGIN\n" +
+				"  NULL;\n" +
+				"END;\n" +
+				"/\n" +
+				"DROP TABLE t;";
+
+		assertEquals(Arrays.asList(
+				"CREATE TABLE citydb.t (id NUMBER)",
+				"CREATE OR REPLACE PACKAGE BODY citydb_delete\n" +
+						"AS\n" +
+						"FUNCTION del_t(pid NUMBER) RETURN NUMBER IS\n" +
+						"BEGIN\n" +
+						"DELETE FROM t WHERE id = pid;\n" +
+						"RETURN pid;\n" +
+						"END;\n" +
+						"END citydb_delete;",
+				"DROP TABLE citydb.t"), tokenize(script, true));
+	}
+
+	@Test
+	public void targetObjectsAreQualifiedWithSchema() throws IOException {
+		String script = "CREATE TABLE t (id INTEGER, u_id INTEGER);\n" +
+				"CREATE SEQUENCE t_seq;\n" +
+				"ALTER TABLE t ADD CONSTRAINT t_fk FOREIGN KEY (u_id) REFERENCES u (id) ON DELETE CASCADE;\n" +
+				"CREATE INDEX t_idx ON t (u_id);\n" +
+				"DROP TABLE IF EXISTS other.t;\n" +
+				"CREATE TABLE \"Quoted\" (id INTEGER);";
+
+		List<String> expected = Arrays.asList(
+				"CREATE TABLE citydb.t (id INTEGER, u_id INTEGER)",
+				"CREATE SEQUENCE citydb.t_seq",
+				"ALTER TABLE citydb.t ADD CONSTRAINT t_fk FOREIGN KEY (u_id) REFERENCES citydb.u (id) ON DELETE CASCADE",
+				"CREATE INDEX t_idx ON citydb.t (u_id)",
+				"DROP TABLE IF EXISTS other.t",
+				"CREATE TABLE citydb.\"Quoted\" (id INTEGER)");
+
+		assertEquals(expected, tokenize(script, false));
+		assertEquals(expected, tokenize(script, true));
+	}
+
+	@Test
+	public void delimiterLineChangesDelimiter() throws IOException {
+		String script = "DELIMITER //\n" +
+				"CREATE TABLE a (id INTEGER)//\n" +
+				"DELIMITER ;\n" +
+				"CREATE TABLE b (id INTEGER);\n" +
+				"CREATE TABLE c (id INTEGER)";
+
+		// the unterminated last statement is not returned
+		assertEquals(Arrays.asList(
+				"CREATE TABLE citydb.a (id INTEGER)",
+				"CREATE TABLE citydb.b (id INTEGER)"), tokenize(script, false));
+	}
+
+	private List<String> tokenize(String script, boolean oracle) throws IOException {
+		SQLScriptTokenizer tokenizer = new SQLScriptTokenizer(new StringReader(script), "citydb", oracle);
+		List<String> commands = new ArrayList<>();
+		String command;
+		while ((command = tokenizer.nextCommand()) != null)
+			commands.add(command);
+
+		return commands;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2026
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.plugins.ade_manager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NameShortenerTest {
+
+	@Test
+	public void shortenedNamesMatchFormerImplementation() {
+		String[] fixedNames = {"table", "TABLE", "select", "a_b", "x__y", "_a_", "a-b-c"};
+		String alphabet = "ab_-CDe_fTABLE1xyz_";
+		Random random = new Random(42);
+
+		for (int i = 0; i < 300000; i++) {
+			String name;
+			if (i < fixedNames.length)
+				name = fixedNames[i];
+			else {
+				StringBuilder builder = new StringBuilder();
+				int length = 1 + random.nextInt(80);
+				for (int j = 0; j < length; j++)
+					builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+
+				name = builder.toString();
+			}
+
+			int maximumLength = 1 + random.nextInt(40);
+			int suffix = random.nextInt(4);
+
+			String expected;
+			try {
+				expected = LegacyNameShortener.shortenDbObjectName(name, maximumLength, suffix);
+			} catch (StringIndexOutOfBoundsException e) {
+				// the former implementation failed on names consisting of '_' and '-' only
+				expected = "";
+			}
+
+			assertEquals(expected, NameShortener.shortenDbObjectName(name, maximumLength, suffix),
+					"name '" + name + "', maximum length " + maximumLength + ", suffix " + suffix);
+		}
+	}
+
+	@Test
+	public void namesOfSeparatorsOnlyAreEmpty() {
+		assertThrows(StringIndexOutOfBoundsException.class, () -> LegacyNameShortener.shortenDbObjectName("_-_", 10, 0));
+		assertEquals("", NameShortener.shortenDbObjectName("_-_", 10));
+	}
+
+	@Test
+	public void keywordsAndLongNames() {
+		assertEquals("select_", NameShortener.shortenDbObjectName("select", 25));
+		assertEquals("bu_in_th_su", NameShortener.shortenDbObjectName("building_installation_thematic_surface", 11));
+		assertEquals("build_insta_them_surf_2", NameShortener.shortenDbObjectName("building_installation_thematic_surface_1", 23, 2));
+	}
+}